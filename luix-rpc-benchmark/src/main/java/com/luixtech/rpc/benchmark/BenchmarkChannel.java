@@ -0,0 +1,66 @@
+package com.luixtech.rpc.benchmark;
+
+import com.luixtech.rpc.core.client.request.Requestable;
+import com.luixtech.rpc.core.constant.ProtocolConstants;
+import com.luixtech.rpc.core.exchange.Channel;
+import com.luixtech.rpc.core.exchange.constants.ChannelState;
+import com.luixtech.rpc.core.server.response.Responseable;
+import com.luixtech.rpc.core.url.Url;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Always active channel which only provides the provider URL to the codecs
+ */
+public class BenchmarkChannel implements Channel {
+    public static final String INTERFACE_NAME = "com.luixtech.rpc.democommon.service.AdminMenuService";
+    private final       Url    providerUrl    = Url.providerUrl(ProtocolConstants.PROTOCOL_VAL_LUIX, "127.0.0.1", 16010, INTERFACE_NAME);
+
+    @Override
+    public Responseable request(Requestable request) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean open() {
+        return true;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void close(int timeout) {
+    }
+
+    @Override
+    public InetSocketAddress getLocalAddress() {
+        return null;
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+        return null;
+    }
+
+    @Override
+    public ChannelState getState() {
+        return ChannelState.ACTIVE;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return false;
+    }
+
+    @Override
+    public boolean isActive() {
+        return true;
+    }
+
+    @Override
+    public Url getProviderUrl() {
+        return providerUrl;
+    }
+}
@@ -0,0 +1,54 @@
+package com.luixtech.rpc.benchmark;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Object graph used by the benchmarks, the size is decided by the count of the children
+ */
+@Data
+public class BenchmarkDto implements Serializable {
+    private static final long                serialVersionUID = 1L;
+    private              Long                id;
+    private              String              name;
+    private              String              description;
+    private              Integer             priority;
+    private              Boolean             enabled;
+    private              Long                createdTime;
+    private              Map<String, String> attributes       = new HashMap<>();
+    private              List<BenchmarkDto>  children         = new ArrayList<>();
+
+    public static BenchmarkDto of(String size) {
+        switch (size) {
+            case "small":
+                return create(0, 0);
+            case "medium":
+                return create(0, 20);
+            case "large":
+                return create(0, 500);
+            default:
+                throw new IllegalArgumentException("Unsupported DTO size: " + size);
+        }
+    }
+
+    private static BenchmarkDto create(long id, int childCount) {
+        BenchmarkDto dto = new BenchmarkDto();
+        dto.setId(id);
+        dto.setName("menu-" + id);
+        dto.setDescription("Benchmark object of the menu " + id);
+        dto.setPriority((int) id % 10);
+        dto.setEnabled(id % 2 == 0);
+        dto.setCreatedTime(1_600_000_000_000L + id);
+        dto.getAttributes().put("icon", "icon-" + id);
+        dto.getAttributes().put("path", "/menus/" + id);
+        for (int i = 1; i <= childCount; i++) {
+            dto.getChildren().add(create(id * 1000 + i, 0));
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,31 @@
+package com.luixtech.rpc.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Main class of benchmarks.jar which enables the GC profiler of JMH by default,
+ * so the allocation rate per operation is always reported along with the time.
+ * All the command line options are passed through to {@link org.openjdk.jmh.Main}.
+ */
+public class BenchmarkMain {
+    private static final String PROFILER    = "-prof";
+    private static final String GC_PROFILER = "gc";
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(withGcProfiler(args));
+    }
+
+    private static String[] withGcProfiler(String[] args) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (PROFILER.equals(args[i]) && args[i + 1].startsWith(GC_PROFILER)) {
+                // Specified explicitly, maybe with options
+                return args;
+            }
+        }
+        List<String> result = new ArrayList<>(Arrays.asList(PROFILER, GC_PROFILER));
+        result.addAll(Arrays.asList(args));
+        return result.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,87 @@
+package com.luixtech.rpc.benchmark;
+
+import com.luixtech.rpc.core.client.request.impl.RpcRequest;
+import com.luixtech.rpc.core.codec.Codec;
+import com.luixtech.rpc.core.constant.ProtocolConstants;
+import com.luixtech.rpc.core.constant.ServiceConstants;
+import com.luixtech.rpc.core.server.response.impl.RpcResponse;
+import com.luixtech.rpc.core.utils.SerializerHolder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode a typical request and response by the byte array codecs
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CodecBenchmark {
+    private final BenchmarkChannel channel = new BenchmarkChannel();
+    @Param({ProtocolConstants.CODEC_VAL_V1, ProtocolConstants.CODEC_VAL_V2})
+    private       String           codecName;
+    private       Codec            codec;
+    private       RpcRequest       request;
+    private       RpcResponse      response;
+    private       byte[]           requestBytes;
+    private       byte[]           responseBytes;
+
+    @Setup
+    public void setup() throws IOException {
+        SerializerHolder.init();
+        codec = Codec.getInstance(codecName);
+
+        request = new RpcRequest(1L, ProtocolConstants.PROTOCOL_VAL_LUIX, BenchmarkChannel.INTERFACE_NAME,
+                "getMenus", "java.lang.String,java.lang.Long", false);
+        request.setMethodArguments(new Object[]{"luix", 100L});
+        request.addOption(ProtocolConstants.SERIALIZER, ProtocolConstants.SERIALIZER_VAL_DEFAULT);
+        request.addOption(ServiceConstants.FORM, "f1");
+        request.addOption(ServiceConstants.VERSION, "1.0.0");
+        request.addOption(ServiceConstants.REQUEST_TIMEOUT, "1000");
+
+        response = new RpcResponse();
+        response.setRequestId(1L);
+        response.setElapsedTime(5L);
+        response.setResult(BenchmarkDto.of("medium"));
+
+        requestBytes = codec.encode(channel, request);
+        responseBytes = codec.encode(channel, response);
+    }
+
+    @Benchmark
+    public byte[] encodeRequest() throws IOException {
+        return codec.encode(channel, request);
+    }
+
+    @Benchmark
+    public byte[] encodeResponse() throws IOException {
+        return codec.encode(channel, response);
+    }
+
+    @Benchmark
+    public Object decodeRequest() throws IOException, ClassNotFoundException {
+        return codec.decode(channel, "127.0.0.1", requestBytes);
+    }
+
+    @Benchmark
+    public Object decodeResponse() throws IOException, ClassNotFoundException {
+        return codec.decode(channel, "127.0.0.1", responseBytes);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CodecBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
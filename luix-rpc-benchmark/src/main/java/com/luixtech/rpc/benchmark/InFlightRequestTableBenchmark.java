@@ -0,0 +1,83 @@
+package com.luixtech.rpc.benchmark;
+
+import com.luixtech.rpc.core.exchange.client.InFlightRequestTable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Register and remove the in-flight request under contention which is done on every request on client side
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class InFlightRequestTableBenchmark {
+    private static final int                          MAX_SIZE    = 100_000;
+    private static final int                          IN_FLIGHT   = 10_000;
+    private final        AtomicLong                   idGenerator = new AtomicLong(System.currentTimeMillis() << 20);
+    private final        Object                       response    = new Object();
+    private              Map<Long, Object>            map;
+    private              InFlightRequestTable<Object> table;
+
+    @Param({"chm", "table"})
+    private String impl;
+
+    @Setup
+    public void setup() {
+        map = new ConcurrentHashMap<>();
+        table = new InFlightRequestTable<>(MAX_SIZE);
+        for (int i = 0; i < IN_FLIGHT; i++) {
+            long id = idGenerator.incrementAndGet();
+            map.put(id, response);
+            table.tryPut(id, response);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class RequestId {
+        private long next;
+
+        @Setup
+        public void setup(InFlightRequestTableBenchmark benchmark) {
+            // Reserve an ID range per thread to keep the ID generation out of the measurement
+            next = benchmark.idGenerator.addAndGet(1L << 32);
+        }
+    }
+
+    @Benchmark
+    public Object putAndRemove(RequestId requestId) {
+        long id = requestId.next++;
+        if ("chm".equals(impl)) {
+            // Same as the former client which checked the size before putting
+            if (map.size() > MAX_SIZE) {
+                throw new IllegalStateException("Too many requests");
+            }
+            map.put(id, response);
+            return map.remove(id);
+        }
+        if (!table.tryPut(id, response)) {
+            throw new IllegalStateException("Too many requests");
+        }
+        return table.remove(id);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(InFlightRequestTableBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,72 @@
+package com.luixtech.rpc.benchmark;
+
+import com.luixtech.rpc.core.client.request.impl.RpcRequest;
+import com.luixtech.rpc.core.codec.Codec;
+import com.luixtech.rpc.core.constant.ProtocolConstants;
+import com.luixtech.rpc.core.constant.ServiceConstants;
+import com.luixtech.rpc.core.utils.SerializerHolder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the newline-separated text meta with the binary meta of a typical request with a meta-heavy and tiny body
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MetaEncodingBenchmark {
+    private final BenchmarkChannel channel = new BenchmarkChannel();
+    @Param({"false", "true"})
+    private       String           binaryMeta;
+    private       Codec            codec;
+    private       RpcRequest       request;
+    private       byte[]           requestBytes;
+
+    @Setup
+    public void setup() throws IOException {
+        SerializerHolder.init();
+        channel.getProviderUrl().addOption(ProtocolConstants.BINARY_META, binaryMeta);
+        codec = Codec.getInstance(ProtocolConstants.CODEC_VAL_V2);
+
+        request = new RpcRequest(1L, ProtocolConstants.PROTOCOL_VAL_LUIX, BenchmarkChannel.INTERFACE_NAME,
+                "getMenus", "java.util.List,java.lang.Long", false);
+        request.setMethodArguments(new Object[]{null, 1L});
+        request.addOption(ProtocolConstants.SERIALIZER, ProtocolConstants.SERIALIZER_VAL_DEFAULT);
+        request.addOption(ServiceConstants.FORM, "f1");
+        request.addOption(ServiceConstants.VERSION, "1.0.0");
+        request.addOption(ServiceConstants.REQUEST_TIMEOUT, "1000");
+        request.addOption(ServiceConstants.RETRY_COUNT, "1");
+        request.addOption(ServiceConstants.MAX_PAYLOAD, String.valueOf(ServiceConstants.MAX_PAYLOAD_VAL_DEFAULT));
+        request.addOption("traceId", "8f5b2c1d9e");
+
+        requestBytes = codec.encode(channel, request);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return codec.encode(channel, request);
+    }
+
+    @Benchmark
+    public Object decode() throws IOException, ClassNotFoundException {
+        return codec.decode(channel, "127.0.0.1", requestBytes);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MetaEncodingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
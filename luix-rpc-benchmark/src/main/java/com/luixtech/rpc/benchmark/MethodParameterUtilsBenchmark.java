@@ -0,0 +1,38 @@
+package com.luixtech.rpc.benchmark;
+
+import com.luixtech.rpc.core.utils.MethodParameterUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolve the method parameter types which is done on every request on server side
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MethodParameterUtilsBenchmark {
+    @Param({"java.lang.String", "java.lang.String,java.lang.Long", "java.util.List,int,long[],com.luixtech.rpc.benchmark.BenchmarkDto"})
+    private String methodParameters;
+
+    @Benchmark
+    public Class<?>[] forNames() throws ClassNotFoundException {
+        return MethodParameterUtils.forNames(methodParameters);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MethodParameterUtilsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,82 @@
+package com.luixtech.rpc.benchmark;
+
+import com.luixtech.rpc.core.client.request.impl.RpcRequest;
+import com.luixtech.rpc.core.codec.Codec;
+import com.luixtech.rpc.core.constant.ProtocolConstants;
+import com.luixtech.rpc.core.utils.SerializerHolder;
+import com.luixtech.rpc.transport.netty4.NettyDecoder;
+import com.luixtech.rpc.transport.netty4.NettyMessage;
+import com.luixtech.rpc.transport.netty4.codec.NettyCodecUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Frame the inbound bytes into messages, the frame can be delivered in fragments to cover the cumulation
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NettyDecoderBenchmark {
+    @Param({ProtocolConstants.CODEC_VAL_V2, ProtocolConstants.CODEC_VAL_V3})
+    private String          codecName;
+    /**
+     * Count of the fragments which a frame is delivered in
+     */
+    @Param({"1", "4"})
+    private int             fragments;
+    private EmbeddedChannel embeddedChannel;
+    private ByteBuf         frame;
+
+    @Setup
+    public void setup() {
+        SerializerHolder.init();
+        Codec codec = Codec.getInstance(codecName);
+        BenchmarkChannel channel = new BenchmarkChannel();
+
+        RpcRequest request = new RpcRequest(1L, ProtocolConstants.PROTOCOL_VAL_LUIX, BenchmarkChannel.INTERFACE_NAME,
+                "getMenus", "com.luixtech.rpc.benchmark.BenchmarkDto", false);
+        request.setMethodArguments(new Object[]{BenchmarkDto.of("medium")});
+        request.addOption(ProtocolConstants.SERIALIZER, ProtocolConstants.SERIALIZER_VAL_DEFAULT);
+
+        frame = NettyCodecUtils.encodeObjectToByteBuf(channel, codec, request, PooledByteBufAllocator.DEFAULT);
+        embeddedChannel = new EmbeddedChannel(new NettyDecoder(codec, channel, ProtocolConstants.MAX_CONTENT_LENGTH_VAL_DEFAULT));
+    }
+
+    @TearDown
+    public void tearDown() {
+        embeddedChannel.finishAndReleaseAll();
+        frame.release();
+    }
+
+    @Benchmark
+    public long decode() {
+        int size = frame.readableBytes();
+        int fragmentSize = (size + fragments - 1) / fragments;
+        for (int offset = 0; offset < size; offset += fragmentSize) {
+            embeddedChannel.writeInbound(frame.retainedSlice(offset, Math.min(fragmentSize, size - offset)));
+        }
+        NettyMessage message = embeddedChannel.readInbound();
+        message.release();
+        return message.getRequestId();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(NettyDecoderBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,57 @@
+package com.luixtech.rpc.benchmark;
+
+import com.luixtech.rpc.serializer.Serializer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the serializers across small, medium and large object graphs
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-opens=java.base/java.lang=ALL-UNNAMED", "--add-opens=java.base/java.util=ALL-UNNAMED",
+        "--add-opens=java.base/java.text=ALL-UNNAMED", "--add-opens=java.base/java.math=ALL-UNNAMED", "--add-opens=java.base/java.net=ALL-UNNAMED"})
+@State(Scope.Thread)
+public class SerializerBenchmark {
+    @Param({Serializer.SERIALIZER_NAME_KRYO, Serializer.SERIALIZER_NAME_HESSIAN2})
+    private String       serializerName;
+    @Param({"small", "medium", "large"})
+    private String       size;
+    private Serializer   serializer;
+    private BenchmarkDto dto;
+    private byte[]       bytes;
+
+    @Setup
+    public void setup() throws IOException {
+        serializer = Serializer.getInstance(serializerName);
+        dto = BenchmarkDto.of(size);
+        bytes = serializer.serialize(dto);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return serializer.serialize(dto);
+    }
+
+    @Benchmark
+    public BenchmarkDto deserialize() throws IOException {
+        return serializer.deserialize(bytes, BenchmarkDto.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SerializerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
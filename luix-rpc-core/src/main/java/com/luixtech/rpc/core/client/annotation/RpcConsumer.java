@@ -49,6 +49,13 @@ public @interface RpcConsumer {
      */
     String serializer() default "";
 
+    /**
+     * Compressor used to compress the message body
+     *
+     * @return compressor
+     */
+    String compressor() default "";
+
     /**
      * One service interface may have multiple implementations(forms),
      * It used to distinguish between different implementations of service provider interface
@@ -115,6 +122,14 @@ public @interface RpcConsumer {
      */
     String retryCount() default "";
 
+    /**
+     * Copy policy of the arguments and result when calling the provider in the same JVM directly
+     * Options: none, kryo, serialize
+     *
+     * @return local copy policy
+     */
+    String localCopy() default "";
+
     /**
      * Addresses of RPC provider used to connect RPC provider directly without third party registry
      * Multiple addresses are separated by comma
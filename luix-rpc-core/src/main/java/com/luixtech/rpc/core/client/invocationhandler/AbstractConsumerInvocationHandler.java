@@ -52,6 +52,7 @@ public abstract class AbstractConsumerInvocationHandler<T> {
 
         // Set some options
         request.addOption(ProtocolConstants.SERIALIZER, consumerStub.getSerializer());
+        request.addOption(ProtocolConstants.COMPRESSOR, consumerStub.getCompressor());
         request.addOption(ServiceConstants.FORM, consumerStub.getForm());
         request.addOption(ServiceConstants.VERSION, consumerStub.getVersion());
         request.addOption(ServiceConstants.REQUEST_TIMEOUT, consumerStub.getRequestTimeout());
@@ -50,7 +50,17 @@ public abstract class AbstractLoadBalancer implements LoadBalancer {
         List<Sendable> senders = new ArrayList<>(this.requestSenders);
         Sendable sender = null;
         if (senders.size() > 1) {
-            sender = doSelectSender(request);
+            // Prefer the provider in the same JVM which is called without network round trip while it has capacity,
+            // otherwise the request is balanced among the others instead of being rejected by the local bulkhead
+            Sendable localSender = senders.stream().filter(s -> s.isLocal() && s.isActive()).findFirst().orElse(null);
+            if (localSender != null && localSender.hasCapacity(request)) {
+                sender = localSender;
+            } else {
+                sender = doSelectSender(request);
+                if (sender == null) {
+                    sender = localSender;
+                }
+            }
         } else if (senders.size() == 1 && senders.get(0).isActive()) {
             sender = senders.get(0);
         }
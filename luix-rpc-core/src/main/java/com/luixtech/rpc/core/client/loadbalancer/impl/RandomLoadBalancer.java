@@ -21,7 +21,7 @@ public class RandomLoadBalancer extends AbstractLoadBalancer {
         int index = getIndex(requestSenders);
         for (int i = 0; i < requestSenders.size(); i++) {
             Sendable sender = requestSenders.get((i + index) % requestSenders.size());
-            if (sender.isActive()) {
+            if (sender.isActive() && sender.hasCapacity(request)) {
                 return sender;
             }
         }
@@ -26,6 +26,20 @@ public interface Requestable extends Exchangable {
      */
     String getMethodParameters();
 
+    /**
+     * Get the method ID which is negotiated with the provider
+     *
+     * @return method ID or null if it has NOT been negotiated
+     */
+    Integer getMethodId();
+
+    /**
+     * Set the method ID which is negotiated with the provider
+     *
+     * @param methodId method ID
+     */
+    void setMethodId(Integer methodId);
+
     /**
      * Get method arguments
      *
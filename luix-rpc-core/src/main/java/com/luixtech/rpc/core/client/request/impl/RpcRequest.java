@@ -33,6 +33,10 @@ public class RpcRequest implements Requestable, Serializable {
      * e.g, java.util.List,java.lang.Long
      */
     protected            String              methodParameters;
+    /**
+     * The method ID which is negotiated with the provider, it is used instead of the method signature on the wire
+     */
+    protected            Integer             methodId;
     protected            Object[]            methodArguments;
     protected            boolean             async            = false;
     protected            int                 retryNumber;
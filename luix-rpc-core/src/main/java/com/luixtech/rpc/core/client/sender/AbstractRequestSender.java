@@ -2,6 +2,7 @@ package com.luixtech.rpc.core.client.sender;
 
 import com.luixtech.rpc.core.client.request.Requestable;
 import com.luixtech.rpc.core.exception.impl.RpcFrameworkException;
+import com.luixtech.rpc.core.exchange.RpcContext;
 import com.luixtech.rpc.core.server.response.Responseable;
 import com.luixtech.rpc.core.url.Url;
 import lombok.extern.slf4j.Slf4j;
@@ -9,6 +10,9 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.luixtech.rpc.core.constant.ServiceConstants.REQUEST_TIMEOUT;
+import static com.luixtech.rpc.core.constant.ServiceConstants.REQUEST_TIMEOUT_VAL_DEFAULT;
+
 @Slf4j
 public abstract class AbstractRequestSender implements Sendable {
     protected          String        interfaceName;
@@ -53,6 +57,17 @@ public abstract class AbstractRequestSender implements Sendable {
         return active;
     }
 
+    @Override
+    public boolean isLocal() {
+        return false;
+    }
+
+    @Override
+    public boolean hasCapacity(Requestable request) {
+        // The remote provider applies its own limits
+        return true;
+    }
+
     @Override
     public Url getProviderUrl() {
         return providerUrl;
@@ -78,6 +93,31 @@ public abstract class AbstractRequestSender implements Sendable {
      */
     protected abstract Responseable doSend(Requestable request);
 
+    /**
+     * The nested RPC call made by provider inherits the remaining time budget of the request being processed,
+     * because the result is useless after the caller of the provider has given up
+     *
+     * @param request RPC request
+     */
+    protected void inheritRemainingTime(Requestable request) {
+        RpcContext context = RpcContext.current();
+        if (context == null) {
+            // Not called inside a provider invocation
+            return;
+        }
+        long remainingTime = context.getRemainingTime();
+        if (remainingTime < 0) {
+            return;
+        }
+        if (remainingTime == 0) {
+            throw new RpcFrameworkException("Failed to call [" + providerUrl.getUri() + "] for exceeding the deadline of the current request");
+        }
+        int timeout = request.getIntOption(REQUEST_TIMEOUT, REQUEST_TIMEOUT_VAL_DEFAULT);
+        if (timeout <= 0 || remainingTime < timeout) {
+            request.getOptions().put(REQUEST_TIMEOUT, String.valueOf(remainingTime));
+        }
+    }
+
     /**
      * Before send handler
      */
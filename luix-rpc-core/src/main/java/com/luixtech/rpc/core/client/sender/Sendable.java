@@ -23,6 +23,22 @@ public interface Sendable {
      */
     boolean isActive();
 
+    /**
+     * Check whether the RPC sender calls the provider in the same JVM directly
+     *
+     * @return {@code true} if it calls the local provider and {@code false} otherwise
+     */
+    boolean isLocal();
+
+    /**
+     * Check whether the RPC sender can take the request now without rejecting it,
+     * e.g, the sender of the provider in the same JVM rejects the request once the bulkhead of the provider is full
+     *
+     * @param request request object
+     * @return {@code true} if it has capacity and {@code false} otherwise
+     */
+    boolean hasCapacity(Requestable request);
+
     /**
      * Send RPC request
      *
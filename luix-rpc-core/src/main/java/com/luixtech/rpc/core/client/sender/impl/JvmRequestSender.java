@@ -0,0 +1,169 @@
+package com.luixtech.rpc.core.client.sender.impl;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.luixtech.rpc.core.client.request.Requestable;
+import com.luixtech.rpc.core.client.request.impl.RpcRequest;
+import com.luixtech.rpc.core.client.sender.AbstractRequestSender;
+import com.luixtech.rpc.core.constant.ConsumerConstants;
+import com.luixtech.rpc.core.constant.ProtocolConstants;
+import com.luixtech.rpc.core.exception.impl.RpcConfigException;
+import com.luixtech.rpc.core.exception.impl.RpcFrameworkException;
+import com.luixtech.rpc.core.server.response.Responseable;
+import com.luixtech.rpc.core.server.response.impl.RpcResponse;
+import com.luixtech.rpc.core.server.stub.Bulkhead;
+import com.luixtech.rpc.core.server.stub.ProviderStub;
+import com.luixtech.rpc.core.url.Url;
+import com.luixtech.rpc.core.utils.RpcFrameworkUtils;
+import com.luixtech.rpc.serializer.Serializer;
+import com.luixtech.rpc.serializer.kryo.KryoUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.ArrayUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+import static org.apache.commons.lang3.StringUtils.defaultIfEmpty;
+
+/**
+ * RPC request sender which invokes the provider living in the same JVM directly on the caller thread,
+ * so the request is NOT serialized, framed and sent over the loopback connection.
+ * The arguments and result are passed by reference unless the copy policy of consumer is kryo or serialize.
+ * The concurrent requests are limited by the same bulkhead as the requests received by server.
+ */
+@Slf4j
+public class JvmRequestSender extends AbstractRequestSender {
+    private final ProviderStub<?> providerStub;
+    private final String          localCopy;
+
+    public JvmRequestSender(String interfaceName, Url providerUrl, ProviderStub<?> providerStub, String localCopy) {
+        super(interfaceName, providerUrl);
+        this.providerStub = providerStub;
+        this.localCopy = defaultIfEmpty(localCopy, ConsumerConstants.LOCAL_COPY_VAL_DEFAULT);
+        if (!ConsumerConstants.LOCAL_COPY_VAL_NONE.equals(this.localCopy)
+                && !ConsumerConstants.LOCAL_COPY_VAL_KRYO.equals(this.localCopy)
+                && !ConsumerConstants.LOCAL_COPY_VAL_SERIALIZE.equals(this.localCopy)) {
+            throw new RpcConfigException("Local copy policy [" + localCopy + "] does NOT exist!");
+        }
+        // Initialize
+        super.init();
+        log.info("Initialized request sender [{}] with local copy policy [{}]", this, this.localCopy);
+    }
+
+    @Override
+    protected boolean doInit() {
+        return true;
+    }
+
+    @Override
+    protected Responseable doSend(Requestable request) {
+        inheritRemainingTime(request);
+        Method method = providerStub.findMethod(request.getMethodName(), request.getMethodParameters());
+        if (method != null && ArrayUtils.isNotEmpty(request.getMethodArguments()) && request instanceof RpcRequest) {
+            ((RpcRequest) request).setMethodArguments(copyArgs(request, method));
+        }
+        // Share the bulkhead with the remote consumers, so the local consumers can NOT starve them
+        Bulkhead bulkhead = providerStub.getBulkhead(request.getMethodName(), request.getMethodParameters());
+        if (bulkhead != null && !bulkhead.tryAcquire()) {
+            log.warn("Rejected local request for bulkhead is full, {}, request: {}", bulkhead, request);
+            return RpcFrameworkUtils.buildErrorResponse(request, new RpcFrameworkException(
+                    "Reject the request for exceeding the max concurrent requests of bulkhead [" + bulkhead.getName() + "]"));
+        }
+        Responseable response;
+        if (bulkhead != null) {
+            bulkhead.onStart();
+        }
+        try {
+            response = providerStub.invokeMethod(request, method);
+        } finally {
+            if (bulkhead != null) {
+                bulkhead.onFinish();
+            }
+        }
+        if (response.getException() == null && response.getResult() != null) {
+            ((RpcResponse) response).setResult(copyResult(request, response.getResult()));
+        }
+        return response;
+    }
+
+    private Object[] copyArgs(Requestable request, Method method) {
+        Object[] args = request.getMethodArguments();
+        if (ConsumerConstants.LOCAL_COPY_VAL_KRYO.equals(localCopy)) {
+            Kryo kryo = KryoUtils.get();
+            try {
+                Object[] copies = new Object[args.length];
+                for (int i = 0; i < args.length; i++) {
+                    copies[i] = kryo.copy(args[i]);
+                }
+                return copies;
+            } finally {
+                KryoUtils.release(kryo);
+            }
+        }
+        if (ConsumerConstants.LOCAL_COPY_VAL_SERIALIZE.equals(localCopy)) {
+            Serializer serializer = getSerializer(request);
+            try {
+                return serializer.deserializeArray(serializer.serializeArray(args), method.getParameterTypes());
+            } catch (IOException e) {
+                throw new RpcFrameworkException("Failed to copy arguments for request: " + request, e);
+            }
+        }
+        return args;
+    }
+
+    private Object copyResult(Requestable request, Object result) {
+        if (ConsumerConstants.LOCAL_COPY_VAL_KRYO.equals(localCopy)) {
+            Kryo kryo = KryoUtils.get();
+            try {
+                return kryo.copy(result);
+            } finally {
+                KryoUtils.release(kryo);
+            }
+        }
+        if (ConsumerConstants.LOCAL_COPY_VAL_SERIALIZE.equals(localCopy)) {
+            Serializer serializer = getSerializer(request);
+            try {
+                return serializer.deserialize(serializer.serialize(result), result.getClass());
+            } catch (IOException e) {
+                throw new RpcFrameworkException("Failed to copy result for request: " + request, e);
+            }
+        }
+        return result;
+    }
+
+    private Serializer getSerializer(Requestable request) {
+        String serializerName = defaultIfEmpty(request.getOption(ProtocolConstants.SERIALIZER),
+                providerUrl.getOption(ProtocolConstants.SERIALIZER, ProtocolConstants.SERIALIZER_VAL_DEFAULT));
+        Serializer serializer = Serializer.getInstance(serializerName);
+        if (serializer == null) {
+            throw new RpcConfigException("Serializer [" + serializerName + "] does NOT exist, " +
+                    "please check whether the correct dependency is in your class path!");
+        }
+        return serializer;
+    }
+
+    @Override
+    protected void afterSend(Requestable request, Responseable response) {
+        processingCount.decrementAndGet();
+    }
+
+    @Override
+    public boolean isActive() {
+        return active && providerStub.getActivated().get();
+    }
+
+    @Override
+    public boolean isLocal() {
+        return true;
+    }
+
+    @Override
+    public boolean hasCapacity(Requestable request) {
+        Bulkhead bulkhead = providerStub.getBulkhead(request.getMethodName(), request.getMethodParameters());
+        return bulkhead == null || bulkhead.hasCapacity();
+    }
+
+    @Override
+    public String toString() {
+        return JvmRequestSender.class.getSimpleName().concat(":").concat(interfaceName);
+    }
+}
@@ -12,6 +12,9 @@ import com.luixtech.rpc.core.server.response.Responseable;
 import com.luixtech.rpc.core.url.Url;
 import lombok.extern.slf4j.Slf4j;
 
+import static com.luixtech.rpc.core.constant.ServiceConstants.REQUEST_TIMEOUT;
+import static com.luixtech.rpc.core.constant.ServiceConstants.REQUEST_TIMEOUT_VAL_DEFAULT;
+
 
 /**
  * todo: DefaultRpcReferer
@@ -42,6 +45,14 @@ public class RequestSender extends AbstractRequestSender {
     @Override
     protected Responseable doSend(Requestable request) {
         try {
+            // The client may be shared by multiple interfaces, so resolve the timeout by the provider url of the interface,
+            // and the timeout of provider takes precedence over the one of consumer
+            int timeout = providerUrl.getMethodLevelOption(request.getMethodName(), request.getMethodParameters(),
+                    REQUEST_TIMEOUT, REQUEST_TIMEOUT_VAL_DEFAULT);
+            if (timeout != REQUEST_TIMEOUT_VAL_DEFAULT && timeout != 0) {
+                request.getOptions().put(REQUEST_TIMEOUT, String.valueOf(timeout));
+            }
+            inheritRemainingTime(request);
             return client.request(request);
         } catch (TransportException exception) {
             throw new RpcFrameworkException("Failed to call [" + providerUrl.getUri() + "]", exception);
@@ -51,10 +51,12 @@ public class ConsumerStub<T> {
         OPTIONS.put(ServiceConstants.VERSION, StringUtils.EMPTY);
         OPTIONS.put(ApplicationConstants.APP, StringUtils.EMPTY);
         OPTIONS.put(ProtocolConstants.SERIALIZER, StringUtils.EMPTY);
+        OPTIONS.put(ProtocolConstants.COMPRESSOR, StringUtils.EMPTY);
         OPTIONS.put(ServiceConstants.REQUEST_TIMEOUT, StringUtils.EMPTY);
         OPTIONS.put(ServiceConstants.RETRY_COUNT, StringUtils.EMPTY);
         OPTIONS.put(ServiceConstants.MAX_PAYLOAD, StringUtils.EMPTY);
         OPTIONS.put(ProtocolConstants.THROW_EXCEPTION, StringUtils.EMPTY);
+        OPTIONS.put(ConsumerConstants.LOCAL_COPY, ConsumerConstants.LOCAL_COPY_VAL_DEFAULT);
     }
 
     /**
@@ -81,6 +83,10 @@ public class ConsumerStub<T> {
      * Serializer used to serialize and deserialize object
      */
     private           String         serializer;
+    /**
+     * Compressor used to compress the message body
+     */
+    private           String         compressor;
     /**
      * One service interface may have multiple implementations(forms),
      * It used to distinguish between different implementations of service provider interface
@@ -146,6 +152,11 @@ public class ConsumerStub<T> {
      * Indicates whether rate limit enabled or not
      */
     private           boolean        limitRate;
+    /**
+     * Copy policy of the arguments and result when calling the provider in the same JVM directly,
+     * the arguments are passed by reference if the policy is none
+     */
+    private           String         localCopy;
     /**
      * Addresses of RPC provider used to connect RPC provider directly without third party registry.
      * Multiple addresses are separated by comma.
@@ -279,9 +290,11 @@ public class ConsumerStub<T> {
                 protocolConfig.getHost(), protocolConfig.getPort(), interfaceName, form, version);
         url.addOption(ApplicationConstants.APP, applicationConfig.getId());
         url.addOption(ProtocolConstants.SERIALIZER, serializer);
+        url.addOption(ProtocolConstants.COMPRESSOR, compressor);
         url.addOption(ServiceConstants.REQUEST_TIMEOUT, requestTimeout);
         url.addOption(ServiceConstants.RETRY_COUNT, retryCount);
         url.addOption(ServiceConstants.MAX_PAYLOAD, maxPayload);
+        url.addOption(ConsumerConstants.LOCAL_COPY, localCopy);
 
         String throwException = protocolConfig.getThrowException() == null ? null : protocolConfig.getThrowException().toString();
         url.addOption(ProtocolConstants.THROW_EXCEPTION, throwException);
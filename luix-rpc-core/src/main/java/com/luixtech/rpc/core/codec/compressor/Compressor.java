@@ -0,0 +1,47 @@
+package com.luixtech.rpc.core.codec.compressor;
+
+import com.luixtech.rpc.core.exception.impl.RpcFrameworkException;
+import com.luixtech.utilities.serviceloader.ServiceLoader;
+import com.luixtech.utilities.serviceloader.annotation.Spi;
+import com.luixtech.utilities.serviceloader.annotation.SpiScope;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Compressor used to compress the message body, the body is compressed only if the {@link com.luixtech.rpc.core.codec.impl.CodecHeader#isGzip()} is set
+ */
+@Spi(scope = SpiScope.SINGLETON)
+public interface Compressor {
+
+    /**
+     * Compress the data
+     *
+     * @param data data
+     * @return compressed data
+     * @throws IOException if any IOException thrown
+     */
+    byte[] compress(byte[] data) throws IOException;
+
+    /**
+     * Decompress the data, the data which expands beyond the maximum length is rejected
+     * before the memory is allocated for it
+     *
+     * @param data      compressed data
+     * @param maxLength allowed maximum length of the decompressed data
+     * @return decompressed data
+     * @throws IOException if any IOException thrown or the decompressed data is too large
+     */
+    byte[] decompress(byte[] data, int maxLength) throws IOException;
+
+    /**
+     * Get instance associated with the specified name
+     *
+     * @param name specified name
+     * @return instance
+     */
+    static Compressor getInstance(String name) {
+        return Optional.ofNullable(ServiceLoader.forClass(Compressor.class).load(name))
+                .orElseThrow(() -> new RpcFrameworkException("No compressor [" + name + "] found!"));
+    }
+}
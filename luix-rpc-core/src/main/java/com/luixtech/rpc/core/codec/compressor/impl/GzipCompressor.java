@@ -0,0 +1,38 @@
+package com.luixtech.rpc.core.codec.compressor.impl;
+
+import com.luixtech.rpc.core.codec.compressor.Compressor;
+import com.luixtech.rpc.core.constant.ProtocolConstants;
+import com.luixtech.utilities.serviceloader.annotation.SpiName;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JDK gzip compressor which requires no extra dependency
+ */
+@SpiName(ProtocolConstants.COMPRESSOR_VAL_GZIP)
+public class GzipCompressor implements Compressor {
+
+    @Override
+    public byte[] compress(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public byte[] decompress(byte[] data, int maxLength) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            byte[] result = gzip.readNBytes(maxLength);
+            if (gzip.read() != -1) {
+                throw new IOException("Decompressed gzip data exceeds the maximum length: " + maxLength);
+            }
+            return result;
+        }
+    }
+}
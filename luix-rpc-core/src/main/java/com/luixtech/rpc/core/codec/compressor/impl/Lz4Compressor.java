@@ -0,0 +1,48 @@
+package com.luixtech.rpc.core.codec.compressor.impl;
+
+import com.luixtech.rpc.core.codec.compressor.Compressor;
+import com.luixtech.rpc.core.constant.ProtocolConstants;
+import com.luixtech.utilities.serviceloader.annotation.SpiName;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * LZ4 block compressor, the compressed data is prefixed with the original length.
+ * It requires the dependency org.lz4:lz4-java.
+ */
+@SpiName(ProtocolConstants.COMPRESSOR_VAL_LZ4)
+public class Lz4Compressor implements Compressor {
+
+    @Override
+    public byte[] compress(byte[] data) throws IOException {
+        LZ4Compressor compressor = Holder.FACTORY.fastCompressor();
+        byte[] compressed = new byte[4 + compressor.maxCompressedLength(data.length)];
+        ByteBuffer.wrap(compressed).putInt(data.length);
+        int length = compressor.compress(data, 0, data.length, compressed, 4);
+        return Arrays.copyOf(compressed, 4 + length);
+    }
+
+    @Override
+    public byte[] decompress(byte[] data, int maxLength) throws IOException {
+        int length = ByteBuffer.wrap(data).getInt();
+        if (length < 0 || length > maxLength) {
+            throw new IOException("Found invalid LZ4 original length: " + length);
+        }
+        LZ4FastDecompressor decompressor = Holder.FACTORY.fastDecompressor();
+        byte[] result = new byte[length];
+        decompressor.decompress(data, 4, result, 0, length);
+        return result;
+    }
+
+    /**
+     * Lazy holder which prevents loading the LZ4 classes until the compressor is used
+     */
+    private static class Holder {
+        private static final LZ4Factory FACTORY = LZ4Factory.fastestInstance();
+    }
+}
@@ -0,0 +1,30 @@
+package com.luixtech.rpc.core.codec.compressor.impl;
+
+import com.github.luben.zstd.Zstd;
+import com.luixtech.rpc.core.codec.compressor.Compressor;
+import com.luixtech.rpc.core.constant.ProtocolConstants;
+import com.luixtech.utilities.serviceloader.annotation.SpiName;
+
+import java.io.IOException;
+
+/**
+ * Zstandard compressor, it requires the dependency com.github.luben:zstd-jni.
+ */
+@SpiName(ProtocolConstants.COMPRESSOR_VAL_ZSTD)
+public class ZstdCompressor implements Compressor {
+    private static final int LEVEL = 3;
+
+    @Override
+    public byte[] compress(byte[] data) throws IOException {
+        return Zstd.compress(data, LEVEL);
+    }
+
+    @Override
+    public byte[] decompress(byte[] data, int maxLength) throws IOException {
+        long length = Zstd.decompressedSize(data);
+        if (length <= 0 || length > maxLength) {
+            throw new IOException("Found invalid zstd original length: " + length);
+        }
+        return Zstd.decompress(data, (int) length);
+    }
+}
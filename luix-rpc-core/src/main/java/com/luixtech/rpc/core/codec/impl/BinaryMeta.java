@@ -0,0 +1,163 @@
+package com.luixtech.rpc.core.codec.impl;
+
+import com.luixtech.rpc.core.constant.ProtocolConstants;
+import com.luixtech.rpc.core.constant.ServiceConstants;
+import com.luixtech.rpc.core.exception.impl.RpcFrameworkException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Binary meta format which is used by {@link CodecHeader#VERSION_BINARY_META}.
+ * <p>
+ * Each entry starts with a varint tag. Well-known keys are represented by their tags,
+ * numeric values are written as zigzag varints and other values are written as length-prefixed UTF-8 strings.
+ * Custom keys use the tag {@link #TAG_CUSTOM} followed by the length-prefixed key and value.
+ */
+public abstract class BinaryMeta {
+    /**
+     * Tag of custom key
+     */
+    public static final  int                  TAG_CUSTOM   = 0;
+    /**
+     * Index is the tag of well-known key, the order must NOT be changed and new key must be appended
+     */
+    private static final String[]             TAG_KEYS     = new String[]{
+            null,
+            CodecV2.M_INTERFACE,
+            CodecV2.M_METHOD,
+            CodecV2.M_METHOD_PARAMETERS,
+            CodecV2.M_RETURN_TYPE,
+            CodecV2.M_ELAPSED_TIME,
+            CodecV2.M_ERROR,
+            ProtocolConstants.SERIALIZER,
+            ServiceConstants.FORM,
+            ServiceConstants.VERSION,
+            ServiceConstants.REQUEST_TIMEOUT,
+            ServiceConstants.RETRY_COUNT,
+            ServiceConstants.MAX_PAYLOAD,
+            CodecV2.M_METHOD_ID,
+            ProtocolConstants.COMPRESSOR,
+            CodecV2.M_RETURN_TYPE_ID
+    };
+    /**
+     * Indicate whether the value of well-known key is numeric
+     */
+    private static final boolean[]            NUMERIC_TAGS = new boolean[]{
+            false, false, false, false, false, true, false, false, false, false, true, true, true, true, false, true
+    };
+    private static final Map<String, Integer> KEY_TO_TAG   = new HashMap<>();
+    private static final int                  MAX_DIGITS   = 18;
+
+    static {
+        for (int i = 1; i < TAG_KEYS.length; i++) {
+            KEY_TO_TAG.put(TAG_KEYS[i], i);
+        }
+    }
+
+    /**
+     * Write the meta entry to buffer
+     *
+     * @param buf   buffer
+     * @param key   key
+     * @param value value
+     */
+    public static void put(GrowableByteBuffer buf, String key, String value) {
+        Integer tag = KEY_TO_TAG.get(key);
+        if (tag == null) {
+            buf.putVarInt(TAG_CUSTOM);
+            putString(buf, key);
+            putString(buf, value);
+        } else if (NUMERIC_TAGS[tag]) {
+            if (isNumeric(value)) {
+                buf.putVarInt(tag);
+                buf.putZigzag64(Long.parseLong(value));
+            } else {
+                // Fall back to custom key for the malformed numeric value
+                buf.putVarInt(TAG_CUSTOM);
+                putString(buf, key);
+                putString(buf, value);
+            }
+        } else {
+            buf.putVarInt(tag);
+            putString(buf, value);
+        }
+    }
+
+    /**
+     * Write the numeric meta entry to buffer
+     *
+     * @param buf   buffer
+     * @param key   well-known key with numeric value
+     * @param value value
+     */
+    public static void put(GrowableByteBuffer buf, String key, long value) {
+        Integer tag = KEY_TO_TAG.get(key);
+        if (tag == null || !NUMERIC_TAGS[tag]) {
+            put(buf, key, String.valueOf(value));
+            return;
+        }
+        buf.putVarInt(tag);
+        buf.putZigzag64(value);
+    }
+
+    /**
+     * Read all the meta entries from the remaining bytes of the buffer
+     *
+     * @param buf buffer
+     * @return meta map
+     */
+    public static Map<String, String> decode(ByteBuffer buf) {
+        Map<String, String> map = new HashMap<>();
+        GrowableByteBuffer in = new GrowableByteBuffer(buf);
+        while (buf.hasRemaining()) {
+            int tag = (int) in.getVarInt();
+            if (tag == TAG_CUSTOM) {
+                String key = getString(in, buf);
+                map.put(key, getString(in, buf));
+            } else if (tag < TAG_KEYS.length) {
+                map.put(TAG_KEYS[tag], NUMERIC_TAGS[tag] ? String.valueOf(in.getZigZag64()) : getString(in, buf));
+            } else {
+                throw new RpcFrameworkException("Found unknown meta tag [" + tag + "]");
+            }
+        }
+        return map;
+    }
+
+    private static void putString(GrowableByteBuffer buf, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buf.putVarInt(bytes.length);
+        buf.put(bytes);
+    }
+
+    private static String getString(GrowableByteBuffer in, ByteBuffer buf) {
+        int length = (int) in.getVarInt();
+        String value;
+        if (buf.hasArray()) {
+            value = new String(buf.array(), buf.arrayOffset() + buf.position(), length, StandardCharsets.UTF_8);
+            buf.position(buf.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            buf.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    private static boolean isNumeric(String value) {
+        int length = value.length();
+        if (length == 0 || length > MAX_DIGITS) {
+            return false;
+        }
+        int start = value.charAt(0) == '-' && length > 1 ? 1 : 0;
+        for (int i = start; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -8,45 +8,57 @@ import java.nio.ByteBuffer;
 
 @Data
 public class CodecHeader {
-    public static final short   MAGIC        = (short) 0xF1F1;
+    public static final short   MAGIC               = (short) 0xF1F1;
     /**
      * Header size
      */
-    public static final int     HEADER_SIZE  = 13;
+    public static final int     HEADER_SIZE         = 13;
     /**
-     * Protocol version
+     * Meta section consists of newline-separated strings
      */
-//    private             int     version      = 1;
+    public static final int     VERSION_TEXT_META   = 1;
+    /**
+     * Meta section is encoded by {@link BinaryMeta}
+     */
+    public static final int     VERSION_BINARY_META = 2;
+    /**
+     * Chunk of the large frame which is split by transport, the status indicates whether it is the last chunk
+     */
+    public static final int     VERSION_CHUNK       = 3;
+    /**
+     * Protocol version, value range is 1 to 31.
+     */
+    private             int     version             = VERSION_TEXT_META;
     /**
      * Check health indicator
      */
-    private             boolean checkHealth  = false;
+    private             boolean checkHealth         = false;
     /**
      * gzip indicator
      */
-    private             boolean gzip         = false;
+    private             boolean gzip                = false;
     /**
      * One way trip refers to only request but no response, round trip refers to both request and response
      */
-    private             boolean oneWayTrip   = true;
+    private             boolean oneWayTrip          = true;
     /**
      * 是否需要代理请求。motan agent使用
      */
-    private             boolean proxy        = false;
+    private             boolean proxy               = false;
     /**
      * Indicate whether it is a request, otherwise it's a response
      */
-    private             boolean request      = true;
+    private             boolean request             = true;
     /**
      * 消息状态。最大能表示8种状态，value range is 0 to 7. 0:normal, 1:exception
      * <p>
      * refer to {@link MessageStatus}
      */
-    private             int     status       = 0;
+    private             int     status              = 0;
     /**
      * Message body serializer，value range is 0 to 31.
      */
-    private             int     serializerId = ProtocolConstants.SERIALIZER_ID_DEFAULT;
+    private             int     serializerId        = ProtocolConstants.SERIALIZER_ID_DEFAULT;
     /**
      * Request ID
      */
@@ -73,10 +85,7 @@ public class CodecHeader {
         }
 
         buf.put(msgType);
-        byte vs = 0x08;
-//        if (version != 1) {
-//            vs = (byte) ((version << 3) & 0xf8);
-//        }
+        byte vs = (byte) ((version << 3) & 0xf8);
         if (status != 0) {
             vs = (byte) (vs | (status & 0x07));
         }
@@ -92,7 +101,10 @@ public class CodecHeader {
     }
 
     public static CodecHeader buildHeader(byte[] headerBytes) {
-        ByteBuffer buf = ByteBuffer.wrap(headerBytes);
+        return buildHeader(ByteBuffer.wrap(headerBytes));
+    }
+
+    public static CodecHeader buildHeader(ByteBuffer buf) {
         short mg = buf.getShort();
         if (mg != MAGIC) {
             throw new RpcInvocationException("Found invalid magic: " + mg);
@@ -116,7 +128,7 @@ public class CodecHeader {
         }
 
         b = buf.get();
-//        header.setVersion((b >>> 3) & 0x1f);
+        header.setVersion((b >>> 3) & 0x1f);
         header.setStatus(b & 0x07);
 
         b = buf.get();
@@ -1,7 +1,9 @@
 package com.luixtech.rpc.core.codec.impl;
 
+import com.luixtech.rpc.core.client.request.impl.RpcCheckHealthRequest;
 import com.luixtech.rpc.core.client.request.impl.RpcRequest;
 import com.luixtech.rpc.core.codec.AbstractCodec;
+import com.luixtech.rpc.core.codec.compressor.Compressor;
 import com.luixtech.rpc.core.constant.ProtocolConstants;
 import com.luixtech.rpc.core.exception.ExceptionUtils;
 import com.luixtech.rpc.core.exception.impl.RpcConfigException;
@@ -10,7 +12,9 @@ import com.luixtech.rpc.core.exception.impl.RpcInvocationException;
 import com.luixtech.rpc.core.exchange.Channel;
 import com.luixtech.rpc.core.exchange.Exchangable;
 import com.luixtech.rpc.core.protocol.constants.ProtocolVersion;
+import com.luixtech.rpc.core.server.response.impl.RpcCheckHealthResponse;
 import com.luixtech.rpc.core.server.response.impl.RpcResponse;
+import com.luixtech.rpc.core.url.Url;
 import com.luixtech.rpc.core.utils.MethodParameterUtils;
 import com.luixtech.rpc.core.utils.SerializerHolder;
 import com.luixtech.rpc.serializer.DeserializableArgs;
@@ -20,9 +24,11 @@ import com.luixtech.utilities.lang.MathUtils;
 import com.luixtech.utilities.serviceloader.annotation.SpiName;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.MapUtils;
-import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
@@ -33,12 +39,20 @@ import static org.apache.commons.lang3.StringUtils.defaultIfEmpty;
 @Slf4j
 @SpiName(ProtocolConstants.CODEC_VAL_V2)
 public class CodecV2 extends AbstractCodec {
-    private static final String M_INTERFACE         = "M_i";
-    private static final String M_METHOD            = "M_m";
-    private static final String M_METHOD_PARAMETERS = "M_mp";
-    private static final String M_RETURN_TYPE       = "M_rt";
-    private static final String M_ELAPSED_TIME      = "M_et";
-    private static final String M_ERROR             = "M_e";
+    protected static final String M_INTERFACE         = "M_i";
+    protected static final String M_METHOD            = "M_m";
+    protected static final String M_METHOD_PARAMETERS = "M_mp";
+    protected static final String M_RETURN_TYPE       = "M_rt";
+    protected static final String M_ELAPSED_TIME      = "M_et";
+    protected static final String M_ERROR             = "M_e";
+    protected static final String M_METHOD_ID         = "M_mi";
+    protected static final String M_RETURN_TYPE_ID    = "M_rti";
+    private static final   byte   DELIMITER           = '\n';
+    /**
+     * Leading text meta of the check health request which is sent as full frame by the consumer of old version
+     */
+    private static final   byte[] CHECK_HEALTH_META   = (M_INTERFACE + "\n" + RpcCheckHealthRequest.CHECK_HEALTH_INTERFACE_NAME + "\n"
+            + M_METHOD + "\n" + RpcCheckHealthRequest.CHECK_HEALTH_METHOD_NAME + "\n").getBytes(StandardCharsets.UTF_8);
 
     @Override
     public byte[] encode(Channel channel, Exchangable input) throws IOException {
@@ -50,27 +64,24 @@ public class CodecV2 extends AbstractCodec {
             buf.position(index);
             buf.putInt(0);
 
-            // Body represents arguments bytes for request or results bytes for response
-            byte[] body;
-            if (input instanceof RpcRequest) {
-                // Encode request
-                RpcRequest request = (RpcRequest) input;
-                String providerSerializer = channel.getProviderUrl().getOption(ProtocolConstants.SERIALIZER, ProtocolConstants.SERIALIZER_VAL_DEFAULT);
-                // Consumer configuration over provider side
-                String serializer = defaultIfEmpty(request.getOption(ProtocolConstants.SERIALIZER), providerSerializer);
-                body = encodeRequest(request, header, buf, serializer);
-            } else {
-                // Encode response
-                body = encodeResponse((RpcResponse) input, header, buf);
+            Serializer serializer = encodeMeta(channel, input, header, buf, null);
+            String compressor = getCompressor(channel, input, header);
+            byte[] body = null;
+            if (compressor != null) {
+                // The body has to be serialized to bytes in order to be compressed
+                body = compress(compressor, channel, input, header, buf, serializeBody(serializer, input));
             }
-
-            buf.position(buf.position() - 1);
             int metaLength = buf.position() - index - 4;
             buf.putInt(index, metaLength);
 
-            // Body
-            if (body != null && body.length > 0) {
-                // todo: gzip body
+            // Body represents arguments bytes for request or results bytes for response
+            if (compressor == null) {
+                // Serialize the body into the buffer directly
+                int bodySizeIndex = buf.position();
+                buf.putInt(0);
+                serializeBody(serializer, input, buf.asOutputStream());
+                buf.putInt(bodySizeIndex, buf.position() - bodySizeIndex - 4);
+            } else if (body != null && body.length > 0) {
                 buf.putInt(body.length);
                 buf.put(body);
             } else {
@@ -95,7 +106,184 @@ public class CodecV2 extends AbstractCodec {
         }
     }
 
-    private byte[] encodeRequest(RpcRequest request, CodecHeader header, GrowableByteBuffer metaBuf, String serializerName) throws IOException {
+    /**
+     * Write the meta of the input object to the buffer, the body is serialized by {@link #serializeBody}
+     *
+     * @param channel    channel
+     * @param input      request or response
+     * @param header     header to be filled
+     * @param metaBuf    meta buffer
+     * @param dictionary per-connection type dictionary, it may be null
+     * @return serializer of the body or null if it has no body
+     */
+    protected Serializer encodeMeta(Channel channel, Exchangable input, CodecHeader header, GrowableByteBuffer metaBuf,
+                                    TypeDictionary dictionary) {
+        int start = metaBuf.position();
+        Serializer serializer;
+        // Request uses binary meta only if the provider accepts it, and response uses the same meta format as the request
+        if (input instanceof RpcRequest ? isBinaryMetaEnabled(channel.getProviderUrl())
+                : input.getProtocolVersion() == ProtocolVersion.VERSION_2_BINARY_META.getVersion()) {
+            header.setVersion(CodecHeader.VERSION_BINARY_META);
+        }
+        if (isCheckHealthFrame(input)) {
+            // Header-only frame which has neither meta nor body
+            header.setCheckHealth(true);
+            header.setRequest(input instanceof RpcRequest);
+            header.setRequestId(input.getRequestId());
+            return null;
+        }
+        if (input instanceof RpcRequest) {
+            // Encode request
+            RpcRequest request = (RpcRequest) input;
+            String providerSerializer = channel.getProviderUrl().getOption(ProtocolConstants.SERIALIZER, ProtocolConstants.SERIALIZER_VAL_DEFAULT);
+            // Consumer configuration over provider side
+            String serializerName = defaultIfEmpty(request.getOption(ProtocolConstants.SERIALIZER), providerSerializer);
+            serializer = encodeRequest(request, header, metaBuf, serializerName);
+        } else {
+            // Encode response
+            serializer = encodeResponse((RpcResponse) input, header, metaBuf, dictionary);
+        }
+        if (header.getVersion() == CodecHeader.VERSION_TEXT_META && metaBuf.position() > start) {
+            // Drop the last delimiter
+            metaBuf.position(metaBuf.position() - 1);
+        }
+        return serializer;
+    }
+
+    /**
+     * Binary meta can NOT be decoded by the provider of old version which splits meta by newline,
+     * so it is used only if the provider enables it explicitly
+     *
+     * @param providerUrl provider url
+     * @return {@code true} if the requests are sent with binary meta and {@code false} otherwise
+     */
+    public static boolean isBinaryMetaEnabled(Url providerUrl) {
+        return providerUrl.getBooleanOption(ProtocolConstants.BINARY_META, ProtocolConstants.BINARY_META_VAL_DEFAULT);
+    }
+
+    /**
+     * The check health request sent by {@link com.luixtech.rpc.core.exchange.checkhealth.impl.HealthCheckerV1}
+     * and its response are encoded as header-only frame regardless of the meta format, because the frame has no meta to encode
+     *
+     * @param input request or response
+     * @return {@code true} if it is header-only frame and {@code false} otherwise
+     */
+    private boolean isCheckHealthFrame(Exchangable input) {
+        return input instanceof RpcCheckHealthRequest || input instanceof RpcCheckHealthResponse;
+    }
+
+    /**
+     * Check whether the text meta belongs to a check health request, so that the request sent as full frame
+     * can be classified before being decoded
+     *
+     * @param meta meta buffer, the remaining bytes are the meta section of text meta frame
+     * @return {@code true} if it is the meta of check health request and {@code false} otherwise
+     */
+    public static boolean isCheckHealthMeta(ByteBuffer meta) {
+        if (meta.remaining() < CHECK_HEALTH_META.length) {
+            return false;
+        }
+        int position = meta.position();
+        for (int i = 0; i < CHECK_HEALTH_META.length; i++) {
+            if (meta.get(position + i) != CHECK_HEALTH_META[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Serialize the arguments of request or the result of response to the output stream
+     *
+     * @param serializer serializer, it is null if the input has no body
+     * @param input      request or response
+     * @param out        output stream
+     * @throws IOException if any exception thrown
+     */
+    protected void serializeBody(Serializer serializer, Exchangable input, OutputStream out) throws IOException {
+        if (serializer == null) {
+            return;
+        }
+        if (input instanceof RpcRequest) {
+            Object[] args = ((RpcRequest) input).getMethodArguments();
+            if (args != null) {
+                serializer.serializeArray(args, out);
+            }
+        } else {
+            RpcResponse response = (RpcResponse) input;
+            if (response.getException() == null && response.getResult() != null) {
+                serializer.serialize(response.getResult(), out);
+            }
+        }
+    }
+
+    /**
+     * Serialize the body to bytes
+     *
+     * @param serializer serializer
+     * @param input      request or response
+     * @return body bytes or null if it has no body
+     * @throws IOException if any exception thrown
+     */
+    protected byte[] serializeBody(Serializer serializer, Exchangable input) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        serializeBody(serializer, input, bos);
+        return bos.size() > 0 ? bos.toByteArray() : null;
+    }
+
+    /**
+     * Get the compressor, consumer configuration over provider side.
+     * The compressor of provider may depend on the optional library which is absent on the consumer side,
+     * so gzip of JDK is used instead unless the consumer specified the compressor.
+     * The gzip bit of header is independent of the meta format, so the body of both text and binary meta frames can be compressed
+     *
+     * @param channel channel
+     * @param input   request or response
+     * @param header  header
+     * @return compressor name or null if the body will NOT be compressed
+     */
+    protected String getCompressor(Channel channel, Exchangable input, CodecHeader header) {
+        String compressor = input.getOption(ProtocolConstants.COMPRESSOR);
+        if (StringUtils.isNotEmpty(compressor)) {
+            return compressor;
+        }
+        return StringUtils.isEmpty(channel.getProviderUrl().getOption(ProtocolConstants.COMPRESSOR))
+                ? null : ProtocolConstants.COMPRESSOR_VAL_GZIP;
+    }
+
+    /**
+     * Compress the body if the body size reaches the threshold
+     *
+     * @param compressor compressor name
+     * @param channel    channel
+     * @param input      request or response
+     * @param header     header to be filled
+     * @param metaBuf    meta buffer
+     * @param body       body bytes, it may be null
+     * @return compressed body bytes or the original one
+     * @throws IOException if any exception thrown
+     */
+    protected byte[] compress(String compressor, Channel channel, Exchangable input, CodecHeader header,
+                              GrowableByteBuffer metaBuf, byte[] body) throws IOException {
+        int minCompressSize = channel.getProviderUrl().getIntOption(ProtocolConstants.MIN_COMPRESS_SIZE,
+                ProtocolConstants.MIN_COMPRESS_SIZE_VAL_DEFAULT);
+        if (body == null || body.length < minCompressSize) {
+            return body;
+        }
+        byte[] compressed = Compressor.getInstance(compressor).compress(body);
+        if (compressed.length >= body.length) {
+            // Incompressible body
+            return body;
+        }
+        header.setGzip(true);
+        if (input.getOption(ProtocolConstants.COMPRESSOR) == null) {
+            // Tell the peer which compressor is used if it was not in the options
+            appendMeta(metaBuf, header, ProtocolConstants.COMPRESSOR, compressor);
+        }
+        return compressed;
+    }
+
+    private Serializer encodeRequest(RpcRequest request, CodecHeader header, GrowableByteBuffer metaBuf, String serializerName) {
         Serializer serializer = Serializer.getInstance(serializerName);
         if (serializer == null) {
             throw new RpcConfigException("Serializer [" + serializerName + "] does NOT exist, " +
@@ -106,33 +294,24 @@ public class CodecV2 extends AbstractCodec {
         header.setRequestId(request.getRequestId());
 
         // Set meta (including options)
-        putString(metaBuf, M_INTERFACE);
-        putString(metaBuf, request.getInterfaceName());
-
-        putString(metaBuf, M_METHOD);
-        putString(metaBuf, request.getMethodName());
-
-        if (request.getMethodParameters() != null) {
-            putString(metaBuf, M_METHOD_PARAMETERS);
-            putString(metaBuf, request.getMethodParameters());
-        }
-
-        putMap(metaBuf, request.getOptions());
-
-        // Serialize method arguments to bytes
-        byte[] argsBytes = null;
-        if (request.getMethodArguments() != null) {
-            // Serialize argument arrays to bytes
-            argsBytes = serializer.serializeArray(request.getMethodArguments());
+        if (request.getMethodId() != null && header.getVersion() == CodecHeader.VERSION_BINARY_META) {
+            // The negotiated method ID identifies the interface, method and parameters on the provider side
+            BinaryMeta.put(metaBuf, M_METHOD_ID, request.getMethodId());
+        } else {
+            putMeta(metaBuf, header, M_INTERFACE, request.getInterfaceName());
+            putMeta(metaBuf, header, M_METHOD, request.getMethodName());
+            if (request.getMethodParameters() != null) {
+                putMeta(metaBuf, header, M_METHOD_PARAMETERS, request.getMethodParameters());
+            }
         }
-        return argsBytes;
+        putMetaMap(metaBuf, header, request.getOptions());
+        return serializer;
     }
 
-    private byte[] encodeResponse(RpcResponse response, CodecHeader header, GrowableByteBuffer metaBuf) throws IOException {
-        Serializer serializer = SerializerHolder.getSerializerById(response.getSerializerId());
-
+    private Serializer encodeResponse(RpcResponse response, CodecHeader header, GrowableByteBuffer metaBuf,
+                                      TypeDictionary dictionary) {
         // Set header
-        header.setSerializerId(serializer.getSerializerId());
+        header.setSerializerId(response.getSerializerId());
         header.setRequestId(response.getRequestId());
         header.setRequest(false);
 
@@ -140,51 +319,88 @@ public class CodecV2 extends AbstractCodec {
         // The actual return type is different from declared one.
         // e.g, the declared return type of interface class may by java.util.List,
         // but actual return type of implementation class may by java.util.ArrayList
-        if (response.getResult() != null) {
-            putString(metaBuf, M_RETURN_TYPE);
-            putString(metaBuf, response.getResult().getClass().getName());
+        if (response.getException() == null && response.getResult() != null) {
+            putReturnType(response, header, metaBuf, dictionary);
         }
 
-        putString(metaBuf, M_ELAPSED_TIME);
-        putString(metaBuf, String.valueOf(response.getElapsedTime()));
+        if (header.getVersion() == CodecHeader.VERSION_BINARY_META) {
+            BinaryMeta.put(metaBuf, M_ELAPSED_TIME, response.getElapsedTime());
+        } else {
+            putMeta(metaBuf, header, M_ELAPSED_TIME, String.valueOf(response.getElapsedTime()));
+        }
 
         if (response.getException() != null) {
-            putString(metaBuf, M_ERROR);
-            putString(metaBuf, org.apache.commons.lang3.exception.ExceptionUtils.getMessage(response.getException()));
+            putMeta(metaBuf, header, M_ERROR, org.apache.commons.lang3.exception.ExceptionUtils.getMessage(response.getException()));
             header.setStatus(CodecHeader.MessageStatus.EXCEPTION.getStatus());
         }
-        putMap(metaBuf, response.getOptions());
+        putMetaMap(metaBuf, header, response.getOptions());
+        // The serializer is resolved only if there is a result to be serialized
+        return response.getException() == null && response.getResult() != null
+                ? SerializerHolder.getSerializerById(response.getSerializerId()) : null;
+    }
 
-        byte[] resultsBytes = null;
-        if (response.getException() == null && response.getResult() != null) {
-            // Serialize results to bytes
-            resultsBytes = serializer.serialize(response.getResult());
+    private void putReturnType(RpcResponse response, CodecHeader header, GrowableByteBuffer metaBuf, TypeDictionary dictionary) {
+        Class<?> returnType = response.getResult().getClass();
+        // The consumer which uses text meta does NOT support type dictionary
+        int typeId = dictionary != null && header.getVersion() == CodecHeader.VERSION_BINARY_META
+                ? dictionary.getId(returnType) : -1;
+        if (typeId < 0) {
+            putMeta(metaBuf, header, M_RETURN_TYPE, returnType.getName());
+            return;
         }
-        return resultsBytes;
+        if (!dictionary.isDefined(typeId)) {
+            // Send the name along with the ID until the definition has been written to the connection
+            putMeta(metaBuf, header, M_RETURN_TYPE, returnType.getName());
+            dictionary.addPendingDefinition(response.getRequestId(), typeId);
+        }
+        BinaryMeta.put(metaBuf, M_RETURN_TYPE_ID, typeId);
     }
 
     @Override
     public Object decode(Channel channel, String remoteIp, byte[] data) throws IOException, ClassNotFoundException {
         CodecHeader header = CodecHeader.buildHeader(data);
+        if (header.isCheckHealth()) {
+            return createCheckHealthMessage(header);
+        }
         Map<String, String> metaMap = new HashMap<>();
         ByteBuffer buf = ByteBuffer.wrap(data);
         int metaSize = buf.getInt(CodecHeader.HEADER_SIZE);
         int index = CodecHeader.HEADER_SIZE + 4;
         if (metaSize > 0) {
-            byte[] meta = new byte[metaSize];
-            buf.position(index);
-            buf.get(meta);
-            metaMap = decodeMeta(meta);
+            metaMap = decodeMeta(header, ByteBuffer.wrap(data, index, metaSize));
             index += metaSize;
         }
         int bodySize = buf.getInt(index);
         index += 4;
-        Object obj = null;
+        byte[] body = null;
         if (bodySize > 0) {
-            byte[] body = new byte[bodySize];
+            body = new byte[bodySize];
             buf.position(index);
             buf.get(body);
-            // todo: ungzip
+        }
+        return decode(channel, header, metaMap, body, null);
+    }
+
+    /**
+     * Build the request or response based on the decoded header, meta and body
+     *
+     * @param channel    channel
+     * @param header     header
+     * @param metaMap    meta map
+     * @param body       body bytes, it may be null
+     * @param dictionary per-connection type dictionary, it may be null
+     * @return request or response
+     * @throws IOException            if the body can NOT be decompressed
+     * @throws ClassNotFoundException if return type class can NOT be found
+     */
+    protected Object decode(Channel channel, CodecHeader header, Map<String, String> metaMap, byte[] body,
+                            TypeDictionary dictionary) throws IOException, ClassNotFoundException {
+        Object obj = null;
+        Class<?> returnType = header.isRequest() ? null : getReturnType(metaMap, dictionary);
+        if (body != null) {
+            if (header.isGzip()) {
+                body = decompress(channel, metaMap, body);
+            }
             // 默认自适应序列化
             Serializer serializer = SerializerHolder.getSerializerById(header.getSerializerId());
             if (header.isRequest()) {
@@ -192,11 +408,38 @@ public class CodecV2 extends AbstractCodec {
                 obj = new DeserializableArgs(serializer, body);
             } else {
                 // If method has result type
-                String returnType = metaMap.remove(M_RETURN_TYPE);
-                Class<?> clz = MethodParameterUtils.forName(returnType);
-                obj = new DeserializableResult(serializer, body, clz);
+                obj = new DeserializableResult(serializer, body, returnType);
             }
         }
+        return createMessage(header, metaMap, obj);
+    }
+
+    /**
+     * Build the check health request or response of the header-only frame
+     *
+     * @param header header
+     * @return request or response
+     */
+    protected Object createCheckHealthMessage(CodecHeader header) {
+        if (header.isRequest()) {
+            RpcCheckHealthRequest request = new RpcCheckHealthRequest(header.getRequestId());
+            request.setProtocolVersion(header.getVersion() == CodecHeader.VERSION_BINARY_META
+                    ? ProtocolVersion.VERSION_2_BINARY_META.getVersion() : ProtocolVersion.VERSION_2.getVersion());
+            request.setSerializerId(header.getSerializerId());
+            return request;
+        }
+        return RpcCheckHealthResponse.of(header.getRequestId());
+    }
+
+    /**
+     * Build the request or response
+     *
+     * @param header  header
+     * @param metaMap meta map
+     * @param obj     {@link DeserializableArgs} for request or {@link DeserializableResult} for response, it may be null
+     * @return request or response
+     */
+    protected Object createMessage(CodecHeader header, Map<String, String> metaMap, Object obj) {
         if (header.isRequest()) {
             // Decode request
             return decodeRequest(header, metaMap, obj);
@@ -206,15 +449,64 @@ public class CodecV2 extends AbstractCodec {
         }
     }
 
+    /**
+     * Decompress the body with the compressor specified in meta, gzip is used if it was absent.
+     * The decompressed body is limited by the same maximum content length as the frame
+     *
+     * @param channel channel
+     * @param metaMap meta map
+     * @param body    compressed body bytes
+     * @return decompressed body bytes
+     * @throws IOException if any exception thrown
+     */
+    protected byte[] decompress(Channel channel, Map<String, String> metaMap, byte[] body) throws IOException {
+        String compressor = metaMap.getOrDefault(ProtocolConstants.COMPRESSOR, ProtocolConstants.COMPRESSOR_VAL_GZIP);
+        int maxContentLength = channel.getProviderUrl().getIntOption(ProtocolConstants.MAX_CONTENT_LENGTH,
+                ProtocolConstants.MAX_CONTENT_LENGTH_VAL_DEFAULT);
+        return Compressor.getInstance(compressor).decompress(body, maxContentLength);
+    }
+
+    /**
+     * Get the return type from meta, the type received along with the ID is cached in the dictionary
+     *
+     * @param metaMap    meta map
+     * @param dictionary per-connection type dictionary, it may be null
+     * @return return type or null if it was absent
+     * @throws ClassNotFoundException if return type class can NOT be found
+     */
+    protected Class<?> getReturnType(Map<String, String> metaMap, TypeDictionary dictionary) throws ClassNotFoundException {
+        String typeName = metaMap.remove(M_RETURN_TYPE);
+        String typeId = metaMap.remove(M_RETURN_TYPE_ID);
+        Class<?> returnType = typeName != null ? MethodParameterUtils.forName(typeName) : null;
+        if (typeId == null || dictionary == null) {
+            return returnType;
+        }
+        int id = Integer.parseInt(typeId);
+        if (returnType != null) {
+            dictionary.register(id, returnType);
+            return returnType;
+        }
+        returnType = dictionary.getType(id);
+        if (returnType == null) {
+            throw new RpcFrameworkException("Found undefined return type ID [" + id + "]");
+        }
+        return returnType;
+    }
+
     private Object decodeRequest(CodecHeader header, Map<String, String> metaMap, Object obj) {
         RpcRequest request = new RpcRequest();
         request.setRequestId(header.getRequestId());
         request.setInterfaceName(metaMap.remove(M_INTERFACE));
         request.setMethodName(metaMap.remove(M_METHOD));
         request.setMethodParameters(metaMap.remove(M_METHOD_PARAMETERS));
+        String methodId = metaMap.remove(M_METHOD_ID);
+        if (methodId != null) {
+            request.setMethodId(Integer.valueOf(methodId));
+        }
         request.setOptions(metaMap);
         // todo: check usage
-        request.setProtocolVersion(ProtocolVersion.VERSION_2.getVersion());
+        request.setProtocolVersion(header.getVersion() == CodecHeader.VERSION_BINARY_META
+                ? ProtocolVersion.VERSION_2_BINARY_META.getVersion() : ProtocolVersion.VERSION_2.getVersion());
         request.setSerializerId(header.getSerializerId());
         if (obj != null) {
             request.setMethodArguments(new Object[]{obj});
@@ -239,24 +531,61 @@ public class CodecV2 extends AbstractCodec {
         return response;
     }
 
-    private void putString(GrowableByteBuffer buf, String content) {
-        buf.put(content.getBytes(StandardCharsets.UTF_8));
-        buf.put("\n".getBytes(StandardCharsets.UTF_8));
+    protected void putMeta(GrowableByteBuffer buf, CodecHeader header, String key, String value) {
+        if (header.getVersion() == CodecHeader.VERSION_BINARY_META) {
+            BinaryMeta.put(buf, key, value);
+        } else {
+            putString(buf, key);
+            putString(buf, value);
+        }
+    }
+
+    /**
+     * Append the entry to the meta which has been encoded by {@link #encodeMeta}
+     *
+     * @param buf    meta buffer
+     * @param header header
+     * @param key    key
+     * @param value  value
+     */
+    private void appendMeta(GrowableByteBuffer buf, CodecHeader header, String key, String value) {
+        if (header.getVersion() == CodecHeader.VERSION_BINARY_META) {
+            BinaryMeta.put(buf, key, value);
+            return;
+        }
+        // Restore the delimiter dropped after the last entry, the encoded meta is never empty
+        buf.put(DELIMITER);
+        putMeta(buf, header, key, value);
+        buf.position(buf.position() - 1);
     }
 
-    private void putMap(GrowableByteBuffer buf, Map<String, String> map) {
+    private void putMetaMap(GrowableByteBuffer buf, CodecHeader header, Map<String, String> map) {
         if (MapUtils.isNotEmpty(map)) {
             for (Map.Entry<String, String> entry : map.entrySet()) {
-                putString(buf, entry.getKey());
-                putString(buf, entry.getValue());
+                putMeta(buf, header, entry.getKey(), entry.getValue());
             }
         }
     }
 
-    private Map<String, String> decodeMeta(byte[] meta) {
+    private void putString(GrowableByteBuffer buf, String content) {
+        buf.put(content.getBytes(StandardCharsets.UTF_8));
+        buf.put(DELIMITER);
+    }
+
+    /**
+     * Decode the meta based on the meta format of header
+     *
+     * @param header header
+     * @param meta   meta buffer, the remaining bytes are the meta section
+     * @return meta map
+     */
+    protected Map<String, String> decodeMeta(CodecHeader header, ByteBuffer meta) {
+        if (header.getVersion() == CodecHeader.VERSION_BINARY_META) {
+            return BinaryMeta.decode(meta);
+        }
         Map<String, String> map = new HashMap<>();
-        if (ArrayUtils.isNotEmpty(meta)) {
-            String[] s = new String(meta).split("\n");
+        if (meta.hasRemaining()) {
+            String[] s = StandardCharsets.UTF_8.decode(meta).toString().split("\n");
             for (int i = 0; i < s.length - 1; i++) {
                 map.put(s[i++], s[i]);
             }
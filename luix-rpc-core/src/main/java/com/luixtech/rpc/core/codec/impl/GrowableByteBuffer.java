@@ -2,6 +2,7 @@ package com.luixtech.rpc.core.codec.impl;
 
 import com.luixtech.rpc.core.exception.impl.RpcInvocationException;
 
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 
 public class GrowableByteBuffer {
@@ -46,6 +47,30 @@ public class GrowableByteBuffer {
         buf.put(b);
     }
 
+    public void put(byte[] b, int offset, int length) {
+        ensureBufferEnough(length);
+        buf.put(b, offset, length);
+    }
+
+    /**
+     * Get the output stream which writes to the current position of this buffer
+     *
+     * @return output stream
+     */
+    public OutputStream asOutputStream() {
+        return new OutputStream() {
+            @Override
+            public void write(int b) {
+                put((byte) b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                put(b, off, len);
+            }
+        };
+    }
+
     public void putShort(short value) {
         ensureBufferEnough(2);
         buf.putShort(value);
@@ -219,6 +244,15 @@ public class GrowableByteBuffer {
         buf.clear();
     }
 
+    /**
+     * Get the backing array, the valid content is from index 0 to {@link #position()}
+     *
+     * @return backing array
+     */
+    public byte[] array() {
+        return buf.array();
+    }
+
     private ByteBuffer grow(int size) {
         ByteBuffer buffer = ByteBuffer.allocate(size);
         buffer.put(buf.array());
@@ -0,0 +1,117 @@
+package com.luixtech.rpc.core.codec.impl;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-connection dictionary of the result type names.
+ * The sender assigns an ID to the type when it is sent first time and sends the name along with the ID,
+ * once the message which carries the definition has been written to the connection only the ID is sent.
+ * The receiver caches the class by ID.
+ */
+@ThreadSafe
+public class TypeDictionary {
+    /**
+     * Maximum types per connection, the type name is always sent once it was exceeded
+     */
+    public static final int                      MAX_SIZE           = 1024;
+    /**
+     * Sender side: type to ID map
+     */
+    private final       Map<Class<?>, Integer>   typeToId           = new ConcurrentHashMap<>();
+    /**
+     * Sender side: IDs whose definitions have been written to the connection
+     */
+    private final       Set<Integer>             definedIds         = ConcurrentHashMap.newKeySet();
+    /**
+     * Sender side: request ID to the ID of type defined by the message which is NOT written yet
+     */
+    private final       Map<Long, Integer>       pendingDefinitions = new ConcurrentHashMap<>();
+    private final       AtomicInteger            nextId             = new AtomicInteger();
+    /**
+     * Receiver side: ID to type map
+     */
+    private final       Map<Integer, Class<?>>   idToType           = new ConcurrentHashMap<>();
+
+    /**
+     * Get or assign the ID of the type
+     *
+     * @param type type
+     * @return type ID or -1 if the dictionary is full
+     */
+    public int getId(Class<?> type) {
+        Integer id = typeToId.get(type);
+        if (id == null) {
+            if (typeToId.size() >= MAX_SIZE) {
+                return -1;
+            }
+            id = typeToId.computeIfAbsent(type, k -> nextId.getAndIncrement());
+        }
+        return id;
+    }
+
+    /**
+     * Check whether the definition of the type ID has been written to the connection
+     *
+     * @param id type ID
+     * @return {@code true} if it was defined and {@code false} otherwise
+     */
+    public boolean isDefined(int id) {
+        return definedIds.contains(id);
+    }
+
+    /**
+     * Record the type ID defined by the message which is being sent
+     *
+     * @param requestId request ID of the message
+     * @param id        type ID
+     */
+    public void addPendingDefinition(long requestId, int id) {
+        pendingDefinitions.put(requestId, id);
+    }
+
+    /**
+     * Discard the pending definition if the message was NOT sent, e.g. failed to encode
+     *
+     * @param requestId request ID of the message
+     */
+    public void removePendingDefinition(long requestId) {
+        pendingDefinitions.remove(requestId);
+    }
+
+    /**
+     * Called after the message has been written to the connection
+     *
+     * @param requestId request ID of the message
+     * @param success   whether the message was written successfully
+     */
+    public void onWritten(long requestId, boolean success) {
+        Integer id = pendingDefinitions.remove(requestId);
+        if (id != null && success) {
+            definedIds.add(id);
+        }
+    }
+
+    /**
+     * Cache the type received from the peer
+     *
+     * @param id   type ID
+     * @param type type
+     */
+    public void register(int id, Class<?> type) {
+        idToType.put(id, type);
+    }
+
+    /**
+     * Get the type received from the peer
+     *
+     * @param id type ID
+     * @return type or null if it was NOT defined
+     */
+    public Class<?> getType(int id) {
+        return idToType.get(id);
+    }
+}
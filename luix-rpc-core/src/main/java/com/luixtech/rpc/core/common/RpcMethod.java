@@ -29,4 +29,22 @@ public @interface RpcMethod {
      * @return max retry count
      */
     String retryCount() default "";
+
+    /**
+     * Indicates whether the provider method can be executed on IO thread instead of the worker thread pool,
+     * it is only suitable for the fast method which never blocks
+     * Format: boolean
+     *
+     * @return {@code true} if it is IO thread safe
+     */
+    String ioThreadSafe() default "";
+
+    /**
+     * The max concurrent requests of the provider method including the ones waiting in the work queue,
+     * it takes precedence over the one of the provider
+     * Format: integer
+     *
+     * @return max concurrent requests
+     */
+    String maxConcurrentRequests() default "";
 }
@@ -33,6 +33,11 @@ public class ConsumerConfig extends ServiceConfig {
      */
     @NotEmpty
     private             String  proxyFactory     = ConsumerConstants.PROXY_VAL_DEFAULT;
+    /**
+     * Copy policy of the arguments and result when calling the provider in the same JVM directly
+     */
+    @NotEmpty
+    private             String  localCopy        = ConsumerConstants.LOCAL_COPY_VAL_DEFAULT;
     /**
      * Indicates whether rate limit enabled or not
      */
@@ -1,6 +1,7 @@
 package com.luixtech.rpc.core.config.impl;
 
 import com.luixtech.rpc.core.codec.Codec;
+import com.luixtech.rpc.core.codec.compressor.Compressor;
 import com.luixtech.rpc.core.config.Configurable;
 import com.luixtech.rpc.core.constant.ProtocolConstants;
 import com.luixtech.rpc.core.exception.impl.RpcConfigException;
@@ -10,9 +11,11 @@ import com.luixtech.rpc.core.utils.RpcConfigValidator;
 import com.luixtech.rpc.core.utils.SerializerHolder;
 import com.luixtech.rpc.serializer.Serializer;
 import com.luixtech.utilities.network.AddressUtils;
+import com.luixtech.utilities.serviceloader.ServiceLoader;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -50,15 +53,69 @@ public class ProtocolConfig implements Configurable {
      * Serializer used to encode request or deserializer used to decode response
      */
     private             String  serializer;
+    /**
+     * Compressor used to compress the message body, the body will NOT be compressed if it was empty.
+     * The consumer which does NOT specify the compressor exchanges the body compressed by gzip with the provider
+     */
+    private             String  compressor;
+    /**
+     * Minimum message body size in bytes to be compressed
+     */
+    @Positive
+    private             Integer minCompressSize;
+    /**
+     * Indicator used to tell the consumers that the provider accepts the requests with binary meta,
+     * it must NOT be enabled until all the providers of the service have been upgraded.
+     * Compression, method ID and header-only check health frame only work on binary meta
+     */
+    private             Boolean binaryMeta;
     /**
      * Factory used to create client and server
      */
     private             String  endpointFactory;
+    /**
+     * Netty transport: nio, epoll, io_uring or auto, it falls back to nio if the native transport is unavailable
+     */
+    private             String  transport;
+    /**
+     * Indicator used to enable TCP_QUICKACK, it only works on native transport
+     */
+    private             Boolean tcpQuickAck;
+    /**
+     * Indicator used to enable SO_REUSEPORT on server side, it only works on native transport
+     */
+    private             Boolean reusePort;
+    /**
+     * Indicator used to decide whether to use edge-triggered or level-triggered mode, it only works on epoll transport
+     */
+    private             Boolean edgeTriggered;
+    /**
+     * Path of the unix domain socket which is listened by server besides the TCP port,
+     * the consumers on the same host connect to it instead of TCP loopback, it only works on epoll transport.
+     * The stale socket file is removed when server starts, so the path must NOT be shared by the servers of different ports
+     */
+    private             String  domainSocket;
     /**
      * Minimum client channel count used to handle RPC request
      */
 //    @Positive
     private             Integer minClientConn;
+    /**
+     * Maximum client channel count, the channels are added when the pending requests per channel exceed the threshold,
+     * and they are closed when idle
+     */
+    @Positive
+    private             Integer maxClientConn;
+    /**
+     * Pending requests per client channel used to decide whether to add a channel
+     */
+    @Positive
+    private             Integer clientConnExpandThreshold;
+    /**
+     * Idle time in milliseconds before closing the client channel which exceeds the minimum client channel size
+     */
+    @Positive
+    private             Integer clientConnIdleTime;
     /**
      * Allowed maximum client connecting failure count
      */
@@ -71,6 +128,25 @@ public class ProtocolConfig implements Configurable {
      * Allowed maximum response size in bytes
      */
     private             Integer maxContentLength;
+    /**
+     * The frame which is larger than the chunk size will be split into chunks, 0 means disabled
+     */
+    @PositiveOrZero
+    private             Integer chunkSize;
+    /**
+     * The channel becomes unwritable when the outbound buffer size in bytes exceeds the high water mark,
+     * and it becomes writable again when the size drops below the low water mark
+     */
+    @Positive
+    private             Integer writeBufferLowWaterMark;
+    @Positive
+    private             Integer writeBufferHighWaterMark;
+    /**
+     * Maximum flushes consolidated into one flush, the pending flushes are also flushed when the event loop runs out of work,
+     * 0 means every message is flushed immediately
+     */
+    @PositiveOrZero
+    private             Integer flushConsolidation;
     /**
      * Minimum thread pool size on server side
      */
@@ -83,10 +159,30 @@ public class ProtocolConfig implements Configurable {
      * Thread pool work queue size on server side
      */
     private             Integer workQueueSize;
+    /**
+     * Policy used when the thread pool on server side is overloaded: reject or backpressure,
+     * reject: respond the requests with the rejection errors once the thread pool is full,
+     * backpressure: stop reading the connections which keep sending requests until the thread pool drains
+     */
+    private             String  overloadPolicy;
+    /**
+     * Executor of the requests on server side: platform or virtual,
+     * platform: execute the requests on the bounded platform thread pool,
+     * virtual: execute each request on a new virtual thread, it falls back to platform if the JVM is older than 21
+     */
+    private             String  executor;
+    /**
+     * Maximum concurrent requests executed on the virtual threads on server side
+     */
+    private             Integer maxVirtualThread;
     /**
      * Indicator used to decide whether multiple servers share the same channel
      */
     private             Boolean sharedChannel;
+    /**
+     * Indicator used to decide whether the consumers of the different interfaces share the connections to the same provider address
+     */
+    private             Boolean sharedClient;
     /**
      * Indicator used to decide whether initialize client connection asynchronously
      */
@@ -123,11 +219,36 @@ public class ProtocolConfig implements Configurable {
                     .orElseThrow(() -> new RpcConfigException(String.format("Failed to load the serializer [%s]!", serializer)));
         }
 
+        if (StringUtils.isNotEmpty(compressor)) {
+            Optional.ofNullable(ServiceLoader.forClass(Compressor.class).load(compressor))
+                    .orElseThrow(() -> new RpcConfigException(String.format("Failed to load the compressor [%s]!", compressor)));
+        }
+
         if (StringUtils.isNotEmpty(endpointFactory)) {
             Optional.ofNullable(NetworkTransmissionFactory.getInstance(endpointFactory))
                     .orElseThrow(() -> new RpcConfigException(String.format("Failed to load the endpoint factory [%s]!", endpointFactory)));
         }
 
+        if (StringUtils.isNotEmpty(transport)) {
+            RpcConfigValidator.isTrue(ProtocolConstants.TRANSPORTS.contains(transport),
+                    String.format("Please specify a valid transport of %s!", ProtocolConstants.TRANSPORTS));
+        }
+
+        if (StringUtils.isNotEmpty(overloadPolicy)) {
+            RpcConfigValidator.isTrue(ProtocolConstants.OVERLOAD_POLICIES.contains(overloadPolicy),
+                    String.format("Please specify a valid overload policy of %s!", ProtocolConstants.OVERLOAD_POLICIES));
+        }
+
+        if (StringUtils.isNotEmpty(executor)) {
+            RpcConfigValidator.isTrue(ProtocolConstants.EXECUTORS.contains(executor),
+                    String.format("Please specify a valid executor of %s!", ProtocolConstants.EXECUTORS));
+        }
+
+        if (writeBufferLowWaterMark != null && writeBufferHighWaterMark != null) {
+            RpcConfigValidator.isTrue(writeBufferLowWaterMark <= writeBufferHighWaterMark,
+                    "Please specify a write buffer low water mark which is NOT greater than the high water mark!");
+        }
+
         if (StringUtils.isNotEmpty(host)) {
             RpcConfigValidator.isTrue(AddressUtils.isValidIp(host), "Please specify a valid host!");
         }
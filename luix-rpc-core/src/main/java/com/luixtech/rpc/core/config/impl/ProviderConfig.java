@@ -1,5 +1,6 @@
 package com.luixtech.rpc.core.config.impl;
 
+import jakarta.validation.constraints.Min;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +18,11 @@ public class ProviderConfig extends ServiceConfig {
      * Indicates whether all the providers were exposed to registry automatically
      */
     private             boolean autoExpose = true;
+    /**
+     * The default max concurrent requests of each provider, 0 means unlimited
+     */
+    @Min(value = 0, message = "The [maxConcurrentRequests] property must NOT be a negative number!")
+    private             Integer maxConcurrentRequests;
 
     public void init() {
         log.info("Luix provider configuration: {}", this);
@@ -23,4 +23,9 @@ public interface ConsumerConstants extends ServiceConstants {
     String PROXY_VAL_JDK                 = "jdk";
     String PROXY_VAL_JAVASSIST           = "javassist";
     String PROXY_VAL_DEFAULT             = PROXY_VAL_JDK;
+    String LOCAL_COPY                    = "localCopy";
+    String LOCAL_COPY_VAL_NONE           = "none";
+    String LOCAL_COPY_VAL_KRYO           = "kryo";
+    String LOCAL_COPY_VAL_SERIALIZE      = "serialize";
+    String LOCAL_COPY_VAL_DEFAULT        = LOCAL_COPY_VAL_NONE;
 }
@@ -7,42 +7,95 @@ import static com.luixtech.rpc.serializer.Serializer.*;
 
 public interface ProtocolConstants {
 
-    String       PROTOCOL                              = "protocol";
-    String       PROTOCOL_VAL_LUIX                     = "luix";
-    String       PROTOCOL_VAL_JVM                      = "jvm";
-    String       PROTOCOL_VAL_DEFAULT                  = PROTOCOL_VAL_LUIX;
-    String       CODEC                                 = "codec";
-    String       CODEC_VAL_V1                          = "v1";
-    String       CODEC_VAL_V2                          = "v2";
-    String       CODEC_VAL_DEFAULT                     = CODEC_VAL_V2;
-    String       SERIALIZER                            = "serializer";
-    String       SERIALIZER_VAL_DEFAULT                = SERIALIZER_NAME_HESSIAN2;
-    int          SERIALIZER_ID_DEFAULT                 = SERIALIZER_ID_HESSIAN2;
-    List<String> SERIALIZERS                           = Arrays.asList(SERIALIZER_NAME_KRYO, SERIALIZER_NAME_HESSIAN2);
-    String       NETWORK_TRANSMISSION                  = "transmission";
-    String       NETWORK_TRANSMISSION_VAL_NETTY        = "netty";
-    String       SHARED_SERVER                         = "sharedServer";
-    boolean      SHARED_SERVER_VAL_DEFAULT             = true;
-    String       MIN_CLIENT_CONN                       = "minClientConn";
-    int          MIN_CLIENT_CONN_VAL_DEFAULT           = 2;
-    String       MAX_CLIENT_FAILED_CONN                = "maxClientFailedConn";
-    int          MAX_CLIENT_FAILED_CONN_VAL_DEFAULT    = 10;
-    String       MAX_SERVER_CONN                       = "maxServerConn";
-    int          MAX_SERVER_CONN_VAL_DEFAULT           = 100_000;
-    String       MAX_CONTENT_LENGTH                    = "maxContentLength";
-    int          MAX_CONTENT_LENGTH_VAL_DEFAULT        = 10 * 1024 * 1024; // 10M
-    String       MIN_THREAD                            = "minThread";
-    int          MIN_THREAD_VAL_DEFAULT                = 20;
-    int          MIN_THREAD_SHARED_CHANNEL_VAL_DEFAULT = 40;
-    String       MAX_THREAD                            = "maxThread";
-    int          MAX_THREAD_VAL_DEFAULT                = 200;
-    int          MAX_THREAD_SHARED_CHANNEL_VAL_DEFAULT = 800;
-    String       WORK_QUEUE_SIZE                       = "workQueueSize";
-    int          WORK_QUEUE_SIZE_VAL_DEFAULT           = 0;
-    String       ASYNC_CREATE_CONN                     = "asyncCreateConn";
-    boolean      ASYNC_CREATE_CONN_VAL_DEFAULT         = false;
-    String       THROW_EXCEPTION                       = "throwException";
-    boolean      THROW_EXCEPTION_VAL_DEFAULT           = true;
-    String       TRANS_EXCEPTION_STACK                 = "transExceptionStack";
-    boolean      TRANS_EXCEPTION_STACK_VAL_DEFAULT     = true;
+    String       PROTOCOL                                 = "protocol";
+    String       PROTOCOL_VAL_LUIX                        = "luix";
+    String       PROTOCOL_VAL_JVM                         = "jvm";
+    String       PROTOCOL_VAL_DEFAULT                     = PROTOCOL_VAL_LUIX;
+    String       CODEC                                    = "codec";
+    String       CODEC_VAL_V1                             = "v1";
+    String       CODEC_VAL_V2                             = "v2";
+    String       CODEC_VAL_V3                             = "v3";
+    String       CODEC_VAL_DEFAULT                        = CODEC_VAL_V2;
+    String       SERIALIZER                               = "serializer";
+    String       SERIALIZER_VAL_DEFAULT                   = SERIALIZER_NAME_HESSIAN2;
+    int          SERIALIZER_ID_DEFAULT                    = SERIALIZER_ID_HESSIAN2;
+    List<String> SERIALIZERS                              = Arrays.asList(SERIALIZER_NAME_KRYO, SERIALIZER_NAME_HESSIAN2);
+    String       COMPRESSOR                               = "compressor";
+    String       COMPRESSOR_VAL_GZIP                      = "gzip";
+    String       COMPRESSOR_VAL_LZ4                       = "lz4";
+    String       COMPRESSOR_VAL_ZSTD                      = "zstd";
+    List<String> COMPRESSORS                              = Arrays.asList(COMPRESSOR_VAL_GZIP, COMPRESSOR_VAL_LZ4, COMPRESSOR_VAL_ZSTD);
+    String       MIN_COMPRESS_SIZE                        = "minCompressSize";
+    int          MIN_COMPRESS_SIZE_VAL_DEFAULT            = 2048;
+    String       BINARY_META                              = "binaryMeta";
+    boolean      BINARY_META_VAL_DEFAULT                  = false;
+    String       NETWORK_TRANSMISSION                     = "transmission";
+    String       NETWORK_TRANSMISSION_VAL_NETTY           = "netty";
+    String       TRANSPORT                                = "transport";
+    String       TRANSPORT_VAL_NIO                        = "nio";
+    String       TRANSPORT_VAL_EPOLL                      = "epoll";
+    String       TRANSPORT_VAL_IO_URING                   = "io_uring";
+    String       TRANSPORT_VAL_AUTO                       = "auto";
+    String       TRANSPORT_VAL_DEFAULT                    = TRANSPORT_VAL_AUTO;
+    List<String> TRANSPORTS                               = Arrays.asList(TRANSPORT_VAL_NIO, TRANSPORT_VAL_EPOLL, TRANSPORT_VAL_IO_URING, TRANSPORT_VAL_AUTO);
+    String       TCP_QUICK_ACK                            = "tcpQuickAck";
+    boolean      TCP_QUICK_ACK_VAL_DEFAULT                = false;
+    String       REUSE_PORT                               = "reusePort";
+    boolean      REUSE_PORT_VAL_DEFAULT                   = false;
+    String       EDGE_TRIGGERED                           = "edgeTriggered";
+    boolean      EDGE_TRIGGERED_VAL_DEFAULT               = true;
+    String       DOMAIN_SOCKET                            = "domainSocket";
+    String       SHARED_SERVER                            = "sharedServer";
+    boolean      SHARED_SERVER_VAL_DEFAULT                = true;
+    String       SHARED_CLIENT                            = "sharedClient";
+    boolean      SHARED_CLIENT_VAL_DEFAULT                = true;
+    String       MIN_CLIENT_CONN                          = "minClientConn";
+    int          MIN_CLIENT_CONN_VAL_DEFAULT              = 2;
+    String       MAX_CLIENT_CONN                          = "maxClientConn";
+    int          MAX_CLIENT_CONN_VAL_DEFAULT              = 8;
+    String       CLIENT_CONN_EXPAND_THRESHOLD             = "clientConnExpandThreshold";
+    int          CLIENT_CONN_EXPAND_THRESHOLD_VAL_DEFAULT = 200;
+    String       CLIENT_CONN_IDLE_TIME                    = "clientConnIdleTime";
+    int          CLIENT_CONN_IDLE_TIME_VAL_DEFAULT        = 60_000; // 60s
+    String       MAX_CLIENT_FAILED_CONN                   = "maxClientFailedConn";
+    int          MAX_CLIENT_FAILED_CONN_VAL_DEFAULT       = 10;
+    String       MAX_SERVER_CONN                          = "maxServerConn";
+    int          MAX_SERVER_CONN_VAL_DEFAULT              = 100_000;
+    String       MAX_CONTENT_LENGTH                       = "maxContentLength";
+    int          MAX_CONTENT_LENGTH_VAL_DEFAULT           = 10 * 1024 * 1024; // 10M
+    String       CHUNK_SIZE                               = "chunkSize";
+    int          CHUNK_SIZE_VAL_DEFAULT                   = 0; // Disabled
+    int          MAX_CHUNKED_CONTENT_LENGTH               = 512 * 1024 * 1024; // 512M in total per connection
+    String       WRITE_BUFFER_LOW_WATER_MARK              = "writeBufferLowWaterMark";
+    int          WRITE_BUFFER_LOW_WATER_MARK_VAL_DEFAULT  = 512 * 1024; // 512K
+    String       WRITE_BUFFER_HIGH_WATER_MARK             = "writeBufferHighWaterMark";
+    int          WRITE_BUFFER_HIGH_WATER_MARK_VAL_DEFAULT = 1024 * 1024; // 1M
+    String       FLUSH_CONSOLIDATION                      = "flushConsolidation";
+    int          FLUSH_CONSOLIDATION_VAL_DEFAULT          = 256; // 0 means disabled
+    String       MIN_THREAD                               = "minThread";
+    int          MIN_THREAD_VAL_DEFAULT                   = 20;
+    int          MIN_THREAD_SHARED_CHANNEL_VAL_DEFAULT    = 40;
+    String       MAX_THREAD                               = "maxThread";
+    int          MAX_THREAD_VAL_DEFAULT                   = 200;
+    int          MAX_THREAD_SHARED_CHANNEL_VAL_DEFAULT    = 800;
+    String       WORK_QUEUE_SIZE                          = "workQueueSize";
+    int          WORK_QUEUE_SIZE_VAL_DEFAULT              = 0;
+    String       OVERLOAD_POLICY                          = "overloadPolicy";
+    String       OVERLOAD_POLICY_VAL_REJECT               = "reject";
+    String       OVERLOAD_POLICY_VAL_BACKPRESSURE         = "backpressure";
+    String       OVERLOAD_POLICY_VAL_DEFAULT              = OVERLOAD_POLICY_VAL_REJECT;
+    List<String> OVERLOAD_POLICIES                        = Arrays.asList(OVERLOAD_POLICY_VAL_REJECT, OVERLOAD_POLICY_VAL_BACKPRESSURE);
+    String       EXECUTOR                                 = "executor";
+    String       EXECUTOR_VAL_PLATFORM                    = "platform";
+    String       EXECUTOR_VAL_VIRTUAL                     = "virtual";
+    String       EXECUTOR_VAL_DEFAULT                     = EXECUTOR_VAL_PLATFORM;
+    List<String> EXECUTORS                                = Arrays.asList(EXECUTOR_VAL_PLATFORM, EXECUTOR_VAL_VIRTUAL);
+    String       MAX_VIRTUAL_THREAD                       = "maxVirtualThread";
+    int          MAX_VIRTUAL_THREAD_VAL_DEFAULT           = 10_000;
+    String       ASYNC_CREATE_CONN                        = "asyncCreateConn";
+    boolean      ASYNC_CREATE_CONN_VAL_DEFAULT            = false;
+    String       THROW_EXCEPTION                          = "throwException";
+    boolean      THROW_EXCEPTION_VAL_DEFAULT              = true;
+    String       TRANS_EXCEPTION_STACK                    = "transExceptionStack";
+    boolean      TRANS_EXCEPTION_STACK_VAL_DEFAULT        = true;
 }
@@ -2,6 +2,7 @@ package com.luixtech.rpc.core.exchange;
 
 import com.luixtech.rpc.core.client.request.Requestable;
 import com.luixtech.rpc.core.server.response.Responseable;
+import com.luixtech.rpc.core.utils.RpcFrameworkUtils;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -10,17 +11,17 @@ import java.util.HashMap;
 import java.util.Map;
 
 /**
- * 感觉鸡肋，没啥用，只有在日志trace输出才有些用，而且response都没有存储值
+ * Context of the request being processed on server side, it is bound to the thread executing the provider method,
+ * so the nested RPC calls made by the provider can inherit the remaining time budget of the request
  */
 @ThreadSafe
 @Setter
 @Getter
-@Deprecated
 public class RpcContext {
     /**
-     * Create a new {@link RpcContext} for each thread
+     * Create a new {@link RpcContext} for each thread on demand
      */
-    private static final ThreadLocal<RpcContext> THREAT_LOCAL_CONTEXT = ThreadLocal.withInitial(RpcContext::new);
+    private static final ThreadLocal<RpcContext> THREAT_LOCAL_CONTEXT = new ThreadLocal<>();
     private              long                    requestId;
     private              Requestable             request;
     private              Responseable            response;
@@ -32,6 +33,10 @@ public class RpcContext {
      * Attributes is a container used to store {@link Object} types
      */
     private              Map<Object, Object>     attributes           = new HashMap<>();
+    /**
+     * Absolute deadline in milliseconds of the request, 0 means no deadline
+     */
+    private              long                    deadline;
 
     /**
      * Prevent instantiation of it outside the class
@@ -40,6 +45,20 @@ public class RpcContext {
     }
 
     public static RpcContext getInstance() {
+        RpcContext context = THREAT_LOCAL_CONTEXT.get();
+        if (context == null) {
+            context = new RpcContext();
+            THREAT_LOCAL_CONTEXT.set(context);
+        }
+        return context;
+    }
+
+    /**
+     * Get the context bound to the current thread without creating one
+     *
+     * @return RPC context or null if absent
+     */
+    public static RpcContext current() {
         return THREAT_LOCAL_CONTEXT.get();
     }
 
@@ -53,11 +72,24 @@ public class RpcContext {
         RpcContext context = new RpcContext();
         if (request != null) {
             context.setRequest(request);
+            context.setDeadline(RpcFrameworkUtils.getDeadline(request));
         }
         THREAT_LOCAL_CONTEXT.set(context);
         return context;
     }
 
+    /**
+     * Get the remaining time budget of the request
+     *
+     * @return remaining milliseconds, 0 if the deadline has passed or -1 if there is no deadline
+     */
+    public long getRemainingTime() {
+        if (deadline <= 0) {
+            return -1;
+        }
+        return Math.max(0, deadline - System.currentTimeMillis());
+    }
+
     public void addOption(String key, String value) {
         options.put(key, value);
     }
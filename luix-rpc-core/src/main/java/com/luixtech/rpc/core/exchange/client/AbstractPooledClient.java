@@ -7,12 +7,12 @@ import com.luixtech.rpc.core.url.Url;
 import com.luixtech.utilities.lang.MathUtils;
 import com.luixtech.utilities.thread.pool.NetworkThreadPoolExecutor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
 
@@ -29,27 +29,50 @@ public abstract class AbstractPooledClient extends AbstractClient {
      */
     private              SharedObjectFactory<Channel> factory;
     /**
-     * Channel size
+     * Minimum channel size
      */
-    private final        int                          channelSize;
+    private final        int                          minChannelSize;
     /**
-     * Channels
+     * Maximum channel size
      */
-    private              List<Channel>                channels;
+    private final        int                          maxChannelSize;
+    /**
+     * Pending requests per channel used to decide whether to add a channel
+     */
+    private final        int                          expandThreshold;
+    /**
+     * Idle time in milliseconds before closing the channel which exceeds the minimum channel size
+     */
+    private final        long                         idleTime;
+    /**
+     * Channels, it is copied on write because the channels are rarely added or removed
+     */
+    private final        List<Channel>                channels            = new CopyOnWriteArrayList<>();
+    /**
+     * Channels removed from the pool, they are closed after the pending requests complete
+     */
+    private final        List<Channel>                retiredChannels     = new CopyOnWriteArrayList<>();
     /**
      * Channel index
      */
     private final        AtomicInteger                idx                 = new AtomicInteger();
+    /**
+     * Indicator used to prevent resizing the pool concurrently
+     */
+    private final        AtomicBoolean                resizing            = new AtomicBoolean();
+    private volatile     long                         lastBusyTime        = System.currentTimeMillis();
 
     public AbstractPooledClient(Url providerUrl) {
         super(providerUrl);
-        channelSize = providerUrl.getIntOption(ProtocolConstants.MIN_CLIENT_CONN, ProtocolConstants.MIN_CLIENT_CONN_VAL_DEFAULT);
+        minChannelSize = providerUrl.getIntOption(ProtocolConstants.MIN_CLIENT_CONN, ProtocolConstants.MIN_CLIENT_CONN_VAL_DEFAULT);
+        maxChannelSize = Math.max(minChannelSize, providerUrl.getIntOption(ProtocolConstants.MAX_CLIENT_CONN, ProtocolConstants.MAX_CLIENT_CONN_VAL_DEFAULT));
+        expandThreshold = providerUrl.getIntOption(ProtocolConstants.CLIENT_CONN_EXPAND_THRESHOLD, ProtocolConstants.CLIENT_CONN_EXPAND_THRESHOLD_VAL_DEFAULT);
+        idleTime = providerUrl.getIntOption(ProtocolConstants.CLIENT_CONN_IDLE_TIME, ProtocolConstants.CLIENT_CONN_IDLE_TIME_VAL_DEFAULT);
     }
 
     protected void createConnectionPool() {
         factory = createChannelFactory();
-        channels = new ArrayList<>(channelSize);
-        IntStream.range(0, channelSize).forEach(x -> channels.add(factory.buildObject()));
+        IntStream.range(0, minChannelSize).forEach(x -> channels.add(factory.buildObject()));
         boolean asyncCreate = providerUrl.getBooleanOption(ProtocolConstants.ASYNC_CREATE_CONN, ProtocolConstants.ASYNC_CREATE_CONN_VAL_DEFAULT);
         createConnections(asyncCreate);
     }
@@ -72,28 +95,123 @@ public abstract class AbstractPooledClient extends AbstractClient {
         }
     }
 
+    /**
+     * Select the active channel with the fewest pending requests, the writable channel takes precedence,
+     * and the channels with the same load are selected in round-robin order
+     *
+     * @return channel
+     */
     protected Channel getChannel() {
+        int size = channels.size();
         int index = MathUtils.getRangedNonNegativeVal(idx.getAndIncrement());
-        Channel channel;
+        Channel selected = null;
+        int selectedPending = Integer.MAX_VALUE;
+        boolean selectedWritable = false;
+        int totalPending = 0;
 
-        for (int i = index; i < channelSize + 1 + index; i++) {
-            channel = channels.get(i % channelSize);
+        for (int i = index; i < size + index; i++) {
+            Channel channel;
+            try {
+                channel = channels.get(i % size);
+            } catch (IndexOutOfBoundsException e) {
+                // The channel was removed concurrently
+                break;
+            }
             if (!channel.isActive()) {
-                factory.rebuildObject(channel, i != channelSize + 1);
+                factory.rebuildObject(channel, true);
+                continue;
             }
-            if (channel.isActive()) {
-                return channel;
+            boolean writable = isWritable(channel);
+            int pending = getPendingRequestCount(channel);
+            totalPending += pending;
+            if (selected == null || (writable && !selectedWritable)
+                    || (writable == selectedWritable && pending < selectedPending)) {
+                selected = channel;
+                selectedPending = pending;
+                selectedWritable = writable;
             }
         }
-        String errorMsg = "Failed to get channel for url [" + providerUrl.getUri() + "]";
-        throw new RpcFrameworkException(errorMsg);
+        if (selected == null) {
+            String errorMsg = "Failed to get channel for url [" + providerUrl.getUri() + "]";
+            throw new RpcFrameworkException(errorMsg);
+        }
+        resizeIfNecessary(size, selectedPending, totalPending);
+        if (!selectedWritable) {
+            // Fail fast instead of queuing more requests in the outbound buffers, the request can be retried on another provider
+            throw new RpcFrameworkException("No writable channel found for url [" + providerUrl.getUri()
+                    + "], the outbound buffers of all the channels exceed the high water mark");
+        }
+        return selected;
     }
 
-    protected void closeAllChannels() {
-        if (CollectionUtils.isEmpty(channels)) {
-            return;
+    /**
+     * Add a channel if even the least loaded channel reaches the expand threshold, or remove a channel
+     * if the pending requests of all the channels could be carried by one channel less for an idle period
+     *
+     * @param size         channel size
+     * @param minPending   pending request count of the least loaded channel
+     * @param totalPending pending request count of all the channels
+     */
+    private void resizeIfNecessary(int size, int minPending, int totalPending) {
+        long now = System.currentTimeMillis();
+        if (totalPending > (size - 1) * (long) expandThreshold / 2) {
+            // The remaining channels would be loaded over half of the expand threshold on average after removing one
+            lastBusyTime = now;
+        }
+        if (minPending >= expandThreshold && size < maxChannelSize) {
+            // Even the least loaded channel is busy
+            if (resizing.compareAndSet(false, true)) {
+                NETWORK_THREAD_POOL.execute(this::addChannel);
+            }
+        } else if (now - lastBusyTime > idleTime && (size > minChannelSize || !retiredChannels.isEmpty())) {
+            if (resizing.compareAndSet(false, true)) {
+                try {
+                    removeIdleChannel(now);
+                } finally {
+                    resizing.set(false);
+                }
+            }
+        }
+    }
+
+    private void addChannel() {
+        try {
+            Channel channel = factory.buildObject();
+            if (channel.open()) {
+                if (isClosed()) {
+                    channel.close();
+                    return;
+                }
+                channels.add(channel);
+                log.info("Added channel for url [{}] and current channel size is {}", providerUrl.getUri(), channels.size());
+            }
+        } catch (Exception e) {
+            log.error("Failed to add channel for url [" + providerUrl.getUri() + "]", e);
+        } finally {
+            resizing.set(false);
+        }
+    }
+
+    private void removeIdleChannel(long now) {
+        // The retired channels have been out of the pool for an idle period, so no request will be sent to them
+        for (Channel channel : retiredChannels) {
+            if (getPendingRequestCount(channel) == 0) {
+                retiredChannels.remove(channel);
+                channel.close();
+            }
+        }
+        if (channels.size() > minChannelSize) {
+            Channel channel = channels.remove(channels.size() - 1);
+            retiredChannels.add(channel);
+            log.info("Removed idle channel for url [{}] and current channel size is {}", providerUrl.getUri(), channels.size());
         }
+        lastBusyTime = now;
+    }
+
+    protected void closeAllChannels() {
         channels.forEach(Channel::close);
+        retiredChannels.forEach(Channel::close);
+        retiredChannels.clear();
     }
 
     /**
@@ -102,4 +220,20 @@ public abstract class AbstractPooledClient extends AbstractClient {
      * @return {@link SharedObjectFactory} instance
      */
     protected abstract SharedObjectFactory<Channel> createChannelFactory();
+
+    /**
+     * Get the count of requests which are waiting for the responses on the channel
+     *
+     * @param channel channel
+     * @return pending request count
+     */
+    protected abstract int getPendingRequestCount(Channel channel);
+
+    /**
+     * Check whether the channel can be written without queuing in the outbound buffer
+     *
+     * @param channel channel
+     * @return {@code true} if it was writable and {@code false} otherwise
+     */
+    protected abstract boolean isWritable(Channel channel);
 }
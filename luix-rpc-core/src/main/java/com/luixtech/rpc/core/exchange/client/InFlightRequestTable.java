@@ -0,0 +1,198 @@
+package com.luixtech.rpc.core.exchange.client;
+
+import org.apache.commons.lang3.Validate;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrent request ID to in-flight request table without boxing the ID or allocating node per entry.
+ * The IDs are spread over the stripes, each stripe is a linear probing open-addressing table guarded by its own lock,
+ * and the table size is limited by an atomic counter instead of counting the entries.
+ *
+ * @param <V> value type
+ */
+@ThreadSafe
+public class InFlightRequestTable<V> {
+    private static final int           STRIPE_COUNT            = 64;
+    private static final int           STRIPE_MASK             = STRIPE_COUNT - 1;
+    private static final int           STRIPE_INITIAL_CAPACITY = 16;
+    private final        Stripe[]      stripes                 = new Stripe[STRIPE_COUNT];
+    private final        AtomicInteger size                    = new AtomicInteger();
+    private final        int           maxSize;
+
+    public InFlightRequestTable(int maxSize) {
+        Validate.isTrue(maxSize > 0, "Max size must be positive!");
+        this.maxSize = maxSize;
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Put the value associated with the ID if the table is NOT full
+     *
+     * @param id    request ID
+     * @param value value
+     * @return {@code true} if it was put and {@code false} if the table is full
+     */
+    public boolean tryPut(long id, V value) {
+        Validate.notNull(value, "Value must NOT be null!");
+        if (size.incrementAndGet() > maxSize) {
+            size.decrementAndGet();
+            return false;
+        }
+        long hash = hash(id);
+        if (stripes[stripeIndex(hash)].put(id, hash, value) != null) {
+            // Replaced the existing one
+            size.decrementAndGet();
+        }
+        return true;
+    }
+
+    /**
+     * Get the value associated with the ID
+     *
+     * @param id request ID
+     * @return value or null if absent
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long id) {
+        long hash = hash(id);
+        return (V) stripes[stripeIndex(hash)].get(id, hash);
+    }
+
+    /**
+     * Remove the value associated with the ID
+     *
+     * @param id request ID
+     * @return removed value or null if absent
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long id) {
+        long hash = hash(id);
+        Object value = stripes[stripeIndex(hash)].remove(id, hash);
+        if (value != null) {
+            size.decrementAndGet();
+        }
+        return (V) value;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            size.addAndGet(-stripe.clear());
+        }
+    }
+
+    /**
+     * Murmur3 64-bit finalizer, the request IDs generated by timestamp are NOT evenly distributed in the low bits
+     */
+    private static long hash(long id) {
+        long h = id;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static int stripeIndex(long hash) {
+        return (int) (hash >>> 32) & STRIPE_MASK;
+    }
+
+    private static final class Stripe {
+        private long[]   keys   = new long[STRIPE_INITIAL_CAPACITY];
+        private Object[] values = new Object[STRIPE_INITIAL_CAPACITY];
+        private int      count;
+
+        synchronized Object put(long key, long hash, Object value) {
+            int mask = values.length - 1;
+            int i = (int) hash & mask;
+            while (values[i] != null) {
+                if (keys[i] == key) {
+                    Object old = values[i];
+                    values[i] = value;
+                    return old;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+            // Keep the load factor at most 0.5 for the short probe sequences
+            if (++count * 2 > values.length) {
+                resize();
+            }
+            return null;
+        }
+
+        synchronized Object get(long key, long hash) {
+            int mask = values.length - 1;
+            for (int i = (int) hash & mask; values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        synchronized Object remove(long key, long hash) {
+            int mask = values.length - 1;
+            for (int i = (int) hash & mask; values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    Object old = values[i];
+                    shiftBackward(i, mask);
+                    count--;
+                    return old;
+                }
+            }
+            return null;
+        }
+
+        synchronized int clear() {
+            int removed = count;
+            keys = new long[STRIPE_INITIAL_CAPACITY];
+            values = new Object[STRIPE_INITIAL_CAPACITY];
+            count = 0;
+            return removed;
+        }
+
+        /**
+         * Fill the hole by the following entries of the probe sequence instead of leaving a tombstone
+         */
+        private void shiftBackward(int hole, int mask) {
+            for (int j = (hole + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+                int ideal = (int) hash(keys[j]) & mask;
+                // The entry can be moved if the hole lies between its ideal slot and the current slot
+                if (((j - ideal) & mask) >= ((j - hole) & mask)) {
+                    keys[hole] = keys[j];
+                    values[hole] = values[j];
+                    hole = j;
+                }
+            }
+            values[hole] = null;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            Object[] oldValues = values;
+            keys = new long[oldKeys.length << 1];
+            values = new Object[oldValues.length << 1];
+            int mask = values.length - 1;
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] != null) {
+                    int j = (int) hash(oldKeys[i]) & mask;
+                    while (values[j] != null) {
+                        j = (j + 1) & mask;
+                    }
+                    keys[j] = oldKeys[i];
+                    values[j] = oldValues[i];
+                }
+            }
+        }
+    }
+}
@@ -14,7 +14,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -23,13 +25,20 @@ import java.util.concurrent.ConcurrentHashMap;
  * non-shared channel: 某个service暴露服务的时候，不期望和别的service共享服务，明哲自保，比如你说：我很重要，我很重要。
  * shared channel: 某个service暴露服务的时候，如果有某个模块，但是拆成10个接口，可以使用这种方式，不过有一些约束条件：接口的几个serviceConfig配置需要保持一致。
  * 不允许差异化的配置如下：protocol, codec, serializer, maxContentLength, maxServerConnection, maxWorkerThread, workerQueueSize, healthChecker
+ * shared client: 消费者引用同一个provider地址的多个接口时，如果配置兼容则共享同一组连接，
+ * 不允许差异化的配置如下：protocol, 以及client使用的codec, 连接池和channel的配置, 详见RpcFrameworkUtils#checkIfCanShallClientChannel
  */
 @Slf4j
 public abstract class AbstractNetworkTransmissionFactory implements NetworkTransmissionFactory {
 
-    private final          EndpointManager          endpointManager;
-    protected static final Map<String, Server>      ADDRESS_2_SHARED_SERVER          = new ConcurrentHashMap<>();
-    protected static final Map<Server, Set<String>> SHARED_SERVER_2_PROVIDER_KEY_SET = new ConcurrentHashMap<>();
+    private final          EndpointManager           endpointManager;
+    protected static final Map<String, Server>       ADDRESS_2_SHARED_SERVER          = new ConcurrentHashMap<>();
+    protected static final Map<Server, Set<String>>  SHARED_SERVER_2_PROVIDER_KEY_SET = new ConcurrentHashMap<>();
+    /**
+     * The clients of the different interfaces share the connections to the same provider address if the configurations are compatible
+     */
+    protected static final Map<String, List<Client>> ADDRESS_2_SHARED_CLIENTS         = new ConcurrentHashMap<>();
+    protected static final Map<Client, Integer>      SHARED_CLIENT_2_REFERENCE_COUNT  = new ConcurrentHashMap<>();
 
     public AbstractNetworkTransmissionFactory() {
         endpointManager = new CheckHealthClientEndpointManager();
@@ -38,7 +47,34 @@ public abstract class AbstractNetworkTransmissionFactory implements NetworkTrans
 
     @Override
     public Client createClient(Url providerUrl) {
-        log.info("Created a client for url [{}] by [{}]", providerUrl, this.getClass().getSimpleName());
+        boolean shareClient = providerUrl.getBooleanOption(ProtocolConstants.SHARED_CLIENT, ProtocolConstants.SHARED_CLIENT_VAL_DEFAULT);
+        if (!shareClient) {
+            log.info("Created a exclusive client for url [{}] by [{}]", providerUrl, this.getClass().getSimpleName());
+            return doCreateAndAddClient(providerUrl);
+        }
+
+        synchronized (ADDRESS_2_SHARED_CLIENTS) {
+            List<Client> sharedClients = ADDRESS_2_SHARED_CLIENTS.computeIfAbsent(providerUrl.getAddress(), k -> new ArrayList<>());
+            for (Client sharedClient : sharedClients) {
+                if (RpcFrameworkUtils.checkIfCanShallClientChannel(sharedClient.getProviderUrl(), providerUrl)) {
+                    SHARED_CLIENT_2_REFERENCE_COUNT.merge(sharedClient, 1, Integer::sum);
+                    log.info("Reused the shared client for url [{}] by [{}]", providerUrl, this.getClass().getSimpleName());
+                    return sharedClient;
+                }
+            }
+
+            Url urlCopy = providerUrl.copy();
+            // 共享client连接，由于有多个interfaces存在，所以把path设置为空, client通过地址区分
+            urlCopy.setPath(StringUtils.EMPTY);
+            Client sharedClient = doCreateAndAddClient(urlCopy);
+            sharedClients.add(sharedClient);
+            SHARED_CLIENT_2_REFERENCE_COUNT.put(sharedClient, 1);
+            log.info("Created a shared client for url [{}] by [{}]", providerUrl, this.getClass().getSimpleName());
+            return sharedClient;
+        }
+    }
+
+    private Client doCreateAndAddClient(Url providerUrl) {
         Client client = doCreateClient(providerUrl);
         endpointManager.addEndpoint(client);
         return client;
@@ -46,6 +82,22 @@ public abstract class AbstractNetworkTransmissionFactory implements NetworkTrans
 
     @Override
     public void destroyClient(Client client, Url providerUrl) {
+        synchronized (ADDRESS_2_SHARED_CLIENTS) {
+            Integer referenceCount = SHARED_CLIENT_2_REFERENCE_COUNT.computeIfPresent(client, (k, count) -> count - 1);
+            if (referenceCount != null) {
+                if (referenceCount > 0) {
+                    log.info("Released the shared client for [{}] by [{}]", providerUrl, this.getClass().getSimpleName());
+                    return;
+                }
+                SHARED_CLIENT_2_REFERENCE_COUNT.remove(client);
+                String address = client.getProviderUrl().getAddress();
+                List<Client> sharedClients = ADDRESS_2_SHARED_CLIENTS.get(address);
+                sharedClients.remove(client);
+                if (CollectionUtils.isEmpty(sharedClients)) {
+                    ADDRESS_2_SHARED_CLIENTS.remove(address);
+                }
+            }
+        }
         client.close();
         endpointManager.removeEndpoint(client);
         log.info("Destroyed the client for [{}] by [{}]", providerUrl, this.getClass().getSimpleName());
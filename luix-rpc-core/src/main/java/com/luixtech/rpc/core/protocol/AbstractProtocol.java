@@ -1,9 +1,13 @@
 package com.luixtech.rpc.core.protocol;
 
 import com.luixtech.rpc.core.client.sender.Sendable;
+import com.luixtech.rpc.core.client.sender.impl.JvmRequestSender;
 import com.luixtech.rpc.core.client.sender.impl.RequestSender;
+import com.luixtech.rpc.core.constant.ConsumerConstants;
 import com.luixtech.rpc.core.exception.impl.RpcFrameworkException;
 import com.luixtech.rpc.core.server.exposer.ProviderExposable;
+import com.luixtech.rpc.core.server.stub.ProviderStub;
+import com.luixtech.rpc.core.server.stub.ProviderStubHolder;
 import com.luixtech.rpc.core.url.Url;
 import com.luixtech.rpc.core.utils.RpcFrameworkUtils;
 import lombok.extern.slf4j.Slf4j;
@@ -16,8 +20,14 @@ public abstract class AbstractProtocol implements Protocol {
     protected static final Map<String, ProviderExposable> EXPOSED_PROVIDERS = new ConcurrentHashMap<>();
 
     @Override
-    public Sendable createRequestSender(String interfaceName, Url providerUrl) {
-        return new RequestSender(interfaceName, providerUrl);
+    public Sendable createRequestSender(Url consumerUrl, Url providerUrl) {
+        ProviderStub<?> localProviderStub = ProviderStubHolder.getInstance().getLocalProviderStub(providerUrl);
+        if (localProviderStub != null) {
+            // Call the provider in the same JVM directly
+            return new JvmRequestSender(consumerUrl.getPath(), providerUrl, localProviderStub,
+                    consumerUrl.getOption(ConsumerConstants.LOCAL_COPY));
+        }
+        return new RequestSender(consumerUrl.getPath(), providerUrl);
     }
 
     @Override
@@ -13,11 +13,11 @@ public interface Protocol {
     /**
      * Create RPC request sender
      *
-     * @param interfaceName provider interface name
-     * @param providerUrl   provider url
+     * @param consumerUrl consumer url
+     * @param providerUrl provider url
      * @return RPC request sender
      */
-    Sendable createRequestSender(String interfaceName, Url providerUrl);
+    Sendable createRequestSender(Url consumerUrl, Url providerUrl);
 
     /**
      * Expose provider
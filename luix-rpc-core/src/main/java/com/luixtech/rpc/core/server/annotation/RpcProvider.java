@@ -46,6 +46,13 @@ public @interface RpcProvider {
      */
     String serializer() default "";
 
+    /**
+     * Compressor used to compress the message body
+     *
+     * @return compressor
+     */
+    String compressor() default "";
+
     /**
      * One service interface may have multiple implementations(forms),
      * It used to distinguish between different implementations of service provider interface
@@ -90,4 +97,13 @@ public @interface RpcProvider {
      * @return max retry count
      */
     String retryCount() default "";
+
+    /**
+     * The max concurrent requests of the provider including the ones waiting in the work queue,
+     * the subsequent requests are rejected in order to isolate the provider from the others on the same port
+     * Format: integer
+     *
+     * @return max concurrent requests
+     */
+    String maxConcurrentRequests() default "";
 }
@@ -1,10 +1,12 @@
 package com.luixtech.rpc.core.server.handler.impl;
 
 import com.luixtech.rpc.core.client.request.Requestable;
+import com.luixtech.rpc.core.client.request.impl.RpcCheckHealthRequest;
 import com.luixtech.rpc.core.exchange.Channel;
 import com.luixtech.rpc.core.server.handler.InvocationHandleable;
 import com.luixtech.rpc.core.server.response.Responseable;
 import com.luixtech.rpc.core.server.response.impl.RpcCheckHealthResponse;
+import com.luixtech.rpc.core.server.response.impl.RpcResponse;
 
 import static com.luixtech.rpc.core.client.request.impl.RpcCheckHealthRequest.isCheckHealthRequest;
 
@@ -26,7 +28,15 @@ public class DefaultCheckHealthHandlerWrapper implements InvocationHandleable {
 
     private Responseable handleCheckHealthRequest(Object message) {
         Requestable request = (Requestable) message;
-        Responseable response = RpcCheckHealthResponse.of(request.getRequestId());
+        if (message instanceof RpcCheckHealthRequest) {
+            // Answer the header-only frame with header-only response which has no result to be serialized
+            Responseable response = RpcCheckHealthResponse.of(request.getRequestId());
+            response.setProtocolVersion(request.getProtocolVersion());
+            return response;
+        }
+        // The check health request with full meta is answered with full response
+        RpcResponse response = RpcResponse.of(RpcCheckHealthResponse.STATUS_OK);
+        response.setRequestId(request.getRequestId());
         response.setProtocolVersion(request.getProtocolVersion());
         return response;
     }
@@ -10,6 +10,7 @@ import com.luixtech.rpc.core.utils.MethodParameterUtils;
 import com.luixtech.rpc.core.utils.RpcFrameworkUtils;
 import lombok.extern.slf4j.Slf4j;
 
+import java.lang.reflect.Method;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -32,7 +33,7 @@ public class ProtectedServerInvocationHandler extends ServerInvocationHandler {
     protected AtomicInteger                        rejectCounter   = new AtomicInteger(0);
 
     @Override
-    protected Responseable invoke(Requestable request, ProviderStub<?> providerStub) {
+    protected Responseable invoke(Requestable request, ProviderStub<?> providerStub, Method method) {
         // 支持的最大worker thread数
         int maxThread = providerStub.getUrl().getIntOption(ProtocolConstants.MAX_THREAD, ProtocolConstants.MAX_THREAD_VAL_DEFAULT);
         String requestKey = MethodParameterUtils.getFullMethodSignature(request);
@@ -41,7 +42,7 @@ public class ProtectedServerInvocationHandler extends ServerInvocationHandler {
             int requestCounter = incrRequestCounter(requestKey);
             int totalCounter = incrTotalCounter();
             if (isAllowRequest(requestCounter, totalCounter, maxThread, request)) {
-                return super.invoke(request, providerStub);
+                return super.invoke(request, providerStub, method);
             } else {
                 // reject request
                 return reject(request.getInterfaceName() + "." + request.getMethodName(), requestCounter, totalCounter, maxThread, request);
@@ -23,8 +23,10 @@ import com.luixtech.rpc.core.constant.ServiceConstants;
 import com.luixtech.rpc.core.exception.impl.RpcBizException;
 import com.luixtech.rpc.core.exception.impl.RpcFrameworkException;
 import com.luixtech.rpc.core.exchange.Channel;
+import com.luixtech.rpc.core.exchange.RpcContext;
 import com.luixtech.rpc.core.server.handler.InvocationHandleable;
 import com.luixtech.rpc.core.server.response.Responseable;
+import com.luixtech.rpc.core.server.stub.ProviderMethod;
 import com.luixtech.rpc.core.server.stub.ProviderStub;
 import com.luixtech.rpc.core.server.stub.ProviderStubHolder;
 import com.luixtech.rpc.core.url.Url;
@@ -66,31 +68,59 @@ public class ServerInvocationHandler implements InvocationHandleable {
         }
 
         Requestable request = (Requestable) message;
-        String stubName = ProviderStub.buildProviderStubBeanName(request.getInterfaceName(),
-                request.getOption(ServiceConstants.FORM), request.getOption(ServiceConstants.VERSION));
-        ProviderStub<?> providerStub = ProviderStubHolder.getInstance().getMap().get(stubName);
-
-        if (providerStub == null) {
-            log.error("No provider found with key [{}] for {}", stubName, request);
-            RpcFrameworkException exception = new RpcFrameworkException("No provider found with key [" + stubName + "] for " + request);
-            return RpcFrameworkUtils.buildErrorResponse(request, exception);
+        ProviderStub<?> providerStub;
+        Method method;
+        if (request.getMethodId() != null) {
+            // Resolve the negotiated method ID by array index
+            ProviderMethod providerMethod = ProviderStubHolder.getInstance().getMethod(request.getMethodId());
+            if (providerMethod == null) {
+                log.error("No provider method found with ID [{}] for {}", request.getMethodId(), request);
+                RpcFrameworkException exception = new RpcFrameworkException("No provider method found with ID [" + request.getMethodId() + "] for " + request);
+                return RpcFrameworkUtils.buildErrorResponse(request, exception);
+            }
+            providerStub = providerMethod.getProviderStub();
+            method = providerMethod.getMethod();
+            fillMethod(request, providerMethod);
+        } else {
+            String stubName = ProviderStub.buildProviderStubBeanName(request.getInterfaceName(),
+                    request.getOption(ServiceConstants.FORM), request.getOption(ServiceConstants.VERSION));
+            providerStub = ProviderStubHolder.getInstance().getMap().get(stubName);
+
+            if (providerStub == null) {
+                log.error("No provider found with key [{}] for {}", stubName, request);
+                RpcFrameworkException exception = new RpcFrameworkException("No provider found with key [" + stubName + "] for " + request);
+                return RpcFrameworkUtils.buildErrorResponse(request, exception);
+            }
+            method = providerStub.findMethod(request.getMethodName(), request.getMethodParameters());
         }
-
-        Method method = providerStub.findMethod(request.getMethodName(), request.getMethodParameters());
         fillMethodParameters(request, method);
-        // Process lazy arguments
-        deserializeLazyArgs(request, method);
-        Responseable response = invoke(request, providerStub);
+        RpcContext context = RpcContext.init(request);
+        Responseable response;
+        try {
+            if (context.getRemainingTime() == 0) {
+                // The client has given up the request which waited in the work queue past its deadline
+                // Logged at debug level and without arguments, because it happens a lot while the server is overloaded
+                log.debug("Dropped the expired request [{}] of [{}.{}] which was received {}ms ago", request.getRequestId(),
+                        request.getInterfaceName(), request.getMethodName(), System.currentTimeMillis() - request.getReceivedTime());
+                RpcFrameworkException exception = new RpcFrameworkException("Dropped the request for exceeding the deadline on server");
+                return RpcFrameworkUtils.buildErrorResponse(request, exception);
+            }
+            // Process lazy arguments
+            deserializeLazyArgs(request, method);
+            response = invoke(request, providerStub, method);
+        } finally {
+            RpcContext.destroy();
+        }
         // Set serializer ID of response with request's one
         response.setSerializerId(request.getSerializerId());
         response.setProtocolVersion(request.getProtocolVersion());
         return response;
     }
 
-    protected Responseable invoke(Requestable request, ProviderStub<?> providerStub) {
+    protected Responseable invoke(Requestable request, ProviderStub<?> providerStub, Method method) {
         try {
             RpcFrameworkUtils.logEvent(request, RpcConstants.TRACE_BEFORE_BIZ);
-            Responseable response = providerStub.invokeMethod(request);
+            Responseable response = providerStub.invokeMethod(request, method);
             RpcFrameworkUtils.logEvent(response, RpcConstants.TRACE_AFTER_BIZ);
             return response;
         } catch (Exception e) {
@@ -98,7 +128,14 @@ public class ServerInvocationHandler implements InvocationHandleable {
         }
     }
 
-    private void deserializeLazyArgs(Requestable request, Method method) {
+    /**
+     * Deserialize the lazy arguments of the request with the parameter types of the method,
+     * it does nothing if the arguments have been deserialized
+     *
+     * @param request RPC request
+     * @param method  provider method, it may be null
+     */
+    public static void deserializeLazyArgs(Requestable request, Method method) {
         if (method != null && request.getMethodArguments() != null && request.getMethodArguments().length == 1
                 && request.getMethodArguments()[0] instanceof DeserializableArgs
                 && request instanceof RpcRequest) {
@@ -111,6 +148,16 @@ public class ServerInvocationHandler implements InvocationHandleable {
         }
     }
 
+    private void fillMethod(Requestable request, ProviderMethod providerMethod) {
+        if (request instanceof RpcRequest) {
+            // Fill the names used by logging and tracing without building the method signature
+            RpcRequest rpcRequest = (RpcRequest) request;
+            rpcRequest.setInterfaceName(providerMethod.getProviderStub().getInterfaceName());
+            rpcRequest.setMethodName(providerMethod.getMethod().getName());
+            rpcRequest.setMethodParameters(providerMethod.getMethodParameters());
+        }
+    }
+
     private void fillMethodParameters(Requestable request, Method method) {
         if (method != null && StringUtils.isBlank(request.getMethodParameters()) && request instanceof RpcRequest) {
             RpcRequest rpcRequest = (RpcRequest) request;
@@ -74,7 +74,10 @@ public class RpcFutureResponse implements FutureResponse, Serializable {
         this.options = response.getOptions();
         traceableContext.setReceiveTime(response.getReceivedTime());
         response.getTraces().forEach((key, value) -> traceableContext.addTraceInfo(key, value));
-        done();
+        if (!done() && resultObject instanceof DeserializableResult) {
+            // The future has been cancelled, so nobody would deserialize the result
+            ((DeserializableResult) resultObject).release();
+        }
     }
 
     @Override
@@ -0,0 +1,109 @@
+package com.luixtech.rpc.core.server.stub;
+
+import com.luixtech.rpc.metrics.MetricsUtils;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulkhead which limits the concurrent requests of a provider or a method sharing the executor of the server,
+ * so a slow service can NOT fill the work queue and starve the other services exposed on the same port.
+ * The permit is acquired before the request is submitted to the executor and released after the request has been processed,
+ * and the request is rejected immediately once the permits are exhausted.
+ */
+@ThreadSafe
+public class Bulkhead {
+    private final String        name;
+    private final int           maxConcurrentRequests;
+    private final Semaphore     permits;
+    /**
+     * Count of the requests which are being executed, the others holding the permits are waiting in the work queue
+     */
+    private final AtomicInteger activeCount   = new AtomicInteger();
+    private final AtomicLong    rejectedCount = new AtomicLong();
+
+    public Bulkhead(String name, int maxConcurrentRequests) {
+        this.name = name;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.permits = new Semaphore(maxConcurrentRequests);
+        MetricsUtils.gaugeBulkhead(name, this, Bulkhead::getActiveCount, Bulkhead::getQueueDepth);
+    }
+
+    /**
+     * Acquire a permit before the request is submitted to the executor
+     *
+     * @return {@code true} if acquired and {@code false} if the request should be rejected
+     */
+    public boolean tryAcquire() {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        rejectedCount.incrementAndGet();
+        MetricsUtils.trackBulkheadRejection(name);
+        return false;
+    }
+
+    /**
+     * Called when the request starts being executed
+     */
+    public void onStart() {
+        activeCount.incrementAndGet();
+    }
+
+    /**
+     * Called after the started request has been processed
+     */
+    public void onFinish() {
+        activeCount.decrementAndGet();
+        release();
+    }
+
+    /**
+     * Release the permit of the request which was NOT started, e.g, it was rejected by the executor
+     */
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * Check whether there is any permit left, the permit may still be taken by others before being acquired
+     *
+     * @return {@code true} if any permit is left and {@code false} otherwise
+     */
+    public boolean hasCapacity() {
+        return permits.availablePermits() > 0;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    /**
+     * Get the count of the requests which are waiting in the work queue
+     *
+     * @return queue depth
+     */
+    public int getQueueDepth() {
+        return Math.max(0, maxConcurrentRequests - permits.availablePermits() - activeCount.get());
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "name: " + name + ", active: " + getActiveCount() + ", queued: " + getQueueDepth()
+                + ", maxConcurrentRequests: " + maxConcurrentRequests + ", rejected: " + getRejectedCount();
+    }
+}
@@ -22,4 +22,16 @@ public class MethodConfig implements Serializable {
      * Format: integer
      */
     private String retryCount;
+
+    /**
+     * Indicates whether the method can be executed on IO thread, it must NOT block
+     * Format: boolean
+     */
+    private String ioThreadSafe;
+
+    /**
+     * The max concurrent requests of the method
+     * Format: integer
+     */
+    private String maxConcurrentRequests;
 }
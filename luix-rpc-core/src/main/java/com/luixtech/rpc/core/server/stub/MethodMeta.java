@@ -38,6 +38,10 @@ public class MethodMeta implements Serializable {
      * Return type. e.g, java.lang.Long
      */
     private              String              returnType;
+    /**
+     * Method ID which is assigned by {@link ProviderStubHolder}, the client can send it instead of the method signature
+     */
+    private              Integer             methodId;
 
     static {
         TYPE_CATEGORY_MAP.put(Short.class.getName(), CATEGORY_NUMBER);
@@ -0,0 +1,45 @@
+package com.luixtech.rpc.core.server.stub;
+
+import com.luixtech.rpc.core.utils.MethodParameterUtils;
+import lombok.Getter;
+
+import java.lang.reflect.Method;
+
+/**
+ * Entry of the provider method table in {@link ProviderStubHolder}, the index of the table is the method ID
+ */
+@Getter
+public class ProviderMethod {
+    /**
+     * Provider stub
+     */
+    private final ProviderStub<?> providerStub;
+    /**
+     * Method of the provider interface
+     */
+    private final Method          method;
+    /**
+     * The method parameter type name list string which is separated by comma.
+     * e.g, java.util.List,java.lang.Long
+     */
+    private final String          methodParameters;
+    /**
+     * Whether the method can be executed on IO thread, it is resolved from the method configuration in advance
+     * so that it is read by method ID without building the method signature per request
+     */
+    private volatile boolean      ioThreadSafe;
+
+    public ProviderMethod(ProviderStub<?> providerStub, Method method) {
+        this.providerStub = providerStub;
+        this.method = method;
+        this.methodParameters = MethodParameterUtils.getMethodParameters(method);
+        refresh();
+    }
+
+    /**
+     * Resolve the flags from the method configuration of provider stub again after the configuration was set
+     */
+    void refresh() {
+        ioThreadSafe = providerStub.isIoThreadSafe(method.getName(), methodParameters);
+    }
+}
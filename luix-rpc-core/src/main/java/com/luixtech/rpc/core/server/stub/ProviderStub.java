@@ -31,11 +31,13 @@ import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.StringUtils;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
@@ -61,6 +63,11 @@ public class ProviderStub<T> {
     public static final            String              METHOD_REREGISTER       = "@reregister";
     public static final            List<String>        BUILD_IN_METHODS        = Arrays.asList(METHOD_CHECK_HEALTH,
             METHOD_GET_METHOD_METAS, METHOD_ACTIVATE, METHOD_DEACTIVATE, METHOD_REREGISTER);
+    /**
+     * Build-in methods which are answered from memory, so they can be executed on IO thread.
+     * Others call the registry and must NOT block IO thread.
+     */
+    public static final            List<String>        IO_THREAD_SAFE_METHODS  = Arrays.asList(METHOD_CHECK_HEALTH, METHOD_GET_METHOD_METAS);
     public static final            List<OptionMeta>    OPTIONS                 = new ArrayList<>();
     /**
      * Build-in method signature to method cache map
@@ -72,20 +79,39 @@ public class ProviderStub<T> {
 //        OPTIONS.add(new OptionMeta(VERSION, null, String.class.getSimpleName()));
 //        OPTIONS.add(new OptionMeta(APP, null, String.class.getSimpleName()));
         OPTIONS.add(new OptionMeta(ProtocolConstants.SERIALIZER, ProtocolConstants.SERIALIZERS, List.class.getSimpleName(), ProtocolConstants.SERIALIZER_VAL_DEFAULT, false));
+        OPTIONS.add(new OptionMeta(ProtocolConstants.COMPRESSOR, ProtocolConstants.COMPRESSORS, List.class.getSimpleName(), null, false));
+        OPTIONS.add(new OptionMeta(ProtocolConstants.MIN_COMPRESS_SIZE, null, Integer.class.getSimpleName(), String.valueOf(ProtocolConstants.MIN_COMPRESS_SIZE_VAL_DEFAULT), true));
+        OPTIONS.add(new OptionMeta(ProtocolConstants.BINARY_META, null, Boolean.class.getSimpleName(), String.valueOf(ProtocolConstants.BINARY_META_VAL_DEFAULT), true));
 //        OPTIONS.add(new OptionMeta(ProviderConstants.HEALTH_CHECKER, null, String.class.getSimpleName(), ProviderConstants.HEALTH_CHECKER_VAL_V1, true));
         OPTIONS.add(new OptionMeta(ServiceConstants.REQUEST_TIMEOUT, null, Integer.class.getSimpleName(), String.valueOf(ServiceConstants.REQUEST_TIMEOUT_VAL_DEFAULT), true));
         OPTIONS.add(new OptionMeta(ServiceConstants.RETRY_COUNT, null, Integer.class.getSimpleName(), String.valueOf(ServiceConstants.RETRY_COUNT_VAL_DEFAULT), true));
         OPTIONS.add(new OptionMeta(ServiceConstants.MAX_PAYLOAD, null, Integer.class.getSimpleName(), String.valueOf(ServiceConstants.MAX_PAYLOAD_VAL_DEFAULT), true));
+        OPTIONS.add(new OptionMeta(ServiceConstants.MAX_CONCURRENT_REQUESTS, null, Integer.class.getSimpleName(), String.valueOf(ServiceConstants.MAX_CONCURRENT_REQUESTS_VAL_DEFAULT), true));
 //        OPTIONS.add(new OptionMeta(ProtocolConstants.CODEC, null, String.class.getSimpleName(), ProtocolConstants.CODEC_VAL_DEFAULT, true));
 //        OPTIONS.add(new OptionMeta(ProtocolConstants.NETWORK_TRANSMISSION, null, String.class.getSimpleName(), ProtocolConstants.NETWORK_TRANSMISSION_VAL_NETTY, true));
 //        OPTIONS.add(new OptionMeta(ProtocolConstants.SHARED_SERVER, null, Boolean.class.getSimpleName(), String.valueOf(ProtocolConstants.SHARED_SERVER_VAL_DEFAULT), false));
+        OPTIONS.add(new OptionMeta(ProtocolConstants.TRANSPORT, ProtocolConstants.TRANSPORTS, String.class.getSimpleName(), ProtocolConstants.TRANSPORT_VAL_DEFAULT, true));
+        OPTIONS.add(new OptionMeta(ProtocolConstants.TCP_QUICK_ACK, null, Boolean.class.getSimpleName(), String.valueOf(ProtocolConstants.TCP_QUICK_ACK_VAL_DEFAULT), true));
+        OPTIONS.add(new OptionMeta(ProtocolConstants.REUSE_PORT, null, Boolean.class.getSimpleName(), String.valueOf(ProtocolConstants.REUSE_PORT_VAL_DEFAULT), true));
+        OPTIONS.add(new OptionMeta(ProtocolConstants.EDGE_TRIGGERED, null, Boolean.class.getSimpleName(), String.valueOf(ProtocolConstants.EDGE_TRIGGERED_VAL_DEFAULT), true));
+        OPTIONS.add(new OptionMeta(ProtocolConstants.SHARED_CLIENT, null, Boolean.class.getSimpleName(), String.valueOf(ProtocolConstants.SHARED_CLIENT_VAL_DEFAULT), true));
         OPTIONS.add(new OptionMeta(ProtocolConstants.MIN_CLIENT_CONN, null, Integer.class.getSimpleName(), String.valueOf(ProtocolConstants.MIN_CLIENT_CONN_VAL_DEFAULT), true));
+        OPTIONS.add(new OptionMeta(ProtocolConstants.MAX_CLIENT_CONN, null, Integer.class.getSimpleName(), String.valueOf(ProtocolConstants.MAX_CLIENT_CONN_VAL_DEFAULT), true));
+        OPTIONS.add(new OptionMeta(ProtocolConstants.CLIENT_CONN_EXPAND_THRESHOLD, null, Integer.class.getSimpleName(), String.valueOf(ProtocolConstants.CLIENT_CONN_EXPAND_THRESHOLD_VAL_DEFAULT), true));
+        OPTIONS.add(new OptionMeta(ProtocolConstants.CLIENT_CONN_IDLE_TIME, null, Integer.class.getSimpleName(), String.valueOf(ProtocolConstants.CLIENT_CONN_IDLE_TIME_VAL_DEFAULT), true));
         OPTIONS.add(new OptionMeta(ProtocolConstants.MAX_CLIENT_FAILED_CONN, null, Integer.class.getSimpleName(), String.valueOf(ProtocolConstants.MAX_CLIENT_FAILED_CONN_VAL_DEFAULT), true));
         OPTIONS.add(new OptionMeta(ProtocolConstants.MAX_SERVER_CONN, null, Integer.class.getSimpleName(), String.valueOf(ProtocolConstants.MAX_SERVER_CONN_VAL_DEFAULT), true));
         OPTIONS.add(new OptionMeta(ProtocolConstants.MAX_CONTENT_LENGTH, null, Integer.class.getSimpleName(), String.valueOf(ProtocolConstants.MAX_CONTENT_LENGTH_VAL_DEFAULT), true));
+        OPTIONS.add(new OptionMeta(ProtocolConstants.CHUNK_SIZE, null, Integer.class.getSimpleName(), String.valueOf(ProtocolConstants.CHUNK_SIZE_VAL_DEFAULT), true));
+        OPTIONS.add(new OptionMeta(ProtocolConstants.WRITE_BUFFER_LOW_WATER_MARK, null, Integer.class.getSimpleName(), String.valueOf(ProtocolConstants.WRITE_BUFFER_LOW_WATER_MARK_VAL_DEFAULT), true));
+        OPTIONS.add(new OptionMeta(ProtocolConstants.WRITE_BUFFER_HIGH_WATER_MARK, null, Integer.class.getSimpleName(), String.valueOf(ProtocolConstants.WRITE_BUFFER_HIGH_WATER_MARK_VAL_DEFAULT), true));
+        OPTIONS.add(new OptionMeta(ProtocolConstants.FLUSH_CONSOLIDATION, null, Integer.class.getSimpleName(), String.valueOf(ProtocolConstants.FLUSH_CONSOLIDATION_VAL_DEFAULT), true));
         OPTIONS.add(new OptionMeta(ProtocolConstants.MIN_THREAD, null, Integer.class.getSimpleName(), String.valueOf(ProtocolConstants.MIN_THREAD_VAL_DEFAULT), true));
         OPTIONS.add(new OptionMeta(ProtocolConstants.MAX_THREAD, null, Integer.class.getSimpleName(), String.valueOf(ProtocolConstants.MAX_THREAD_VAL_DEFAULT), true));
         OPTIONS.add(new OptionMeta(ProtocolConstants.WORK_QUEUE_SIZE, null, Integer.class.getSimpleName(), String.valueOf(ProtocolConstants.WORK_QUEUE_SIZE_VAL_DEFAULT), true));
+        OPTIONS.add(new OptionMeta(ProtocolConstants.OVERLOAD_POLICY, ProtocolConstants.OVERLOAD_POLICIES, String.class.getSimpleName(), ProtocolConstants.OVERLOAD_POLICY_VAL_DEFAULT, true));
+        OPTIONS.add(new OptionMeta(ProtocolConstants.EXECUTOR, ProtocolConstants.EXECUTORS, String.class.getSimpleName(), ProtocolConstants.EXECUTOR_VAL_DEFAULT, true));
+        OPTIONS.add(new OptionMeta(ProtocolConstants.MAX_VIRTUAL_THREAD, null, Integer.class.getSimpleName(), String.valueOf(ProtocolConstants.MAX_VIRTUAL_THREAD_VAL_DEFAULT), true));
 //        OPTIONS.add(new OptionMeta(ProtocolConstants.ASYNC_CREATE_CONN, null, Boolean.class.getSimpleName(), String.valueOf(ProtocolConstants.ASYNC_CREATE_CONN_VAL_DEFAULT), true));
 
         try {
@@ -133,6 +159,10 @@ public class ProviderStub<T> {
      * Serializer used to serialize and deserialize object
      */
     private           String                    serializer;
+    /**
+     * Compressor used to compress the message body
+     */
+    private           String                    compressor;
     /**
      * One service interface may have multiple implementations(forms),
      * It used to distinguish between different implementations of service provider interface
@@ -169,6 +199,11 @@ public class ProviderStub<T> {
      */
     @Min(value = 0, message = "The [maxPayload] property of @Provider must NOT be a positive number!")
     private           Integer                   maxPayload;
+    /**
+     * The max concurrent requests of the provider including the ones waiting in the work queue, 0 means unlimited
+     */
+    @Min(value = 0, message = "The [maxConcurrentRequests] property of @Provider must NOT be a negative number!")
+    private           Integer                   maxConcurrentRequests;
     /**
      * The provider instance
      * Disable deserialization
@@ -178,15 +213,23 @@ public class ProviderStub<T> {
     /**
      * Method signature to method cache map for the provider class
      */
-    private transient Map<String, Method>       methodsCache = new HashMap<>();
+    private transient Map<String, Method>       methodsCache    = new HashMap<>();
     /**
      * Method signature to method level configuration map for the provider class
      */
-    private           Map<String, MethodConfig> methodConfig = new HashMap<>();
+    private           Map<String, MethodConfig> methodConfig    = new HashMap<>();
+    /**
+     * Bulkhead of the provider, it is null if the concurrent requests are unlimited
+     */
+    private transient Bulkhead                  bulkhead;
+    /**
+     * Method signature to bulkhead map for the methods which limit the concurrent requests by themselves
+     */
+    private transient Map<String, Bulkhead>     methodBulkheads = new ConcurrentHashMap<>();
     /**
      * All the methods of the interface class
      */
-    private           List<MethodMeta>          methodMetas  = new ArrayList<>();
+    private           List<MethodMeta>          methodMetas     = new ArrayList<>();
     /**
      * The provider url
      */
@@ -194,7 +237,7 @@ public class ProviderStub<T> {
     /**
      * Indicates whether the provider were active
      */
-    private final     AtomicBoolean             activated    = new AtomicBoolean(false);
+    private final     AtomicBoolean             activated       = new AtomicBoolean(false);
     /**
      * Application configuration
      */
@@ -215,6 +258,8 @@ public class ProviderStub<T> {
     public void init() {
         // Put methods to cache in order to accelerate the speed of executing.
         discoverMethods(interfaceClass);
+        // The local consumers may call the provider before it is registered
+        createBulkheads();
         String name = defaultIfEmpty(beanName, buildProviderStubBeanName(interfaceName, form, version));
         // Automatically add {@link ProviderStub} instance to {@link ProviderStubHolder}
         ProviderStubHolder.getInstance().add(name, this);
@@ -253,6 +298,21 @@ public class ProviderStub<T> {
         return method;
     }
 
+    /**
+     * Check whether the method can be executed on IO thread instead of the worker thread pool
+     *
+     * @param methodName       method name
+     * @param methodParameters method parameters string. e.g, java.util.List,java.lang.Long
+     * @return {@code true} if it is a cheap build-in method or the provider method is marked as IO thread safe and {@code false} otherwise
+     */
+    public boolean isIoThreadSafe(String methodName, String methodParameters) {
+        if (IO_THREAD_SAFE_METHODS.contains(methodName)) {
+            return true;
+        }
+        MethodConfig config = methodConfig.get(MethodParameterUtils.getMethodSignature(methodName, methodParameters));
+        return config != null && Boolean.parseBoolean(config.getIoThreadSafe());
+    }
+
     /**
      * Check health status of the service
      *
@@ -275,10 +335,51 @@ public class ProviderStub<T> {
         this.registryConfig = registryConfig;
 
         url = createProviderUrl(applicationConfig, protocolConfig);
+        createBulkheads();
+        // The method configuration is set before registering
+        ProviderStubHolder.getInstance().refreshMethods(this);
         // Register provider URL to all the registries
         this.registryConfig.getRegistryImpl().register(url);
     }
 
+    /**
+     * Create the bulkheads of the provider and its methods, it is idempotent because the provider is registered to each registry
+     */
+    private synchronized void createBulkheads() {
+        String name = buildProviderStubBeanName(interfaceName, form, version);
+        if (bulkhead == null && maxConcurrentRequests != null && maxConcurrentRequests > 0) {
+            bulkhead = new Bulkhead(name, maxConcurrentRequests);
+        }
+        methodConfig.forEach((methodSignature, config) -> {
+            if (StringUtils.isNotEmpty(config.getMaxConcurrentRequests())) {
+                int max = Integer.parseInt(config.getMaxConcurrentRequests());
+                if (max > 0) {
+                    methodBulkheads.computeIfAbsent(methodSignature, k -> new Bulkhead(name + "." + methodSignature, max));
+                }
+            }
+        });
+    }
+
+    /**
+     * Get the bulkhead which limits the concurrent requests of the method
+     *
+     * @param methodName       method name
+     * @param methodParameters method parameters string. e.g, java.util.List,java.lang.Long
+     * @return bulkhead of the method, or bulkhead of the provider if the method does NOT have one, or null if unlimited
+     */
+    public Bulkhead getBulkhead(String methodName, String methodParameters) {
+        if (BUILD_IN_METHODS.contains(methodName)) {
+            return null;
+        }
+        if (!methodBulkheads.isEmpty()) {
+            Bulkhead methodBulkhead = methodBulkheads.get(MethodParameterUtils.getMethodSignature(methodName, methodParameters));
+            if (methodBulkhead != null) {
+                return methodBulkhead;
+            }
+        }
+        return bulkhead;
+    }
+
     public void reregister(Map<String, String> options) {
         deactivate();
 
@@ -338,17 +439,43 @@ public class ProviderStub<T> {
                 protocolConfig.getPort(), interfaceName, form, version);
         url.addOption(ApplicationConstants.APP, applicationConfig.getId());
         url.addOption(ProtocolConstants.SERIALIZER, serializer);
+        url.addOption(ProtocolConstants.COMPRESSOR, defaultIfEmpty(compressor, protocolConfig.getCompressor()));
         url.addOption(ProviderConstants.HEALTH_CHECKER, healthChecker);
         url.addOption(ServiceConstants.REQUEST_TIMEOUT, requestTimeout);
         url.addOption(ServiceConstants.RETRY_COUNT, retryCount);
         url.addOption(ServiceConstants.MAX_PAYLOAD, maxPayload);
+        url.addOption(ServiceConstants.MAX_CONCURRENT_REQUESTS, maxConcurrentRequests);
 
         url.addOption(ProtocolConstants.CODEC, protocolConfig.getCodec());
+
+        String binaryMeta = protocolConfig.getBinaryMeta() == null ? null : protocolConfig.getBinaryMeta().toString();
+        url.addOption(ProtocolConstants.BINARY_META, binaryMeta);
         url.addOption(ProtocolConstants.NETWORK_TRANSMISSION, protocolConfig.getEndpointFactory());
+        url.addOption(ProtocolConstants.TRANSPORT, protocolConfig.getTransport());
+
+        String tcpQuickAck = protocolConfig.getTcpQuickAck() == null ? null : protocolConfig.getTcpQuickAck().toString();
+        url.addOption(ProtocolConstants.TCP_QUICK_ACK, tcpQuickAck);
+
+        String reusePort = protocolConfig.getReusePort() == null ? null : protocolConfig.getReusePort().toString();
+        url.addOption(ProtocolConstants.REUSE_PORT, reusePort);
+
+        String edgeTriggered = protocolConfig.getEdgeTriggered() == null ? null : protocolConfig.getEdgeTriggered().toString();
+        url.addOption(ProtocolConstants.EDGE_TRIGGERED, edgeTriggered);
+
+        url.addOption(ProtocolConstants.DOMAIN_SOCKET, protocolConfig.getDomainSocket());
 
         String minClientConn = protocolConfig.getMinClientConn() == null ? null : protocolConfig.getMinClientConn().toString();
         url.addOption(ProtocolConstants.MIN_CLIENT_CONN, minClientConn);
 
+        String maxClientConn = protocolConfig.getMaxClientConn() == null ? null : protocolConfig.getMaxClientConn().toString();
+        url.addOption(ProtocolConstants.MAX_CLIENT_CONN, maxClientConn);
+
+        String clientConnExpandThreshold = protocolConfig.getClientConnExpandThreshold() == null ? null : protocolConfig.getClientConnExpandThreshold().toString();
+        url.addOption(ProtocolConstants.CLIENT_CONN_EXPAND_THRESHOLD, clientConnExpandThreshold);
+
+        String clientConnIdleTime = protocolConfig.getClientConnIdleTime() == null ? null : protocolConfig.getClientConnIdleTime().toString();
+        url.addOption(ProtocolConstants.CLIENT_CONN_IDLE_TIME, clientConnIdleTime);
+
         String maxClientFailedConn = protocolConfig.getMaxClientFailedConn() == null ? null : protocolConfig.getMaxClientFailedConn().toString();
         url.addOption(ProtocolConstants.MAX_CLIENT_FAILED_CONN, maxClientFailedConn);
 
@@ -358,6 +485,18 @@ public class ProviderStub<T> {
         String maxContentLength = protocolConfig.getMaxContentLength() == null ? null : protocolConfig.getMaxContentLength().toString();
         url.addOption(ProtocolConstants.MAX_CONTENT_LENGTH, maxContentLength);
 
+        String chunkSize = protocolConfig.getChunkSize() == null ? null : protocolConfig.getChunkSize().toString();
+        url.addOption(ProtocolConstants.CHUNK_SIZE, chunkSize);
+
+        String writeBufferLowWaterMark = protocolConfig.getWriteBufferLowWaterMark() == null ? null : protocolConfig.getWriteBufferLowWaterMark().toString();
+        url.addOption(ProtocolConstants.WRITE_BUFFER_LOW_WATER_MARK, writeBufferLowWaterMark);
+
+        String writeBufferHighWaterMark = protocolConfig.getWriteBufferHighWaterMark() == null ? null : protocolConfig.getWriteBufferHighWaterMark().toString();
+        url.addOption(ProtocolConstants.WRITE_BUFFER_HIGH_WATER_MARK, writeBufferHighWaterMark);
+
+        String flushConsolidation = protocolConfig.getFlushConsolidation() == null ? null : protocolConfig.getFlushConsolidation().toString();
+        url.addOption(ProtocolConstants.FLUSH_CONSOLIDATION, flushConsolidation);
+
         String minThread = protocolConfig.getMinThread() == null ? null : protocolConfig.getMinThread().toString();
         url.addOption(ProtocolConstants.MIN_THREAD, minThread);
 
@@ -366,10 +505,21 @@ public class ProviderStub<T> {
 
         String workQueueSize = protocolConfig.getWorkQueueSize() == null ? null : protocolConfig.getWorkQueueSize().toString();
         url.addOption(ProtocolConstants.WORK_QUEUE_SIZE, workQueueSize);
+        url.addOption(ProtocolConstants.OVERLOAD_POLICY, protocolConfig.getOverloadPolicy());
+        url.addOption(ProtocolConstants.EXECUTOR, protocolConfig.getExecutor());
+
+        String maxVirtualThread = protocolConfig.getMaxVirtualThread() == null ? null : protocolConfig.getMaxVirtualThread().toString();
+        url.addOption(ProtocolConstants.MAX_VIRTUAL_THREAD, maxVirtualThread);
+
+        String minCompressSize = protocolConfig.getMinCompressSize() == null ? null : protocolConfig.getMinCompressSize().toString();
+        url.addOption(ProtocolConstants.MIN_COMPRESS_SIZE, minCompressSize);
 
         String sharedChannel = protocolConfig.getSharedChannel() == null ? null : protocolConfig.getSharedChannel().toString();
         url.addOption(ProtocolConstants.SHARED_SERVER, sharedChannel);
 
+        String sharedClient = protocolConfig.getSharedClient() == null ? null : protocolConfig.getSharedClient().toString();
+        url.addOption(ProtocolConstants.SHARED_CLIENT, sharedClient);
+
         String asyncInitConn = protocolConfig.getAsyncInitConn() == null ? null : protocolConfig.getAsyncInitConn().toString();
         url.addOption(ProtocolConstants.ASYNC_CREATE_CONN, asyncInitConn);
 
@@ -398,12 +548,21 @@ public class ProviderStub<T> {
      * @return RPC response
      */
     public Responseable invokeMethod(Requestable request) {
+        return invokeMethod(request, findMethod(request.getMethodName(), request.getMethodParameters()));
+    }
+
+    /**
+     * Invoke the resolved method locally and return the result
+     *
+     * @param request RPC request
+     * @param method  method resolved by method signature or method ID, it may be null
+     * @return RPC response
+     */
+    public Responseable invokeMethod(Requestable request, Method method) {
         RpcResponse response = new RpcResponse();
-        Method method = findMethod(request.getMethodName(), request.getMethodParameters());
-        String methodSignature = MethodParameterUtils.getFullMethodSignature(request);
         if (method == null) {
             RpcFrameworkException exception =
-                    new RpcFrameworkException(methodSignature + " does NOT exist!");
+                    new RpcFrameworkException(MethodParameterUtils.getFullMethodSignature(request) + " does NOT exist!");
             response.setException(exception);
             return response;
         }
@@ -416,7 +575,9 @@ public class ProviderStub<T> {
             } else if (activated.get()) {
                 result = method.invoke(instance, request.getMethodArguments());
             }
-            log.info("Executed method {}", methodSignature);
+            if (log.isInfoEnabled()) {
+                log.info("Executed method {}", MethodParameterUtils.getFullMethodSignature(request));
+            }
             response.setResult(result);
         } catch (Exception e) {
             // If exception occurs
@@ -458,6 +619,12 @@ public class ProviderStub<T> {
         }
         // Copy options
         response.setOptions(request.getOptions());
+        String compressor = this.url.getOption(ProtocolConstants.COMPRESSOR);
+        if (compressor != null && response.getOption(ProtocolConstants.COMPRESSOR) == null) {
+            // Compress the response with gzip if the consumer did not specify the compressor,
+            // because the consumer may lack the optional dependency of the compressor of provider
+            response.addOption(ProtocolConstants.COMPRESSOR, ProtocolConstants.COMPRESSOR_VAL_GZIP);
+        }
         return response;
     }
 
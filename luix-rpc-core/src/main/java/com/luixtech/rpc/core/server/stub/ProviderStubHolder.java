@@ -1,8 +1,18 @@
 package com.luixtech.rpc.core.server.stub;
 
+import com.luixtech.rpc.core.client.request.Requestable;
+import com.luixtech.rpc.core.constant.ProtocolConstants;
+import com.luixtech.rpc.core.constant.ServiceConstants;
+import com.luixtech.rpc.core.url.Url;
+
 import javax.annotation.concurrent.ThreadSafe;
+import java.lang.reflect.Method;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.luixtech.rpc.core.client.request.impl.RpcCheckHealthRequest.isCheckHealthRequest;
 
 @ThreadSafe
 public class ProviderStubHolder {
@@ -12,6 +22,10 @@ public class ProviderStubHolder {
      * RPC provider stub map
      */
     private final        Map<String, ProviderStub<?>> cache    = new ConcurrentHashMap<>();
+    /**
+     * Provider method table, the index is the method ID which is exposed by {@link MethodMeta#getMethodId()}
+     */
+    private final        List<ProviderMethod>         methods  = new CopyOnWriteArrayList<>();
 
     /**
      * Prevent instantiation of it outside the class
@@ -29,10 +43,114 @@ public class ProviderStubHolder {
     }
 
     public synchronized void add(String name, ProviderStub<?> providerStub) {
-        cache.putIfAbsent(name, providerStub);
+        if (cache.putIfAbsent(name, providerStub) != null) {
+            return;
+        }
+        // Assign method IDs
+        for (MethodMeta methodMeta : providerStub.getMethodMetas()) {
+            Method method = providerStub.getMethodsCache().get(methodMeta.getMethodSignature());
+            methodMeta.setMethodId(methods.size());
+            methods.add(new ProviderMethod(providerStub, method));
+        }
+    }
+
+    /**
+     * Refresh the provider methods of the provider stub after its method configuration was set
+     *
+     * @param providerStub provider stub
+     */
+    void refreshMethods(ProviderStub<?> providerStub) {
+        methods.stream().filter(method -> method.getProviderStub() == providerStub).forEach(ProviderMethod::refresh);
     }
 
     public synchronized Map<String, ProviderStub<?>> getMap() {
         return cache;
     }
+
+    /**
+     * Get the provider method by method ID
+     *
+     * @param methodId method ID
+     * @return provider method or null if it does NOT exist
+     */
+    public ProviderMethod getMethod(int methodId) {
+        if (methodId < 0 || methodId >= methods.size()) {
+            return null;
+        }
+        return methods.get(methodId);
+    }
+
+    /**
+     * Find the provider method of the request by the negotiated method ID or the method signature
+     *
+     * @param request RPC request
+     * @return provider method or null if it does NOT exist
+     */
+    public Method findMethod(Requestable request) {
+        if (request.getMethodId() != null) {
+            ProviderMethod providerMethod = getMethod(request.getMethodId());
+            return providerMethod == null ? null : providerMethod.getMethod();
+        }
+        ProviderStub<?> providerStub = findProviderStub(request);
+        return providerStub == null ? null : providerStub.findMethod(request.getMethodName(), request.getMethodParameters());
+    }
+
+    /**
+     * Check whether the request can be executed on IO thread instead of the worker thread pool
+     *
+     * @param request RPC request
+     * @return {@code true} if it is a check health request, a cheap build-in method or an IO thread safe provider method
+     */
+    public boolean isIoThreadSafe(Requestable request) {
+        if (isCheckHealthRequest(request)) {
+            return true;
+        }
+        if (request.getMethodId() != null) {
+            ProviderMethod providerMethod = getMethod(request.getMethodId());
+            return providerMethod != null && providerMethod.isIoThreadSafe();
+        }
+        ProviderStub<?> providerStub = findProviderStub(request);
+        return providerStub != null && providerStub.isIoThreadSafe(request.getMethodName(), request.getMethodParameters());
+    }
+
+    /**
+     * Get the bulkhead which limits the concurrent requests of the request's provider or method
+     *
+     * @param request RPC request
+     * @return bulkhead or null if the concurrent requests are unlimited
+     */
+    public Bulkhead getBulkhead(Requestable request) {
+        if (request.getMethodId() != null) {
+            ProviderMethod providerMethod = getMethod(request.getMethodId());
+            return providerMethod == null ? null : providerMethod.getProviderStub().getBulkhead(
+                    providerMethod.getMethod().getName(), providerMethod.getMethodParameters());
+        }
+        ProviderStub<?> providerStub = findProviderStub(request);
+        return providerStub == null ? null : providerStub.getBulkhead(request.getMethodName(), request.getMethodParameters());
+    }
+
+    /**
+     * Get the provider stub which is exposed by the current JVM with the provider url
+     *
+     * @param providerUrl provider url discovered by consumer
+     * @return provider stub or null if the provider lives in another JVM
+     */
+    public ProviderStub<?> getLocalProviderStub(Url providerUrl) {
+        ProviderStub<?> providerStub = cache.get(ProviderStub.buildProviderStubBeanName(providerUrl.getPath(),
+                providerUrl.getForm(), providerUrl.getVersion()));
+        if (providerStub == null || providerStub.getUrl() == null) {
+            // Not registered yet
+            return null;
+        }
+        if (ProtocolConstants.PROTOCOL_VAL_JVM.equals(providerUrl.getProtocol())
+                || providerStub.getUrl().getAddress().equals(providerUrl.getAddress())) {
+            return providerStub;
+        }
+        return null;
+    }
+
+    private ProviderStub<?> findProviderStub(Requestable request) {
+        return cache.get(ProviderStub.buildProviderStubBeanName(request.getInterfaceName(),
+                request.getOption(ServiceConstants.FORM), request.getOption(ServiceConstants.VERSION)));
+    }
 }
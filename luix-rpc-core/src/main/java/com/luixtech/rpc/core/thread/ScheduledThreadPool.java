@@ -18,8 +18,6 @@ public abstract class ScheduledThreadPool {
     public static final int    CHECK_HEALTH_INTERVAL                  = 500;
     public static final String DESTROY_SENDER_THREAD_POOL             = "DESTROY_SENDER_THREAD_POOL";
     public static final int    DESTROY_SENDER_DELAY                   = 1000;
-    public static final String DESTROY_NETTY_TIMEOUT_TASK_THREAD_POOL = "DESTROY_NETTY_TIMEOUT_THREAD_POOL";
-    public static final int    DESTROY_NETTY_TIMEOUT_INTERVAL         = 100;
 
     private static final Map<String, ScheduledExecutorService> THREAD_POOL_MAP = new HashMap<>();
 
@@ -28,7 +26,6 @@ public abstract class ScheduledThreadPool {
         THREAD_POOL_MAP.put(CALCULATE_MEMORY_THREAD_POOL, Executors.newScheduledThreadPool(1));
         THREAD_POOL_MAP.put(CHECK_HEALTH_THREAD_POOL, Executors.newScheduledThreadPool(1));
         THREAD_POOL_MAP.put(DESTROY_SENDER_THREAD_POOL, Executors.newScheduledThreadPool(1));
-        THREAD_POOL_MAP.put(DESTROY_NETTY_TIMEOUT_TASK_THREAD_POOL, Executors.newScheduledThreadPool(1));
 
         // Destroy the thread pools when the system exits
         ShutdownHook.add(() -> {
@@ -3,6 +3,7 @@ package com.luixtech.rpc.core.utils;
 import com.luixtech.rpc.core.client.request.Requestable;
 import com.luixtech.rpc.core.constant.ProtocolConstants;
 import com.luixtech.rpc.core.constant.ProviderConstants;
+import com.luixtech.rpc.core.constant.RegistryConstants;
 import com.luixtech.rpc.core.constant.RpcConstants;
 import com.luixtech.rpc.core.constant.ServiceConstants;
 import com.luixtech.rpc.core.server.response.Responseable;
@@ -15,6 +16,31 @@ import org.apache.commons.lang3.StringUtils;
 import static org.apache.commons.io.IOUtils.DIR_SEPARATOR_UNIX;
 
 public class RpcFrameworkUtils {
+    /**
+     * Options applied by the client which must be identical to share the client
+     */
+    private static final String[] SHARED_CLIENT_OPTIONS = {
+            ProtocolConstants.CODEC,
+            ProtocolConstants.SERIALIZER,
+            ProtocolConstants.COMPRESSOR,
+            ProtocolConstants.MIN_COMPRESS_SIZE,
+            ProtocolConstants.BINARY_META,
+            ProtocolConstants.CHUNK_SIZE,
+            ProtocolConstants.MAX_CONTENT_LENGTH,
+            ProtocolConstants.MIN_CLIENT_CONN,
+            ProtocolConstants.MAX_CLIENT_CONN,
+            ProtocolConstants.MAX_CLIENT_FAILED_CONN,
+            ProtocolConstants.CLIENT_CONN_EXPAND_THRESHOLD,
+            ProtocolConstants.CLIENT_CONN_IDLE_TIME,
+            ProtocolConstants.ASYNC_CREATE_CONN,
+            ProtocolConstants.TRANSPORT,
+            ProtocolConstants.WRITE_BUFFER_LOW_WATER_MARK,
+            ProtocolConstants.WRITE_BUFFER_HIGH_WATER_MARK,
+            ProtocolConstants.FLUSH_CONSOLIDATION,
+            RegistryConstants.CONNECT_TIMEOUT,
+            ProviderConstants.HEALTH_CHECKER
+    };
+
     /**
      * Get provider key
      *
@@ -50,7 +76,10 @@ public class RpcFrameworkUtils {
      * 		5） maxServerConnection
      * 		6） maxWorkerThread
      * 		7） workerQueueSize
-     * 		8） heartbeatFactory
+     * 		8） overloadPolicy
+     * 		9） executor
+     * 		10）maxVirtualThread
+     * 		11）heartbeatFactory
      * </pre>
      *
      * @param source
@@ -86,6 +115,18 @@ public class RpcFrameworkUtils {
             return false;
         }
 
+        if (!StringUtils.equals(source.getOption(ProtocolConstants.OVERLOAD_POLICY), target.getOption(ProtocolConstants.OVERLOAD_POLICY))) {
+            return false;
+        }
+
+        if (!StringUtils.equals(source.getOption(ProtocolConstants.EXECUTOR), target.getOption(ProtocolConstants.EXECUTOR))) {
+            return false;
+        }
+
+        if (!StringUtils.equals(source.getOption(ProtocolConstants.MAX_VIRTUAL_THREAD), target.getOption(ProtocolConstants.MAX_VIRTUAL_THREAD))) {
+            return false;
+        }
+
         return StringUtils.equals(source.getOption(ProviderConstants.HEALTH_CHECKER), target.getOption(ProviderConstants.HEALTH_CHECKER));
     }
 
@@ -94,11 +135,10 @@ public class RpcFrameworkUtils {
      * <p>
      * <pre>
      * 		1） protocol
-     * 		2） codec
-     * 		3） serialize
-     * 		4） maxContentLength
-     * 		5） maxClientConnection
-     * 		6） heartbeatFactory
+     * 		2） codec and its options, e.g. serializer, compressor, binaryMeta, chunkSize
+     * 		3） connection pool options, e.g. minClientConnection, maxClientConnection
+     * 		4） channel options, e.g. transport, write buffer water marks, flushConsolidation
+     * 		5） heartbeatFactory
      * </pre>
      *
      * @param source
@@ -109,25 +149,14 @@ public class RpcFrameworkUtils {
         if (!StringUtils.equals(source.getProtocol(), target.getProtocol())) {
             return false;
         }
-
-        if (!StringUtils.equals(source.getOption(ProtocolConstants.CODEC), target.getOption(ProtocolConstants.CODEC))) {
-            return false;
+        // The shared client is created with the options of the first interface,
+        // so the interfaces with any different option applied by the client can NOT share it
+        for (String option : SHARED_CLIENT_OPTIONS) {
+            if (!StringUtils.equals(source.getOption(option), target.getOption(option))) {
+                return false;
+            }
         }
-
-        if (!StringUtils.equals(source.getOption(ProtocolConstants.SERIALIZER), target.getOption(ProtocolConstants.SERIALIZER))) {
-            return false;
-        }
-
-        if (!StringUtils.equals(source.getOption(ProtocolConstants.MAX_CONTENT_LENGTH), target.getOption(ProtocolConstants.MAX_CONTENT_LENGTH))) {
-            return false;
-        }
-
-//        if (!StringUtils.equals(source.getOption(MAX_CLIENT_CONN), target.getOption(MAX_CLIENT_CONN))) {
-//            return false;
-//        }
-
-        return StringUtils.equals(source.getOption(ProviderConstants.HEALTH_CHECKER), target.getOption(ProviderConstants.HEALTH_CHECKER));
-
+        return true;
     }
 
     public static String getFormFromRequest(Requestable request) {
@@ -142,6 +171,21 @@ public class RpcFrameworkUtils {
         return MapUtils.isNotEmpty(request.getOptions()) ? request.getOption(key) : null;
     }
 
+    /**
+     * Get the deadline of the request received by server, the client sends the timeout instead of the absolute deadline
+     * because the clocks of the client and server may NOT be synchronized
+     *
+     * @param request RPC request
+     * @return absolute deadline in milliseconds or 0 if there is no deadline
+     */
+    public static long getDeadline(Requestable request) {
+        int timeout = request.getIntOption(ServiceConstants.REQUEST_TIMEOUT, ServiceConstants.REQUEST_TIMEOUT_VAL_DEFAULT);
+        if (timeout <= 0 || request.getReceivedTime() <= 0) {
+            return 0;
+        }
+        return request.getReceivedTime() + timeout;
+    }
+
     /**
      * 获取默认motan协议配置
      *
@@ -21,7 +21,7 @@ public abstract class SerializerHolder {
         }
     }
 
-    public static synchronized Serializer getSerializerById(int id) {
+    public static Serializer getSerializerById(int id) {
         return SERIALIZER_CACHE.get(id);
     }
 }
@@ -0,0 +1,165 @@
+package com.luixtech.rpc.core.client.sender.impl;
+
+import com.luixtech.rpc.core.client.loadbalancer.LoadBalancer;
+import com.luixtech.rpc.core.client.request.Requestable;
+import com.luixtech.rpc.core.client.request.impl.RpcRequest;
+import com.luixtech.rpc.core.client.sender.Sendable;
+import com.luixtech.rpc.core.constant.ConsumerConstants;
+import com.luixtech.rpc.core.constant.ProtocolConstants;
+import com.luixtech.rpc.core.protocol.Protocol;
+import com.luixtech.rpc.core.server.response.Responseable;
+import com.luixtech.rpc.core.server.stub.Bulkhead;
+import com.luixtech.rpc.core.server.stub.ProviderStub;
+import com.luixtech.rpc.core.url.Url;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JvmRequestSenderTests {
+
+    public interface EchoService {
+        List<String> echo(List<String> values);
+    }
+
+    public interface ReentrantService {
+        String call(String value);
+    }
+
+    private static ProviderStub<ReentrantService> reentrantStub;
+    private static Sendable                       reentrantSender;
+
+    @BeforeAll
+    public static void setUp() {
+        ProviderStub<EchoService> providerStub = new ProviderStub<>();
+        providerStub.setInterfaceClass(EchoService.class);
+        providerStub.setInterfaceName(EchoService.class.getName());
+        providerStub.setInstance(values -> values);
+        providerStub.init();
+        providerStub.setUrl(Url.providerUrl(ProtocolConstants.PROTOCOL_VAL_LUIX, "127.0.0.1", 16010, EchoService.class.getName()));
+        providerStub.getActivated().set(true);
+
+        reentrantStub = new ProviderStub<>();
+        reentrantStub.setInterfaceClass(ReentrantService.class);
+        reentrantStub.setInterfaceName(ReentrantService.class.getName());
+        reentrantStub.setMaxConcurrentRequests(1);
+        // Call the provider again while the first request holds the only permit
+        reentrantStub.setInstance(value -> value.isEmpty() ? String.valueOf(
+                reentrantSender.sendRequest(createRequest(ReentrantService.class, "call", "nested")).getException()) : value);
+        reentrantStub.init();
+        reentrantStub.setUrl(Url.providerUrl(ProtocolConstants.PROTOCOL_VAL_LUIX, "127.0.0.1", 16010, ReentrantService.class.getName()));
+        reentrantStub.getActivated().set(true);
+    }
+
+    @Test
+    public void testCallLocalProvider() {
+        List<String> values = new ArrayList<>(Collections.singletonList("hello"));
+        Sendable sender = createRequestSender(ConsumerConstants.LOCAL_COPY_VAL_NONE);
+        assertThat(sender).isInstanceOf(JvmRequestSender.class);
+        assertThat(sender.isLocal()).isTrue();
+        // Passed by reference
+        assertThat(sender.sendRequest(createRequest(values)).getResult()).isSameAs(values);
+
+        sender = createRequestSender(ConsumerConstants.LOCAL_COPY_VAL_SERIALIZE);
+        Object result = sender.sendRequest(createRequest(values)).getResult();
+        assertThat(result).isEqualTo(values).isNotSameAs(values);
+    }
+
+    @Test
+    public void testLimitLocalRequestsByBulkhead() {
+        reentrantSender = createRequestSender(ReentrantService.class, ConsumerConstants.LOCAL_COPY_VAL_NONE);
+        Object result = reentrantSender.sendRequest(createRequest(ReentrantService.class, "call", "")).getResult();
+        assertThat(result).asString().contains("exceeding the max concurrent requests of bulkhead");
+
+        // The permit is released after the request has been processed
+        assertThat(reentrantSender.sendRequest(createRequest(ReentrantService.class, "call", "hello")).getResult()).isEqualTo("hello");
+    }
+
+    @Test
+    public void testFallBackToRemoteSenderIfLocalBulkheadFull() {
+        Sendable localSender = createRequestSender(ReentrantService.class, ConsumerConstants.LOCAL_COPY_VAL_NONE);
+        Sendable remoteSender = new RemoteRequestSender();
+        LoadBalancer loadBalancer = LoadBalancer.getInstance(ConsumerConstants.LOAD_BALANCER_VAL_RANDOM);
+        loadBalancer.refresh(Arrays.asList(remoteSender, localSender));
+        RpcRequest request = createRequest(ReentrantService.class, "call", "hello");
+        assertThat(loadBalancer.selectActiveSender(request)).isSameAs(localSender);
+
+        Bulkhead bulkhead = reentrantStub.getBulkhead(request.getMethodName(), request.getMethodParameters());
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        try {
+            assertThat(localSender.hasCapacity(request)).isFalse();
+            assertThat(loadBalancer.selectActiveSender(request)).isSameAs(remoteSender);
+        } finally {
+            bulkhead.release();
+        }
+        assertThat(loadBalancer.selectActiveSender(request)).isSameAs(localSender);
+    }
+
+    private Sendable createRequestSender(String localCopy) {
+        return createRequestSender(EchoService.class, localCopy);
+    }
+
+    private static Sendable createRequestSender(Class<?> interfaceClass, String localCopy) {
+        Url consumerUrl = Url.consumerUrl(ProtocolConstants.PROTOCOL_VAL_LUIX, "127.0.0.1", 16011, interfaceClass.getName());
+        consumerUrl.addOption(ConsumerConstants.LOCAL_COPY, localCopy);
+        Url providerUrl = Url.providerUrl(ProtocolConstants.PROTOCOL_VAL_LUIX, "127.0.0.1", 16010, interfaceClass.getName());
+        return Protocol.getInstance(ProtocolConstants.PROTOCOL_VAL_LUIX).createRequestSender(consumerUrl, providerUrl);
+    }
+
+    private RpcRequest createRequest(List<String> values) {
+        RpcRequest request = new RpcRequest();
+        request.setInterfaceName(EchoService.class.getName());
+        request.setMethodName("echo");
+        request.setMethodParameters(List.class.getName());
+        request.setMethodArguments(new Object[]{values});
+        return request;
+    }
+
+    private static RpcRequest createRequest(Class<?> interfaceClass, String methodName, String value) {
+        RpcRequest request = new RpcRequest();
+        request.setInterfaceName(interfaceClass.getName());
+        request.setMethodName(methodName);
+        request.setMethodParameters(String.class.getName());
+        request.setMethodArguments(new Object[]{value});
+        return request;
+    }
+
+    private static class RemoteRequestSender implements Sendable {
+        private final Url providerUrl = Url.providerUrl(ProtocolConstants.PROTOCOL_VAL_LUIX, "127.0.0.2", 16010,
+                ReentrantService.class.getName());
+
+        @Override
+        public Url getProviderUrl() {
+            return providerUrl;
+        }
+
+        @Override
+        public boolean isActive() {
+            return true;
+        }
+
+        @Override
+        public boolean isLocal() {
+            return false;
+        }
+
+        @Override
+        public boolean hasCapacity(Requestable request) {
+            return true;
+        }
+
+        @Override
+        public Responseable sendRequest(Requestable request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.luixtech.rpc.core.codec.compressor;
+
+import com.luixtech.rpc.core.constant.ProtocolConstants;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CompressorTests {
+
+    @Test
+    public void testCompressAndDecompress() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            sb.append("{\"id\":").append(i).append(",\"name\":\"menu\",\"url\":\"/admin/menus\"}");
+        }
+        byte[] data = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+        for (String name : ProtocolConstants.COMPRESSORS) {
+            Compressor compressor = Compressor.getInstance(name);
+            byte[] compressed = compressor.compress(data);
+            assertThat(compressed.length).as(name).isLessThan(data.length);
+            assertThat(compressor.decompress(compressed, data.length)).as(name).isEqualTo(data);
+        }
+    }
+
+    @Test
+    public void testRejectDecompressionBomb() throws Exception {
+        byte[] data = new byte[1024 * 1024];
+        for (String name : ProtocolConstants.COMPRESSORS) {
+            Compressor compressor = Compressor.getInstance(name);
+            byte[] compressed = compressor.compress(data);
+            assertThatThrownBy(() -> compressor.decompress(compressed, data.length - 1)).as(name)
+                    .isInstanceOf(IOException.class);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.luixtech.rpc.core.codec.impl;
+
+import com.luixtech.rpc.core.constant.ServiceConstants;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BinaryMetaTests {
+
+    @Test
+    public void testEncodeAndDecode() {
+        GrowableByteBuffer buf = new GrowableByteBuffer(16);
+        BinaryMeta.put(buf, CodecV2.M_INTERFACE, "com.luixtech.rpc.democommon.service.AdminMenuService");
+        BinaryMeta.put(buf, CodecV2.M_ELAPSED_TIME, 12L);
+        BinaryMeta.put(buf, ServiceConstants.REQUEST_TIMEOUT, "1000");
+        // Malformed numeric value falls back to custom entry
+        BinaryMeta.put(buf, ServiceConstants.RETRY_COUNT, "one");
+        // Value can contain newline
+        BinaryMeta.put(buf, "traceId", "a\nb");
+
+        Map<String, String> meta = BinaryMeta.decode(ByteBuffer.wrap(buf.array(), 0, buf.position()));
+        assertThat(meta).hasSize(5)
+                .containsEntry(CodecV2.M_INTERFACE, "com.luixtech.rpc.democommon.service.AdminMenuService")
+                .containsEntry(CodecV2.M_ELAPSED_TIME, "12")
+                .containsEntry(ServiceConstants.REQUEST_TIMEOUT, "1000")
+                .containsEntry(ServiceConstants.RETRY_COUNT, "one")
+                .containsEntry("traceId", "a\nb");
+    }
+}
@@ -0,0 +1,38 @@
+package com.luixtech.rpc.core.exchange;
+
+import com.luixtech.rpc.core.client.request.impl.RpcRequest;
+import com.luixtech.rpc.core.constant.ServiceConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RpcContextTests {
+
+    @AfterEach
+    public void destroy() {
+        RpcContext.destroy();
+    }
+
+    @Test
+    public void testRemainingTime() {
+        RpcRequest request = new RpcRequest();
+        request.addOption(ServiceConstants.REQUEST_TIMEOUT, 1000);
+        // No deadline before the request was received by server
+        assertThat(RpcContext.init(request).getRemainingTime()).isEqualTo(-1);
+
+        request.setReceivedTime(System.currentTimeMillis());
+        assertThat(RpcContext.init(request).getRemainingTime()).isBetween(1L, 1000L);
+        assertThat(RpcContext.getInstance().getRemainingTime()).isBetween(1L, 1000L);
+
+        // The request waited in the work queue past its deadline
+        request.setReceivedTime(System.currentTimeMillis() - 2000);
+        assertThat(RpcContext.init(request).getRemainingTime()).isZero();
+
+        RpcContext.destroy();
+        // The context is NOT created by peeking it
+        assertThat(RpcContext.current()).isNull();
+        assertThat(RpcContext.getInstance().getRemainingTime()).isEqualTo(-1);
+        assertThat(RpcContext.current()).isSameAs(RpcContext.getInstance());
+    }
+}
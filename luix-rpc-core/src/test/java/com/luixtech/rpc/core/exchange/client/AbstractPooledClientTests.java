@@ -0,0 +1,253 @@
+package com.luixtech.rpc.core.exchange.client;
+
+import com.luixtech.rpc.core.client.request.Requestable;
+import com.luixtech.rpc.core.constant.ProtocolConstants;
+import com.luixtech.rpc.core.exception.impl.RpcFrameworkException;
+import com.luixtech.rpc.core.exchange.Channel;
+import com.luixtech.rpc.core.exchange.constants.ChannelState;
+import com.luixtech.rpc.core.server.response.Responseable;
+import com.luixtech.rpc.core.url.Url;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AbstractPooledClientTests {
+
+    @Test
+    public void testSelectLeastPendingChannel() {
+        TestPooledClient client = new TestPooledClient(3, 3, 200, ProtocolConstants.CLIENT_CONN_IDLE_TIME_VAL_DEFAULT);
+        client.built.get(0).pending = 5;
+        client.built.get(1).pending = 1;
+        client.built.get(2).pending = 3;
+        for (int i = 0; i < 3; i++) {
+            assertThat(client.getChannel()).isSameAs(client.built.get(1));
+        }
+
+        // The writable channel takes precedence
+        client.built.get(1).writable = false;
+        assertThat(client.getChannel()).isSameAs(client.built.get(2));
+
+        // The inactive channel is rebuilt and skipped
+        client.built.get(2).active = false;
+        assertThat(client.getChannel()).isSameAs(client.built.get(0));
+        assertThat(client.rebuilds.get()).isEqualTo(1);
+
+        client.built.forEach(channel -> channel.writable = false);
+        assertThatThrownBy(client::getChannel).isInstanceOf(RpcFrameworkException.class).hasMessageContaining("No writable channel");
+    }
+
+    @Test
+    public void testAddChannelIfBusy() throws InterruptedException {
+        TestPooledClient client = new TestPooledClient(1, 2, 2, ProtocolConstants.CLIENT_CONN_IDLE_TIME_VAL_DEFAULT);
+        grow(client);
+        assertThat(client.built).hasSize(2);
+        assertThat(client.built.get(1).opened).isTrue();
+    }
+
+    @Test
+    public void testRetireAndDrainIdleChannel() throws InterruptedException {
+        TestPooledClient client = new TestPooledClient(1, 2, 2, 1);
+        grow(client);
+        TestChannel first = client.built.get(0);
+        TestChannel second = client.built.get(1);
+        first.pending = 0;
+        second.pending = 1;
+
+        // One channel can carry the pending requests, so the last channel is retired
+        Thread.sleep(10);
+        assertThat(client.getChannel()).isSameAs(first);
+        first.pending = 5;
+        assertThat(client.getChannel()).isSameAs(first);
+
+        // The retired channel is NOT closed until the pending requests complete
+        first.pending = 0;
+        Thread.sleep(10);
+        client.getChannel();
+        assertThat(second.closed).isFalse();
+
+        second.pending = 0;
+        Thread.sleep(10);
+        client.getChannel();
+        assertThat(second.closed).isTrue();
+        assertThat(first.closed).isFalse();
+    }
+
+    @Test
+    public void testKeepChannelsIfBusy() throws InterruptedException {
+        TestPooledClient client = new TestPooledClient(1, 2, 2, 1);
+        grow(client);
+        TestChannel first = client.built.get(0);
+        TestChannel second = client.built.get(1);
+        // The least loaded channel is idle, but the pool is busy
+        first.pending = 0;
+        second.pending = 10;
+        for (int i = 0; i < 3; i++) {
+            Thread.sleep(10);
+            assertThat(client.getChannel()).isSameAs(first);
+        }
+
+        first.pending = 20;
+        assertThat(client.getChannel()).isSameAs(second);
+        assertThat(second.closed).isFalse();
+    }
+
+    private void grow(TestPooledClient client) throws InterruptedException {
+        client.built.get(0).pending = 2;
+        // The channel is added asynchronously
+        for (int i = 0; i < 500 && (client.getChannel() == client.built.get(0)); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(client.getChannel()).isSameAs(client.built.get(1));
+    }
+
+    private static class TestPooledClient extends AbstractPooledClient {
+        private final List<TestChannel> built    = new CopyOnWriteArrayList<>();
+        private final AtomicInteger     rebuilds = new AtomicInteger();
+
+        TestPooledClient(int minChannelSize, int maxChannelSize, int expandThreshold, int idleTime) {
+            super(createUrl(minChannelSize, maxChannelSize, expandThreshold, idleTime));
+            createConnectionPool();
+        }
+
+        private static Url createUrl(int minChannelSize, int maxChannelSize, int expandThreshold, int idleTime) {
+            Url url = Url.providerUrl(ProtocolConstants.PROTOCOL_VAL_LUIX, "127.0.0.1", 26010, "com.luixtech.TestService");
+            url.addOption(ProtocolConstants.MIN_CLIENT_CONN, String.valueOf(minChannelSize));
+            url.addOption(ProtocolConstants.MAX_CLIENT_CONN, String.valueOf(maxChannelSize));
+            url.addOption(ProtocolConstants.CLIENT_CONN_EXPAND_THRESHOLD, String.valueOf(expandThreshold));
+            url.addOption(ProtocolConstants.CLIENT_CONN_IDLE_TIME, String.valueOf(idleTime));
+            return url;
+        }
+
+        @Override
+        protected SharedObjectFactory<Channel> createChannelFactory() {
+            return new SharedObjectFactory<Channel>() {
+                @Override
+                public Channel buildObject() {
+                    TestChannel channel = new TestChannel(providerUrl);
+                    built.add(channel);
+                    return channel;
+                }
+
+                @Override
+                public boolean rebuildObject(Channel obj, boolean async) {
+                    rebuilds.incrementAndGet();
+                    return true;
+                }
+            };
+        }
+
+        @Override
+        protected int getPendingRequestCount(Channel channel) {
+            return ((TestChannel) channel).pending;
+        }
+
+        @Override
+        protected boolean isWritable(Channel channel) {
+            return ((TestChannel) channel).writable;
+        }
+
+        @Override
+        public void checkHealth(Requestable request) {
+        }
+
+        @Override
+        public Responseable request(Requestable request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean open() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+            closeAllChannels();
+        }
+
+        @Override
+        public void close(int timeout) {
+            close();
+        }
+
+        @Override
+        public boolean isClosed() {
+            return false;
+        }
+
+        @Override
+        public boolean isActive() {
+            return true;
+        }
+    }
+
+    private static class TestChannel implements Channel {
+        private final    Url     providerUrl;
+        private volatile int     pending;
+        private volatile boolean writable = true;
+        private volatile boolean active   = true;
+        private volatile boolean opened;
+        private volatile boolean closed;
+
+        TestChannel(Url providerUrl) {
+            this.providerUrl = providerUrl;
+        }
+
+        @Override
+        public Responseable request(Requestable request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean open() {
+            opened = true;
+            return true;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public void close(int timeout) {
+            close();
+        }
+
+        @Override
+        public InetSocketAddress getLocalAddress() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return null;
+        }
+
+        @Override
+        public ChannelState getState() {
+            return closed ? ChannelState.CLOSED : ChannelState.ACTIVE;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public boolean isActive() {
+            return active && !closed;
+        }
+
+        @Override
+        public Url getProviderUrl() {
+            return providerUrl;
+        }
+    }
+}
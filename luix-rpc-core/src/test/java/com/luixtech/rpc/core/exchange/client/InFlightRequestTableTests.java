@@ -0,0 +1,53 @@
+package com.luixtech.rpc.core.exchange.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InFlightRequestTableTests {
+
+    @Test
+    public void testPutGetAndRemove() {
+        InFlightRequestTable<String> table = new InFlightRequestTable<>(10);
+        assertThat(table.tryPut(1L, "a")).isTrue();
+        assertThat(table.tryPut(1L, "b")).isTrue();
+        assertThat(table.size()).isEqualTo(1);
+        assertThat(table.get(1L)).isEqualTo("b");
+        assertThat(table.remove(1L)).isEqualTo("b");
+        assertThat(table.remove(1L)).isNull();
+        assertThat(table.get(1L)).isNull();
+        assertThat(table.size()).isZero();
+    }
+
+    @Test
+    public void testMaxSize() {
+        InFlightRequestTable<String> table = new InFlightRequestTable<>(2);
+        assertThat(table.tryPut(1L, "a")).isTrue();
+        assertThat(table.tryPut(2L, "b")).isTrue();
+        assertThat(table.tryPut(3L, "c")).isFalse();
+        assertThat(table.get(3L)).isNull();
+        table.remove(1L);
+        assertThat(table.tryPut(3L, "c")).isTrue();
+        table.clear();
+        assertThat(table.size()).isZero();
+        assertThat(table.get(2L)).isNull();
+    }
+
+    @Test
+    public void testManyEntries() {
+        int count = 100_000;
+        InFlightRequestTable<Long> table = new InFlightRequestTable<>(count);
+        long base = System.currentTimeMillis() << 20;
+        for (long i = 0; i < count; i++) {
+            assertThat(table.tryPut(base + i, i)).isTrue();
+        }
+        // Remove the even IDs to shift the following entries of the probe sequences backward
+        for (long i = 0; i < count; i += 2) {
+            assertThat(table.remove(base + i)).isEqualTo(i);
+        }
+        assertThat(table.size()).isEqualTo(count / 2);
+        for (long i = 0; i < count; i++) {
+            assertThat(table.get(base + i)).isEqualTo(i % 2 == 0 ? null : i);
+        }
+    }
+}
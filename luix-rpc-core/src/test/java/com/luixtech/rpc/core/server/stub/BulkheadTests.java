@@ -0,0 +1,31 @@
+package com.luixtech.rpc.core.server.stub;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BulkheadTests {
+
+    @Test
+    public void testAcquireAndRelease() {
+        Bulkhead bulkhead = new Bulkhead("com.luixtech.TestService", 2);
+
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.getQueueDepth()).isEqualTo(2);
+        // Exceeded the max concurrent requests
+        assertThat(bulkhead.tryAcquire()).isFalse();
+        assertThat(bulkhead.getRejectedCount()).isEqualTo(1);
+
+        bulkhead.onStart();
+        assertThat(bulkhead.getActiveCount()).isEqualTo(1);
+        assertThat(bulkhead.getQueueDepth()).isEqualTo(1);
+
+        bulkhead.onFinish();
+        // Rejected by the executor before being started
+        bulkhead.release();
+        assertThat(bulkhead.getActiveCount()).isZero();
+        assertThat(bulkhead.getQueueDepth()).isZero();
+        assertThat(bulkhead.tryAcquire()).isTrue();
+    }
+}
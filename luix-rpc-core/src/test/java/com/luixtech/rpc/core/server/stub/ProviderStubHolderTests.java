@@ -0,0 +1,43 @@
+package com.luixtech.rpc.core.server.stub;
+
+import com.luixtech.rpc.core.client.request.impl.RpcRequest;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProviderStubHolderTests {
+
+    public interface CacheService {
+        String get(String key);
+
+        void put(String key, String value);
+    }
+
+    @Test
+    public void testResolveIoThreadSafeByMethodId() {
+        ProviderStub<CacheService> providerStub = new ProviderStub<>();
+        providerStub.setInterfaceClass(CacheService.class);
+        providerStub.setInterfaceName(CacheService.class.getName());
+        providerStub.init();
+        RpcRequest getRequest = createRequest(providerStub, "get");
+        RpcRequest putRequest = createRequest(providerStub, "put");
+        assertThat(ProviderStubHolder.getInstance().isIoThreadSafe(getRequest)).isFalse();
+
+        // The method configuration is set after the method IDs were assigned
+        providerStub.getMethodConfig().put("get(java.lang.String)", MethodConfig.builder().ioThreadSafe("true").build());
+        ProviderStubHolder.getInstance().refreshMethods(providerStub);
+        assertThat(ProviderStubHolder.getInstance().isIoThreadSafe(getRequest)).isTrue();
+        assertThat(ProviderStubHolder.getInstance().isIoThreadSafe(putRequest)).isFalse();
+    }
+
+    private RpcRequest createRequest(ProviderStub<?> providerStub, String methodName) {
+        MethodMeta methodMeta = providerStub.getMethodMetas().stream()
+                .filter(meta -> meta.getMethodName().equals(methodName))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+        RpcRequest request = new RpcRequest();
+        request.setInterfaceName(providerStub.getInterfaceName());
+        request.setMethodId(methodMeta.getMethodId());
+        return request;
+    }
+}
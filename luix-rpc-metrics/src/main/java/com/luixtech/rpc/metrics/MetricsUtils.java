@@ -1,11 +1,13 @@
 package com.luixtech.rpc.metrics;
 
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.Validate;
 
 import java.text.DecimalFormat;
 import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
 
 @Slf4j
 public abstract class MetricsUtils {
@@ -16,9 +18,13 @@ public abstract class MetricsUtils {
     private static final String LUIX_OTHER_EXCEPTION     = "luix_other_exception";
     private static final String LUIX_PROCESSING_TIME     = "luix_processing_time";
     private static final String LUIX_BIZ_PROCESSING_TIME = "luix_biz_processing_time";
+    private static final String LUIX_BULKHEAD_ACTIVE     = "luix_bulkhead_active";
+    private static final String LUIX_BULKHEAD_QUEUED     = "luix_bulkhead_queued";
+    private static final String LUIX_BULKHEAD_REJECTION  = "luix_bulkhead_rejection";
     private static final String REQUEST_ID               = "requestId";
     private static final String METHOD                   = "method";
     private static final String THRESHOLD                = "threshold";
+    private static final String BULKHEAD                 = "bulkhead";
 
     public static String getMemoryStatistic() {
         Runtime runtime = Runtime.getRuntime();
@@ -57,4 +63,26 @@ public abstract class MetricsUtils {
             log.warn("Found RPC other exception for {} with request ID: {}", name, requestId);
         }
     }
+
+    /**
+     * Register the gauges of the bulkhead which limits the concurrent requests of the provider or method
+     *
+     * @param name        bulkhead name
+     * @param bulkhead    bulkhead, it is weakly referenced by the gauges
+     * @param activeCount function to get the count of the executing requests
+     * @param queueDepth  function to get the count of the requests waiting for the thread
+     * @param <T>         bulkhead type
+     */
+    public static <T> void gaugeBulkhead(String name, T bulkhead, ToDoubleFunction<T> activeCount, ToDoubleFunction<T> queueDepth) {
+        Validate.notNull(name, "name cannot be null");
+
+        Metrics.gauge(LUIX_BULKHEAD_ACTIVE, Tags.of(BULKHEAD, name), bulkhead, activeCount);
+        Metrics.gauge(LUIX_BULKHEAD_QUEUED, Tags.of(BULKHEAD, name), bulkhead, queueDepth);
+    }
+
+    public static void trackBulkheadRejection(String name) {
+        Validate.notNull(name, "name cannot be null");
+
+        Metrics.counter(LUIX_BULKHEAD_REJECTION, BULKHEAD, name).increment();
+    }
 }
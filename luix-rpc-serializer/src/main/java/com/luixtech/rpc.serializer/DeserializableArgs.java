@@ -1,21 +1,55 @@
 package com.luixtech.rpc.serializer;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 public class DeserializableArgs {
-    private final Serializer serializer;
-    private final byte[]     objBytes;
+    private final Serializer  serializer;
+    private final byte[]      objBytes;
+    private final InputStream objStream;
 
     public DeserializableArgs(Serializer serializer, byte[] argsBytes) {
         this.serializer = serializer;
         this.objBytes = argsBytes;
+        this.objStream = null;
+    }
+
+    /**
+     * The input stream is read in place and closed once the arguments have been deserialized
+     *
+     * @param serializer serializer
+     * @param argsStream arguments input stream
+     */
+    public DeserializableArgs(Serializer serializer, InputStream argsStream) {
+        this.serializer = serializer;
+        this.objBytes = null;
+        this.objStream = argsStream;
     }
 
     public Object[] deserialize(Class<?>[] paramTypes) throws IOException {
-        Object[] ret = null;
-        if (paramTypes != null && paramTypes.length > 0) {
-            ret = serializer.deserializeArray(objBytes, paramTypes);
+        try {
+            Object[] ret = null;
+            if (paramTypes != null && paramTypes.length > 0) {
+                ret = objStream != null
+                        ? serializer.deserializeArray(objStream, paramTypes)
+                        : serializer.deserializeArray(objBytes, paramTypes);
+            }
+            return ret;
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Release the underlying input stream, it must be called if the arguments will never be deserialized
+     */
+    public void release() {
+        if (objStream != null) {
+            try {
+                objStream.close();
+            } catch (IOException e) {
+                // Leave blank intentionally
+            }
         }
-        return ret;
     }
 }
@@ -2,19 +2,56 @@ package com.luixtech.rpc.serializer;
 
 
 import java.io.IOException;
+import java.io.InputStream;
 
 public class DeserializableResult {
-    private final Serializer serializer;
-    private final byte[]     objBytes;
-    private final Class<?>   actualReturnType;
+    private final Serializer  serializer;
+    private final byte[]      objBytes;
+    private final InputStream objStream;
+    private final Class<?>    actualReturnType;
 
     public DeserializableResult(Serializer serializer, byte[] resultBytes, Class<?> actualReturnType) {
         this.serializer = serializer;
         this.objBytes = resultBytes;
+        this.objStream = null;
+        this.actualReturnType = actualReturnType;
+    }
+
+    /**
+     * The input stream is read in place and closed once the result has been deserialized
+     *
+     * @param serializer       serializer
+     * @param resultStream     result input stream
+     * @param actualReturnType actual return type
+     */
+    public DeserializableResult(Serializer serializer, InputStream resultStream, Class<?> actualReturnType) {
+        this.serializer = serializer;
+        this.objBytes = null;
+        this.objStream = resultStream;
         this.actualReturnType = actualReturnType;
     }
 
     public Object deserialize() throws IOException {
-        return serializer.deserialize(objBytes, actualReturnType);
+        if (objStream == null) {
+            return serializer.deserialize(objBytes, actualReturnType);
+        }
+        try {
+            return serializer.deserialize(objStream, actualReturnType);
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Release the underlying input stream, it must be called if the result will never be deserialized
+     */
+    public void release() {
+        if (objStream != null) {
+            try {
+                objStream.close();
+            } catch (IOException e) {
+                // Leave blank intentionally
+            }
+        }
     }
 }
@@ -5,6 +5,8 @@ import com.luixtech.utilities.serviceloader.annotation.Spi;
 import com.luixtech.utilities.serviceloader.annotation.SpiScope;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 @Spi(scope = SpiScope.SINGLETON)
 public interface Serializer {
@@ -55,6 +57,57 @@ public interface Serializer {
      */
     Object[] deserializeArray(byte[] data, Class<?>[] classes) throws IOException;
 
+    /**
+     * Serialize input object to the output stream, the stream is written in place without intermediate byte array
+     * if the serializer supports streaming, otherwise it delegates to the byte array method
+     *
+     * @param object input object
+     * @param out    output stream
+     * @throws IOException if any IOException thrown
+     */
+    default void serialize(Object object, OutputStream out) throws IOException {
+        out.write(serialize(object));
+    }
+
+    /**
+     * Serialize array to the output stream, the stream is written in place without intermediate byte array
+     * if the serializer supports streaming, otherwise it delegates to the byte array method
+     *
+     * @param objects object array
+     * @param out     output stream
+     * @throws IOException if any exception throws
+     */
+    default void serializeArray(Object[] objects, OutputStream out) throws IOException {
+        out.write(serializeArray(objects));
+    }
+
+    /**
+     * Deserialize the input stream to output object, the stream is read in place without being copied to byte array
+     * if the serializer supports streaming, otherwise it delegates to the byte array method
+     *
+     * @param in               input stream
+     * @param outputObjectType output object type
+     * @param <T>              output object type generic
+     * @return output object
+     * @throws IOException if any IOException thrown
+     */
+    default <T> T deserialize(InputStream in, Class<T> outputObjectType) throws IOException {
+        return deserialize(in.readAllBytes(), outputObjectType);
+    }
+
+    /**
+     * Deserialize the input stream to object array, the stream is read in place without being copied to byte array
+     * if the serializer supports streaming, otherwise it delegates to the byte array method
+     *
+     * @param in      input stream
+     * @param classes target object class
+     * @return Object array
+     * @throws IOException if any exception throws
+     */
+    default Object[] deserializeArray(InputStream in, Class<?>[] classes) throws IOException {
+        return deserializeArray(in.readAllBytes(), classes);
+    }
+
     /**
      * Get serializer unique ID，it used to specify serializer in transport protocol
      *
@@ -8,6 +8,8 @@ import com.luixtech.utilities.serviceloader.annotation.SpiName;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 /**
  * Hessian2 requirements:
@@ -18,43 +20,121 @@ import java.io.IOException;
  */
 @SpiName(Serializer.SERIALIZER_NAME_HESSIAN2)
 public class Hessian2Serializer implements Serializer {
+    /**
+     * Hessian2 output and input are pooled per thread, the instance is taken away while being used,
+     * so the nested serialization on the same thread creates a new one.
+     */
+    private static final ThreadLocal<Hessian2Output> OUTPUT = new ThreadLocal<>();
+    private static final ThreadLocal<Hessian2Input>  INPUT  = new ThreadLocal<>();
+
     @Override
     public byte[] serialize(Object object) throws IOException {
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        Hessian2Output out = new Hessian2Output(bos);
-        out.writeObject(object);
-        out.flush();
+        serialize(object, bos);
         return bos.toByteArray();
     }
 
-    @SuppressWarnings("unchecked")
+    @Override
+    public void serialize(Object object, OutputStream os) throws IOException {
+        Hessian2Output out = acquireOutput(os);
+        try {
+            out.writeObject(object);
+            out.flush();
+        } finally {
+            releaseOutput(out);
+        }
+    }
+
     @Override
     public <T> T deserialize(byte[] data, Class<T> clz) throws IOException {
-        Hessian2Input input = new Hessian2Input(new ByteArrayInputStream(data));
-        return (T) input.readObject(clz);
+        return deserialize(new ByteArrayInputStream(data), clz);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T deserialize(InputStream in, Class<T> clz) throws IOException {
+        Hessian2Input input = acquireInput(in);
+        // The input is NOT returned to the pool if it failed, its buffer and chunk states are undefined
+        T object = (T) input.readObject(clz);
+        releaseInput(input);
+        return object;
     }
 
     @Override
     public byte[] serializeArray(Object[] objects) throws IOException {
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        Hessian2Output out = new Hessian2Output(bos);
-        for (Object obj : objects) {
-            out.writeObject(obj);
-        }
-        out.flush();
+        serializeArray(objects, bos);
         return bos.toByteArray();
     }
 
+    @Override
+    public void serializeArray(Object[] objects, OutputStream os) throws IOException {
+        Hessian2Output out = acquireOutput(os);
+        try {
+            for (Object obj : objects) {
+                out.writeObject(obj);
+            }
+            out.flush();
+        } finally {
+            releaseOutput(out);
+        }
+    }
+
     @Override
     public Object[] deserializeArray(byte[] data, Class<?>[] classes) throws IOException {
-        Hessian2Input input = new Hessian2Input(new ByteArrayInputStream(data));
+        return deserializeArray(new ByteArrayInputStream(data), classes);
+    }
+
+    @Override
+    public Object[] deserializeArray(InputStream in, Class<?>[] classes) throws IOException {
+        Hessian2Input input = acquireInput(in);
         Object[] objects = new Object[classes.length];
         for (int i = 0; i < classes.length; i++) {
             objects[i] = input.readObject(classes[i]);
         }
+        releaseInput(input);
         return objects;
     }
 
+    private Hessian2Output acquireOutput(OutputStream os) {
+        Hessian2Output out = OUTPUT.get();
+        if (out == null) {
+            return new Hessian2Output(os);
+        }
+        OUTPUT.set(null);
+        out.init(os);
+        return out;
+    }
+
+    private void releaseOutput(Hessian2Output out) {
+        // Drop the references to the stream and written objects
+        out.free();
+        OUTPUT.set(out);
+    }
+
+    private Hessian2Input acquireInput(InputStream in) {
+        Hessian2Input input = INPUT.get();
+        if (input == null) {
+            return new Hessian2Input(in);
+        }
+        INPUT.set(null);
+        input.init(in);
+        return input;
+    }
+
+    private void releaseInput(Hessian2Input input) {
+        // Drop the reference to the stream and read objects
+        input.init(null);
+        try {
+            // Discard the bytes buffered from the stream, otherwise they are served to the next message
+            input.resetBuffer();
+        } catch (IllegalStateException e) {
+            // Fewer objects were read than written, do NOT reuse the input which has unread data
+            return;
+        }
+        INPUT.set(input);
+    }
+
     @Override
     public int getSerializerId() {
         return SERIALIZER_ID_HESSIAN2;
@@ -1,13 +1,16 @@
 package com.luixtech.rpc.serializer.kryo;
 
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
 import com.luixtech.rpc.serializer.Serializer;
-import com.luixtech.rpc.serializer.kryo.io.KryoObjectInput;
-import com.luixtech.rpc.serializer.kryo.io.KryoObjectOutput;
 import com.luixtech.utilities.serviceloader.annotation.SpiName;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 /**
  * Kryo is a fast and efficient binary object graph serialization framework for Java.
@@ -23,46 +26,129 @@ import java.io.IOException;
  */
 @SpiName(Serializer.SERIALIZER_NAME_KRYO)
 public class KryoSerializer implements Serializer {
+    private static final int                 BUFFER_SIZE = 4096;
+    /**
+     * Kryo output and input buffers are reused per thread, the instance is taken away while being used,
+     * so the nested serialization on the same thread creates a new one.
+     */
+    private static final ThreadLocal<Output> OUTPUT      = new ThreadLocal<>();
+    private static final ThreadLocal<Input>  INPUT       = new ThreadLocal<>();
+
     @Override
     public byte[] serialize(Object object) throws IOException {
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        KryoObjectOutput out = new KryoObjectOutput(KryoUtils.get(), bos);
-        out.writeObject(object);
-        out.flush();
+        serialize(object, bos);
         return bos.toByteArray();
     }
 
+    @Override
+    public void serialize(Object object, OutputStream os) throws IOException {
+        Output output = acquireOutput(os);
+        try {
+            KryoUtils.get().writeObjectOrNull(output, object, object.getClass());
+            output.flush();
+        } finally {
+            releaseOutput(output);
+        }
+    }
+
     @Override
     public <T> T deserialize(byte[] data, Class<T> clz) throws IOException {
         if (data == null) {
             return null;
         }
-        KryoObjectInput input = new KryoObjectInput(KryoUtils.get(), new ByteArrayInputStream(data));
-        return input.readObject(clz);
+        return deserialize(new ByteArrayInputStream(data), clz);
+    }
+
+    @Override
+    public <T> T deserialize(InputStream in, Class<T> clz) throws IOException {
+        Input input = acquireInput(in);
+        try {
+            return KryoUtils.get().readObjectOrNull(input, clz);
+        } finally {
+            releaseInput(input);
+        }
     }
 
     @Override
     public byte[] serializeArray(Object[] objects) throws IOException {
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        KryoObjectOutput out = new KryoObjectOutput(KryoUtils.get(), bos);
-        for (Object object : objects) {
-            out.writeObject(object);
-        }
-        out.flush();
+        serializeArray(objects, bos);
         return bos.toByteArray();
     }
 
+    @Override
+    public void serializeArray(Object[] objects, OutputStream os) throws IOException {
+        Output output = acquireOutput(os);
+        try {
+            Kryo kryo = KryoUtils.get();
+            for (Object object : objects) {
+                kryo.writeObjectOrNull(output, object, object.getClass());
+            }
+            output.flush();
+        } finally {
+            releaseOutput(output);
+        }
+    }
+
     @Override
     public Object[] deserializeArray(byte[] data, Class<?>[] classes) throws IOException {
         if (data == null) {
             return null;
         }
-        KryoObjectInput input = new KryoObjectInput(KryoUtils.get(), new ByteArrayInputStream(data));
-        Object[] objects = new Object[classes.length];
-        for (int i = 0; i < classes.length; i++) {
-            objects[i] = input.readObject(classes[i]);
+        return deserializeArray(new ByteArrayInputStream(data), classes);
+    }
+
+    @Override
+    public Object[] deserializeArray(InputStream in, Class<?>[] classes) throws IOException {
+        Input input = acquireInput(in);
+        try {
+            Kryo kryo = KryoUtils.get();
+            Object[] objects = new Object[classes.length];
+            for (int i = 0; i < classes.length; i++) {
+                objects[i] = kryo.readObjectOrNull(input, classes[i]);
+            }
+            return objects;
+        } finally {
+            releaseInput(input);
+        }
+    }
+
+    private Output acquireOutput(OutputStream os) {
+        Output output = OUTPUT.get();
+        if (output == null) {
+            output = new Output(BUFFER_SIZE, -1);
+        } else {
+            OUTPUT.set(null);
+        }
+        output.setOutputStream(os);
+        return output;
+    }
+
+    private void releaseOutput(Output output) {
+        output.setOutputStream(null);
+        if (output.getBuffer().length <= BUFFER_SIZE) {
+            // Do not hold the grown buffer on the thread
+            OUTPUT.set(output);
+        }
+    }
+
+    private Input acquireInput(InputStream in) {
+        Input input = INPUT.get();
+        if (input == null) {
+            input = new Input(BUFFER_SIZE);
+        } else {
+            INPUT.set(null);
+        }
+        input.setInputStream(in);
+        return input;
+    }
+
+    private void releaseInput(Input input) {
+        input.setInputStream(null);
+        if (input.getBuffer().length <= BUFFER_SIZE) {
+            INPUT.set(input);
         }
-        return objects;
     }
 
     @Override
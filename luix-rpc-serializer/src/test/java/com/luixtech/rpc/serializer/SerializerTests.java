@@ -0,0 +1,59 @@
+package com.luixtech.rpc.serializer;
+
+import com.luixtech.rpc.serializer.hessian2.Hessian2Serializer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SerializerTests {
+
+    @Test
+    public void testStreamByByteArrayMethods() throws IOException {
+        Serializer serializer = new ByteArraySerializer();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serializer.serialize("hello", out);
+        assertThat(serializer.deserialize(new ByteArrayInputStream(out.toByteArray()), String.class)).isEqualTo("hello");
+
+        out.reset();
+        serializer.serializeArray(new Object[]{"value", 1}, out);
+        Object[] objects = serializer.deserializeArray(new ByteArrayInputStream(out.toByteArray()),
+                new Class<?>[]{String.class, Integer.class});
+        assertThat(objects).containsExactly("value", 1);
+    }
+
+    /**
+     * Third-party serializer which implements the byte array methods only
+     */
+    private static class ByteArraySerializer implements Serializer {
+        private final Serializer delegate = new Hessian2Serializer();
+
+        @Override
+        public byte[] serialize(Object object) throws IOException {
+            return delegate.serialize(object);
+        }
+
+        @Override
+        public <T> T deserialize(byte[] bytes, Class<T> outputObjectType) throws IOException {
+            return delegate.deserialize(bytes, outputObjectType);
+        }
+
+        @Override
+        public byte[] serializeArray(Object[] objects) throws IOException {
+            return delegate.serializeArray(objects);
+        }
+
+        @Override
+        public Object[] deserializeArray(byte[] data, Class<?>[] classes) throws IOException {
+            return delegate.deserializeArray(data, classes);
+        }
+
+        @Override
+        public int getSerializerId() {
+            return 31;
+        }
+    }
+}
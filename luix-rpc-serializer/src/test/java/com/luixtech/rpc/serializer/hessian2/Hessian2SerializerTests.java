@@ -0,0 +1,43 @@
+package com.luixtech.rpc.serializer.hessian2;
+
+import com.luixtech.rpc.serializer.Serializer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class Hessian2SerializerTests {
+    private final Serializer serializer = new Hessian2Serializer();
+
+    @Test
+    public void testReuseInputAfterPartialRead() throws IOException {
+        byte[] data = serializer.serializeArray(new Object[]{"first", "second-unread"});
+        Object[] objects = serializer.deserializeArray(data, new Class<?>[]{String.class});
+        assertThat(objects).containsExactly("first");
+
+        assertThat(serializer.deserialize(serializer.serialize("hello"), String.class)).isEqualTo("hello");
+    }
+
+    @Test
+    public void testReuseInputAfterFailure() throws IOException {
+        byte[] data = serializer.serializeArray(new Object[]{new ArrayList<>(Arrays.asList("a", "b")), "tail"});
+        // List can NOT be read as an integer
+        assertThatThrownBy(() -> serializer.deserializeArray(data, new Class<?>[]{Integer.class, String.class}))
+                .isInstanceOf(UnsupportedOperationException.class);
+
+        assertThat(serializer.deserialize(serializer.serialize("hello"), String.class)).isEqualTo("hello");
+    }
+
+    @Test
+    public void testReuseInputAndOutput() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            byte[] data = serializer.serializeArray(new Object[]{"value-" + i, i});
+            Object[] objects = serializer.deserializeArray(data, new Class<?>[]{String.class, Integer.class});
+            assertThat(objects).containsExactly("value-" + i, i);
+        }
+    }
+}
@@ -31,6 +31,7 @@ import java.util.List;
 
 import static com.luixtech.rpc.core.client.stub.ConsumerStub.buildConsumerStubBeanName;
 import static com.luixtech.rpc.core.constant.ConsumerConstants.*;
+import static com.luixtech.rpc.core.constant.ProtocolConstants.COMPRESSOR;
 import static com.luixtech.rpc.core.constant.ProtocolConstants.PROTOCOL;
 import static com.luixtech.rpc.core.constant.ProtocolConstants.SERIALIZER;
 import static com.luixtech.rpc.spring.boot.starter.utils.ProxyUtils.getTargetClass;
@@ -238,6 +239,9 @@ public class ConsumerBeanPostProcessor implements BeanPostProcessor, Environment
         String serializer = defaultIfEmpty(annotation.serializer(), luixRpcProperties.getProtocol().getSerializer());
         AnnotationBeanDefinitionUtils.addPropertyValue(builder, SERIALIZER, serializer);
 
+        String compressor = defaultIfEmpty(annotation.compressor(), luixRpcProperties.getProtocol().getCompressor());
+        AnnotationBeanDefinitionUtils.addPropertyValue(builder, COMPRESSOR, compressor);
+
         String form = defaultIfEmpty(annotation.form(), luixRpcProperties.getConsumer().getForm());
         AnnotationBeanDefinitionUtils.addPropertyValue(builder, FORM, form);
 
@@ -264,6 +268,9 @@ public class ConsumerBeanPostProcessor implements BeanPostProcessor, Environment
                 ? luixRpcProperties.getConsumer().getRetryCount() : Integer.valueOf(annotation.retryCount());
         AnnotationBeanDefinitionUtils.addPropertyValue(builder, RETRY_COUNT, retryCount);
 
+        String localCopy = defaultIfEmpty(annotation.localCopy(), luixRpcProperties.getConsumer().getLocalCopy());
+        AnnotationBeanDefinitionUtils.addPropertyValue(builder, LOCAL_COPY, localCopy);
+
         AnnotationBeanDefinitionUtils.addPropertyValue(builder, LIMIT_RATE, luixRpcProperties.getConsumer().isLimitRate());
         AnnotationBeanDefinitionUtils.addPropertyValue(builder, MAX_PAYLOAD, luixRpcProperties.getConsumer().getMaxPayload());
         AnnotationBeanDefinitionUtils.addPropertyValue(builder, PROVIDER_ADDRESSES, annotation.providerAddresses(), env);
@@ -36,6 +36,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static com.luixtech.rpc.core.constant.ProtocolConstants.COMPRESSOR;
 import static com.luixtech.rpc.core.constant.ProtocolConstants.PROTOCOL;
 import static com.luixtech.rpc.core.constant.ProtocolConstants.SERIALIZER;
 import static com.luixtech.rpc.core.constant.ProviderConstants.HEALTH_CHECKER;
@@ -320,6 +321,9 @@ public class ProviderBeanDefinitionRegistryPostProcessor implements BeanDefiniti
         String serializer = defaultIfEmpty(annotation.serializer(), protocolConfig.getSerializer());
         AnnotationBeanDefinitionUtils.addPropertyValue(builder, SERIALIZER, serializer);
 
+        String compressor = defaultIfEmpty(annotation.compressor(), protocolConfig.getCompressor());
+        AnnotationBeanDefinitionUtils.addPropertyValue(builder, COMPRESSOR, compressor);
+
         String form = defaultIfEmpty(annotation.form(), providerConfig.getForm());
         AnnotationBeanDefinitionUtils.addPropertyValue(builder, FORM, form);
 
@@ -339,6 +343,10 @@ public class ProviderBeanDefinitionRegistryPostProcessor implements BeanDefiniti
 
         AnnotationBeanDefinitionUtils.addPropertyValue(builder, MAX_PAYLOAD, providerConfig.getMaxPayload());
 
+        Integer maxConcurrentRequests = StringUtils.isEmpty(annotation.maxConcurrentRequests())
+                ? providerConfig.getMaxConcurrentRequests() : Integer.valueOf(annotation.maxConcurrentRequests());
+        AnnotationBeanDefinitionUtils.addPropertyValue(builder, MAX_CONCURRENT_REQUESTS, maxConcurrentRequests);
+
         // Obtain the instance by instance name then assign it to the property
         AnnotationBeanDefinitionUtils.addPropertyReference(builder, "instance", providerInstanceName, env);
         return builder.getBeanDefinition();
@@ -190,6 +190,8 @@ public class RpcLifecycle {
             MethodConfig methodConfig = MethodConfig.builder()
                     .retryCount(defaultIfEmpty(annotation.retryCount(), null))
                     .requestTimeout(defaultIfEmpty(annotation.requestTimeout(), null))
+                    .ioThreadSafe(defaultIfEmpty(annotation.ioThreadSafe(), null))
+                    .maxConcurrentRequests(defaultIfEmpty(annotation.maxConcurrentRequests(), null))
                     .build();
             providerStub.getMethodConfig().putIfAbsent(getMethodSignature(method), methodConfig);
         }
@@ -0,0 +1,23 @@
+package com.luixtech.rpc.transport.netty4;
+
+import com.luixtech.rpc.core.url.Url;
+import io.netty.channel.WriteBufferWaterMark;
+
+import static com.luixtech.rpc.core.constant.ProtocolConstants.WRITE_BUFFER_HIGH_WATER_MARK;
+import static com.luixtech.rpc.core.constant.ProtocolConstants.WRITE_BUFFER_HIGH_WATER_MARK_VAL_DEFAULT;
+import static com.luixtech.rpc.core.constant.ProtocolConstants.WRITE_BUFFER_LOW_WATER_MARK;
+import static com.luixtech.rpc.core.constant.ProtocolConstants.WRITE_BUFFER_LOW_WATER_MARK_VAL_DEFAULT;
+
+public class NettyChannelUtils {
+    /**
+     * Get the write buffer water mark of the channel
+     *
+     * @param providerUrl provider url
+     * @return write buffer water mark
+     */
+    public static WriteBufferWaterMark getWriteBufferWaterMark(Url providerUrl) {
+        int high = providerUrl.getIntOption(WRITE_BUFFER_HIGH_WATER_MARK, WRITE_BUFFER_HIGH_WATER_MARK_VAL_DEFAULT);
+        int low = Math.min(providerUrl.getIntOption(WRITE_BUFFER_LOW_WATER_MARK, WRITE_BUFFER_LOW_WATER_MARK_VAL_DEFAULT), high);
+        return new WriteBufferWaterMark(low, high);
+    }
+}
@@ -0,0 +1,90 @@
+package com.luixtech.rpc.transport.netty4;
+
+import com.luixtech.rpc.core.codec.Codec;
+import com.luixtech.rpc.core.codec.impl.CodecHeader;
+import com.luixtech.rpc.core.codec.impl.CodecV2;
+import com.luixtech.rpc.core.url.Url;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelPromise;
+
+import static com.luixtech.rpc.core.constant.ProtocolConstants.CHUNK_SIZE;
+import static com.luixtech.rpc.core.constant.ProtocolConstants.CHUNK_SIZE_VAL_DEFAULT;
+
+/**
+ * Writer which splits the large frame into chunks, the next chunk is scheduled after the previous one has been written,
+ * so the other messages multiplexed on the same channel can be interleaved with the chunks.
+ * <p>
+ * Chunk frame consists of the header of original frame whose version is {@link CodecHeader#VERSION_CHUNK},
+ * 4 bytes chunk length and the chunk, the status of header is {@link #STATUS_LAST_CHUNK} for the last chunk.
+ * <p>
+ * The frame is encoded as a whole before being split, because the meta and body lengths precede their contents
+ * and the serializers write synchronously, so chunking bounds the head-of-line blocking rather than the memory of sender.
+ */
+public abstract class NettyChunkedWriter {
+    public static final int STATUS_LAST_CHUNK = 1;
+    public static final int CHUNK_HEADER_SIZE = CodecHeader.HEADER_SIZE + 4;
+
+    /**
+     * Get the chunk size, only the frame of {@link CodecV2} can be split into chunks
+     *
+     * @param providerUrl provider url
+     * @param codec       codec
+     * @return chunk size or 0 if disabled
+     */
+    public static int getChunkSize(Url providerUrl, Codec codec) {
+        return codec instanceof CodecV2 ? providerUrl.getIntOption(CHUNK_SIZE, CHUNK_SIZE_VAL_DEFAULT) : 0;
+    }
+
+    /**
+     * Write the frame to the channel, it will be split into chunks if it is larger than the chunk size
+     *
+     * @param channel   netty channel
+     * @param frame     encoded frame of {@link com.luixtech.rpc.core.codec.impl.CodecV2}, it will be released
+     * @param chunkSize chunk size, 0 means disabled
+     * @return future which completes after the whole frame has been written
+     */
+    public static ChannelFuture writeAndFlush(Channel channel, ByteBuf frame, int chunkSize) {
+        if (chunkSize <= 0 || frame.readableBytes() <= chunkSize) {
+            return channel.writeAndFlush(frame);
+        }
+        byte[] header = new byte[CodecHeader.HEADER_SIZE];
+        frame.getBytes(frame.readerIndex(), header);
+        header[3] = (byte) (CodecHeader.VERSION_CHUNK << 3);
+        ChannelPromise promise = channel.newPromise();
+        writeChunk(channel, frame, header, chunkSize, promise);
+        return promise;
+    }
+
+    private static void writeChunk(Channel channel, ByteBuf frame, byte[] header, int chunkSize, ChannelPromise promise) {
+        int length = Math.min(chunkSize, frame.readableBytes());
+        boolean last = length == frame.readableBytes();
+        ByteBuf chunkHeader = channel.alloc().ioBuffer(CHUNK_HEADER_SIZE);
+        chunkHeader.writeBytes(header);
+        if (last) {
+            chunkHeader.setByte(3, header[3] | STATUS_LAST_CHUNK);
+        }
+        chunkHeader.writeInt(length);
+        CompositeByteBuf chunk = channel.alloc().compositeBuffer(2)
+                .addComponents(true, chunkHeader, frame.readRetainedSlice(length));
+        if (last) {
+            frame.release();
+        }
+        channel.writeAndFlush(chunk).addListener((ChannelFutureListener) future -> {
+            if (!future.isSuccess()) {
+                if (!last) {
+                    frame.release();
+                }
+                promise.tryFailure(future.cause());
+            } else if (last) {
+                promise.trySuccess();
+            } else {
+                // Schedule the next chunk behind the pending tasks instead of writing it immediately
+                channel.eventLoop().execute(() -> writeChunk(channel, frame, header, chunkSize, promise));
+            }
+        });
+    }
+}
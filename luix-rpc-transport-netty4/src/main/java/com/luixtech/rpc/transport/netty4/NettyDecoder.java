@@ -1,32 +1,57 @@
 package com.luixtech.rpc.transport.netty4;
 
 import com.luixtech.rpc.core.codec.Codec;
-import com.luixtech.rpc.core.codec.CodecUtils;
+import com.luixtech.rpc.core.codec.impl.CodecHeader;
+import com.luixtech.rpc.core.codec.impl.CodecV2;
+import com.luixtech.rpc.core.constant.ProtocolConstants;
 import com.luixtech.rpc.core.constant.RpcConstants;
 import com.luixtech.rpc.core.exception.impl.RpcFrameworkException;
 import com.luixtech.rpc.core.exchange.Channel;
 import com.luixtech.rpc.core.protocol.constants.ProtocolVersion;
 import com.luixtech.rpc.core.server.response.Responseable;
 import com.luixtech.rpc.core.utils.RpcFrameworkUtils;
+import com.luixtech.rpc.transport.netty4.codec.ByteBufCodec;
+import com.luixtech.rpc.transport.netty4.codec.NettyCodecUtils;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 public class NettyDecoder extends ByteToMessageDecoder {
 
-    public static final String  DECODER          = "decoder";
-    private             Codec   codec;
-    private             Channel channel;
-    private             int     maxContentLength = 0;
+    public static final String                       DECODER                 = "decoder";
+    private             Codec                        codec;
+    private             Channel                      channel;
+    private             int                          maxContentLength        = 0;
+    /**
+     * Maximum total bytes of the chunks which are being reassembled on this connection
+     */
+    private final       long                         maxChunkedContentLength;
+    /**
+     * Request ID to the chunks which are being reassembled, it is accessed by IO thread only
+     */
+    private final       Map<Long, CompositeByteBuf>  chunkedFrames           = new HashMap<>();
+    /**
+     * Total bytes of {@link #chunkedFrames}, it is accessed by IO thread only
+     */
+    private             long                         reassemblingBytes;
 
     public NettyDecoder(Codec codec, Channel channel, int maxContentLength) {
+        this(codec, channel, maxContentLength, ProtocolConstants.MAX_CHUNKED_CONTENT_LENGTH);
+    }
+
+    public NettyDecoder(Codec codec, Channel channel, int maxContentLength, long maxChunkedContentLength) {
         this.codec = codec;
         this.channel = channel;
         this.maxContentLength = maxContentLength;
+        this.maxChunkedContentLength = maxChunkedContentLength;
     }
 
     @Override
@@ -50,6 +75,9 @@ public class NettyDecoder extends ByteToMessageDecoder {
             case 1:
                 decodeV2(ctx, in, out);
                 break;
+            case CodecHeader.VERSION_CHUNK:
+                decodeChunk(ctx, in, out);
+                break;
             default:
                 decodeV2(ctx, in, out);
         }
@@ -62,8 +90,11 @@ public class NettyDecoder extends ByteToMessageDecoder {
             return;
         }
         in.skipBytes(2);
-        boolean isRequest = isV2Request(in.readByte());
-        in.skipBytes(2);
+        byte msgType = in.readByte();
+        boolean isRequest = isV2Request(msgType);
+        boolean checkHealth = (msgType & 0x10) == 0x10;
+        int version = (in.readByte() & 0xff) >>> 3;
+        in.skipBytes(1);
         long requestId = in.readLong();
         int size = 13;
         int metaSize = in.readInt();
@@ -74,6 +105,10 @@ public class NettyDecoder extends ByteToMessageDecoder {
                 in.resetReaderIndex();
                 return;
             }
+            if (isRequest && !checkHealth && version == CodecHeader.VERSION_TEXT_META) {
+                // The check health request of old version consumer is NOT header-only
+                checkHealth = CodecV2.isCheckHealthMeta(in.nioBuffer(in.readerIndex(), metaSize));
+            }
             in.skipBytes(metaSize);
         }
         if (in.readableBytes() < 4) {
@@ -81,7 +116,7 @@ public class NettyDecoder extends ByteToMessageDecoder {
             return;
         }
         int bodySize = in.readInt();
-        checkMaxContext(bodySize, ctx, isRequest, requestId, ProtocolVersion.VERSION_2);
+        checkMaxContext(bodySize, maxContentLength, ctx, isRequest, requestId, ProtocolVersion.VERSION_2);
         size += 4;
         if (bodySize > 0) {
             size += bodySize;
@@ -90,10 +125,82 @@ public class NettyDecoder extends ByteToMessageDecoder {
                 return;
             }
         }
-        byte[] data = new byte[size];
         in.resetReaderIndex();
-        in.readBytes(data);
-        decode(data, out, isRequest, requestId, ProtocolVersion.VERSION_2).setStartTime(startTime);
+        NettyMessage message;
+        if (codec instanceof ByteBufCodec) {
+            // Pass the retained frame slice to avoid copying, it will be released after decoding
+            message = new NettyMessage(isRequest, requestId, in.readRetainedSlice(size), ProtocolVersion.VERSION_2);
+        } else {
+            byte[] data = new byte[size];
+            in.readBytes(data);
+            message = new NettyMessage(isRequest, requestId, data, ProtocolVersion.VERSION_2);
+        }
+        message.setCheckHealth(checkHealth);
+        message.setStartTime(startTime);
+        out.add(message);
+    }
+
+    /**
+     * Reassemble the chunks written by {@link NettyChunkedWriter} into a composite buffer without copying,
+     * the maximum content length limits each chunk and the total bytes of all the frames being reassembled
+     * on this connection are limited by the maximum chunked content length.
+     * The peer can open an unlimited number of partial frames, so the connection is closed once the limit is exceeded.
+     */
+    private void decodeChunk(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+        in.resetReaderIndex();
+        if (in.readableBytes() < NettyChunkedWriter.CHUNK_HEADER_SIZE) {
+            return;
+        }
+        in.skipBytes(2);
+        boolean isRequest = isV2Request(in.readByte());
+        boolean last = (in.readByte() & 0x07) == NettyChunkedWriter.STATUS_LAST_CHUNK;
+        in.skipBytes(1);
+        long requestId = in.readLong();
+        int length = in.readInt();
+        checkMaxContext(length, maxContentLength, ctx, isRequest, requestId, ProtocolVersion.VERSION_2);
+        if (reassemblingBytes + length > maxChunkedContentLength) {
+            log.warn("Closing connection because the reassembled chunks are over of limit, size: {} > {}, frames: {}. remote={} local={}",
+                    reassemblingBytes + length, maxChunkedContentLength, chunkedFrames.size() + 1,
+                    ctx.channel().remoteAddress(), ctx.channel().localAddress());
+            releaseChunkedFrames();
+            ctx.close();
+            throw new RpcFrameworkException("NettyDecoder reassembled chunks over of limit, size: "
+                    + (reassemblingBytes + length) + " > " + maxChunkedContentLength);
+        }
+        if (in.readableBytes() < length) {
+            in.resetReaderIndex();
+            return;
+        }
+        CompositeByteBuf frame = chunkedFrames.computeIfAbsent(requestId, k -> ctx.alloc().compositeBuffer(Integer.MAX_VALUE));
+        frame.addComponent(true, in.readRetainedSlice(length));
+        reassemblingBytes += length;
+        if (!last) {
+            return;
+        }
+        chunkedFrames.remove(requestId);
+        reassemblingBytes -= frame.readableBytes();
+        NettyMessage message;
+        if (codec instanceof ByteBufCodec) {
+            message = new NettyMessage(isRequest, requestId, frame, ProtocolVersion.VERSION_2);
+        } else {
+            byte[] data = ByteBufUtil.getBytes(frame);
+            frame.release();
+            message = new NettyMessage(isRequest, requestId, data, ProtocolVersion.VERSION_2);
+        }
+        message.setStartTime(System.currentTimeMillis());
+        out.add(message);
+    }
+
+    @Override
+    protected void handlerRemoved0(ChannelHandlerContext ctx) throws Exception {
+        // Release the incomplete chunks
+        releaseChunkedFrames();
+    }
+
+    private void releaseChunkedFrames() {
+        chunkedFrames.values().forEach(ByteBuf::release);
+        chunkedFrames.clear();
+        reassemblingBytes = 0;
     }
 
     private boolean isV2Request(byte b) {
@@ -113,20 +220,20 @@ public class NettyDecoder extends ByteToMessageDecoder {
             in.resetReaderIndex();
             return;
         }
-        checkMaxContext(dataLength, ctx, messageType == RpcConstants.FLAG_REQUEST, requestId, ProtocolVersion.VERSION_1);
+        checkMaxContext(dataLength, maxContentLength, ctx, messageType == RpcConstants.FLAG_REQUEST, requestId, ProtocolVersion.VERSION_1);
         byte[] data = new byte[dataLength];
         in.readBytes(data);
         decode(data, out, messageType == RpcConstants.FLAG_REQUEST, requestId, ProtocolVersion.VERSION_1).setStartTime(startTime);
     }
 
-    private void checkMaxContext(int dataLength, ChannelHandlerContext ctx, boolean isRequest, long requestId, ProtocolVersion version) throws Exception {
+    private void checkMaxContext(int dataLength, int maxContentLength, ChannelHandlerContext ctx, boolean isRequest, long requestId, ProtocolVersion version) throws Exception {
         if (maxContentLength > 0 && dataLength > maxContentLength) {
             log.warn("NettyDecoder transport data content length over of limit, size: {}  > {}. remote={} local={}",
                     dataLength, maxContentLength, ctx.channel().remoteAddress(), ctx.channel().localAddress());
             Exception e = new RpcFrameworkException("NettyDecoder transport data content length over of limit, size: " + dataLength + " > " + maxContentLength);
             if (isRequest) {
                 Responseable response = RpcFrameworkUtils.buildErrorResponse(requestId, version.getVersion(), e);
-                byte[] msg = CodecUtils.encodeObjectToBytes(channel, codec, response);
+                ByteBuf msg = NettyCodecUtils.encodeObjectToByteBuf(channel, codec, response, ctx.alloc());
                 ctx.channel().writeAndFlush(msg);
                 throw e;
             } else {
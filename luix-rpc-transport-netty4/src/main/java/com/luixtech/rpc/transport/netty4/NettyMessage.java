@@ -2,11 +2,20 @@ package com.luixtech.rpc.transport.netty4;
 
 
 import com.luixtech.rpc.core.protocol.constants.ProtocolVersion;
+import io.netty.buffer.ByteBuf;
 
 public class NettyMessage {
     private boolean         isRequest;
     private long            requestId;
+    /**
+     * Indicates whether it is a check health frame which is classified by header
+     */
+    private boolean         checkHealth;
     private byte[]          data;
+    /**
+     * Retained frame which is used instead of data by {@link com.luixtech.rpc.transport.netty4.codec.ByteBufCodec}
+     */
+    private ByteBuf         frame;
     private long            startTime;
     private ProtocolVersion version;
 
@@ -17,6 +26,13 @@ public class NettyMessage {
         this.version = version;
     }
 
+    public NettyMessage(boolean isRequest, long requestId, ByteBuf frame, ProtocolVersion version) {
+        this.isRequest = isRequest;
+        this.requestId = requestId;
+        this.frame = frame;
+        this.version = version;
+    }
+
     public boolean isRequest() {
         return isRequest;
     }
@@ -33,6 +49,14 @@ public class NettyMessage {
         this.requestId = requestId;
     }
 
+    public boolean isCheckHealth() {
+        return checkHealth;
+    }
+
+    public void setCheckHealth(boolean checkHealth) {
+        this.checkHealth = checkHealth;
+    }
+
     public byte[] getData() {
         return data;
     }
@@ -41,6 +65,24 @@ public class NettyMessage {
         this.data = data;
     }
 
+    public ByteBuf getFrame() {
+        return frame;
+    }
+
+    public void setFrame(ByteBuf frame) {
+        this.frame = frame;
+    }
+
+    /**
+     * Release the retained frame if exists
+     */
+    public void release() {
+        if (frame != null) {
+            frame.release();
+            frame = null;
+        }
+    }
+
     public long getStartTime() {
         return startTime;
     }
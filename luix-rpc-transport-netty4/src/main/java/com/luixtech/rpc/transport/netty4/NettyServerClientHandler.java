@@ -2,18 +2,28 @@ package com.luixtech.rpc.transport.netty4;
 
 import com.luixtech.rpc.core.client.request.Requestable;
 import com.luixtech.rpc.core.codec.Codec;
-import com.luixtech.rpc.core.codec.CodecUtils;
+import com.luixtech.rpc.core.codec.impl.TypeDictionary;
 import com.luixtech.rpc.core.constant.RpcConstants;
 import com.luixtech.rpc.core.exception.impl.RpcFrameworkException;
 import com.luixtech.rpc.core.exchange.Channel;
 import com.luixtech.rpc.core.server.handler.InvocationHandleable;
 import com.luixtech.rpc.core.server.response.Responseable;
 import com.luixtech.rpc.core.server.response.impl.RpcResponse;
+import com.luixtech.rpc.core.server.stub.Bulkhead;
+import com.luixtech.rpc.core.server.stub.ProviderStubHolder;
 import com.luixtech.rpc.core.url.Url;
 import com.luixtech.rpc.core.utils.RpcFrameworkUtils;
 import com.luixtech.rpc.core.utils.RpcRequestIdHolder;
+import com.luixtech.rpc.serializer.DeserializableArgs;
+import com.luixtech.rpc.transport.netty4.codec.ByteBufCodec;
+import com.luixtech.rpc.transport.netty4.codec.NettyCodecUtils;
 import com.luixtech.rpc.transport.netty4.server.NettyServer;
+import com.luixtech.rpc.transport.netty4.server.ReadBackpressure;
+import com.luixtech.rpc.transport.netty4.server.VirtualThreadExecutor;
 import com.luixtech.utilities.network.AddressUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
@@ -22,6 +32,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 
@@ -34,29 +45,47 @@ import static com.luixtech.rpc.core.constant.ProtocolConstants.CODEC_VAL_DEFAULT
 @Slf4j
 public class NettyServerClientHandler extends ChannelDuplexHandler {
 
-    public static final String               HANDLER = "handler";
-    private             ThreadPoolExecutor   threadPoolExecutor;
+    public static final String               HANDLER             = "handler";
+    public static final String               FLUSH_CONSOLIDATION = "flushConsolidation";
+    private             Executor             executor;
     private             InvocationHandleable handler;
     private             Channel              channel;
     private             Codec                codec;
+    private             int                  chunkSize;
+    /**
+     * Read side backpressure of server, it is null if the overload policy is reject
+     */
+    private             ReadBackpressure     readBackpressure;
+    /**
+     * The handler is created per connection, so is the type dictionary
+     */
+    private final       TypeDictionary       typeDictionary      = new TypeDictionary();
 
     public NettyServerClientHandler(Channel channel, InvocationHandleable handler) {
         this.channel = channel;
         this.handler = handler;
         codec = Codec.getInstance(channel.getProviderUrl().getOption(CODEC, CODEC_VAL_DEFAULT));
+        chunkSize = NettyChunkedWriter.getChunkSize(channel.getProviderUrl(), codec);
     }
 
-    public NettyServerClientHandler(Channel channel, InvocationHandleable handler, ThreadPoolExecutor threadPoolExecutor) {
+    public NettyServerClientHandler(Channel channel, InvocationHandleable handler, Executor executor) {
         this.channel = channel;
         this.handler = handler;
-        this.threadPoolExecutor = threadPoolExecutor;
+        this.executor = executor;
         codec = Codec.getInstance(channel.getProviderUrl().getOption(CODEC, CODEC_VAL_DEFAULT));
+        chunkSize = NettyChunkedWriter.getChunkSize(channel.getProviderUrl(), codec);
+    }
+
+    public NettyServerClientHandler(Channel channel, InvocationHandleable handler, Executor executor,
+                                    ReadBackpressure readBackpressure) {
+        this(channel, handler, executor);
+        this.readBackpressure = readBackpressure;
     }
 
     private String getRemoteIp(ChannelHandlerContext ctx) {
         String ip = "";
         SocketAddress remote = ctx.channel().remoteAddress();
-        if (remote != null) {
+        if (remote instanceof InetSocketAddress) {
             try {
                 ip = ((InetSocketAddress) remote).getAddress().getHostAddress();
             } catch (Exception e) {
@@ -69,24 +98,39 @@ public class NettyServerClientHandler extends ChannelDuplexHandler {
     @Override
     public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
         if (msg instanceof NettyMessage) {
-            if (threadPoolExecutor != null) {
+            if (executor != null && ((NettyMessage) msg).isRequest() && (((NettyMessage) msg).isCheckHealth()
+                    || ((NettyMessage) msg).getFrame() != null || executor instanceof VirtualThreadExecutor)) {
+                // Step2: receive and decode request on IO thread, so that it can be classified before being dispatched.
+                // The check health frame is header only and the arguments of the frame are deserialized lazily by ByteBufCodec,
+                // and Netty recycles the buffers with thread local pools which are NOT worth creating for the short-lived virtual threads
+                processRequestOrResponseMsg(ctx, (NettyMessage) msg);
+            } else if (executor != null) {
+                if (readBackpressure != null) {
+                    readBackpressure.beforeSubmit(ctx.channel());
+                }
                 try {
-                    threadPoolExecutor.execute(new Runnable() {
+                    executor.execute(new Runnable() {
                         @Override
                         public void run() {
-                            // Step2: receive and decode request on server side
-                            processRequestOrResponseMsg(ctx, ((NettyMessage) msg));
+                            try {
+                                // Step2: receive and decode request on server side
+                                processRequestOrResponseMsg(ctx, ((NettyMessage) msg));
+                            } finally {
+                                if (readBackpressure != null) {
+                                    readBackpressure.afterProcess();
+                                }
+                            }
                         }
                     });
                 } catch (RejectedExecutionException rejectException) {
+                    if (readBackpressure != null) {
+                        readBackpressure.afterProcess();
+                    }
                     if (((NettyMessage) msg).isRequest()) {
                         rejectMessage(ctx, (NettyMessage) msg);
                     } else {
-                        log.warn("Current processing thread pool is full, active: {}, poolSize: {}, corePoolSize: {}, " +
-                                        "maxPoolSize: {}, taskCount: {}, requestId: {}",
-                                threadPoolExecutor.getActiveCount(), threadPoolExecutor.getPoolSize(),
-                                threadPoolExecutor.getCorePoolSize(), threadPoolExecutor.getMaximumPoolSize(),
-                                threadPoolExecutor.getTaskCount(), ((NettyMessage) msg).getRequestId());
+                        log.warn("Current processing thread pool is full, {}, requestId: {}",
+                                getExecutorStatus(), ((NettyMessage) msg).getRequestId());
                         processRequestOrResponseMsg(ctx, (NettyMessage) msg);
                     }
                 }
@@ -100,17 +144,36 @@ public class NettyServerClientHandler extends ChannelDuplexHandler {
     }
 
     private void rejectMessage(ChannelHandlerContext ctx, NettyMessage msg) {
+        msg.release();
         if (msg.isRequest()) {
-            returnResponse(ctx, RpcFrameworkUtils.buildErrorResponse((Requestable) msg,
-                    new RpcFrameworkException("Reject the request for no active thread on server [" + ctx.channel().localAddress() + "]")));
-            log.error("Rejected message for current processing thread pool is full, active: {}, poolSize: {}, " +
-                            "corePoolSize: {}, maxPoolSize: {}, taskCount: {}, requestId: {}",
+            rejectRequest(ctx, msg.getRequestId(), msg.getVersion().getVersion());
+        }
+    }
+
+    private void rejectRequest(ChannelHandlerContext ctx, long requestId, byte version) {
+        returnResponse(ctx, RpcFrameworkUtils.buildErrorResponse(requestId, version,
+                new RpcFrameworkException("Reject the request for no active thread on server [" + ctx.channel().localAddress() + "]")));
+        log.error("Rejected message for current processing thread pool is full, {}, requestId: {}",
+                getExecutorStatus(), requestId);
+        if (channel instanceof NettyServer) {
+            ((NettyServer) channel).getRejectCounter().incrementAndGet();
+        }
+    }
+
+    private void rejectRequest(ChannelHandlerContext ctx, Requestable request, Bulkhead bulkhead) {
+        returnResponse(ctx, RpcFrameworkUtils.buildErrorResponse(request.getRequestId(), request.getProtocolVersion(),
+                new RpcFrameworkException("Reject the request for exceeding the max concurrent requests of bulkhead [" + bulkhead.getName() + "]")));
+        log.warn("Rejected request for bulkhead is full, {}, requestId: {}", bulkhead, request.getRequestId());
+    }
+
+    private String getExecutorStatus() {
+        if (executor instanceof ThreadPoolExecutor) {
+            ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) executor;
+            return String.format("active: %d, poolSize: %d, corePoolSize: %d, maxPoolSize: %d, taskCount: %d",
                     threadPoolExecutor.getActiveCount(), threadPoolExecutor.getPoolSize(), threadPoolExecutor.getCorePoolSize(),
-                    threadPoolExecutor.getMaximumPoolSize(), threadPoolExecutor.getTaskCount(), msg.getRequestId());
-            if (channel instanceof NettyServer) {
-                ((NettyServer) channel).getRejectCounter().incrementAndGet();
-            }
+                    threadPoolExecutor.getMaximumPoolSize(), threadPoolExecutor.getTaskCount());
         }
+        return executor.toString();
     }
 
     private void processRequestOrResponseMsg(ChannelHandlerContext ctx, NettyMessage msg) {
@@ -118,7 +181,11 @@ public class NettyServerClientHandler extends ChannelDuplexHandler {
         String remoteIp = getRemoteIp(ctx);
         Object decodedObj;
         try {
-            decodedObj = codec.decode(channel, remoteIp, msg.getData());
+            if (msg.getFrame() != null) {
+                decodedObj = ((ByteBufCodec) codec).decode(channel, remoteIp, msg.getFrame(), typeDictionary);
+            } else {
+                decodedObj = codec.decode(channel, remoteIp, msg.getData());
+            }
         } catch (Exception e) {
             log.error("Failed to decode message with message ID [" + msg.getRequestId() + "] and remote IP [" + remoteIp + "]", e);
             Responseable response = RpcFrameworkUtils.buildErrorResponse(msg.getRequestId(), msg.getVersion().getVersion(), e);
@@ -130,6 +197,9 @@ public class NettyServerClientHandler extends ChannelDuplexHandler {
                 processResponse(response);
             }
             return;
+        } finally {
+            // The body slice has been retained by decoded object if necessary
+            msg.release();
         }
 
         if (decodedObj instanceof Requestable) {
@@ -150,52 +220,188 @@ public class NettyServerClientHandler extends ChannelDuplexHandler {
         // Used by access log output
         request.addOption(Url.PARAM_HOST, AddressUtils.getHostName(ctx.channel().remoteAddress()));
         final long processStartTime = System.currentTimeMillis();
+        if (executor == null || ProviderStubHolder.getInstance().isIoThreadSafe(request)) {
+            // The check health request or the non-blocking method never queues behind the slow requests or gets rejected
+            processRequestOnCurrentThread(ctx, request, processStartTime, null);
+            return;
+        }
+        // The bulkhead limits the share of the executor for the provider or method
+        Bulkhead bulkhead = ProviderStubHolder.getInstance().getBulkhead(request);
+        if (bulkhead != null && !bulkhead.tryAcquire()) {
+            releaseLazyArgs(request);
+            rejectRequest(ctx, request, bulkhead);
+            return;
+        }
+        if (!ctx.executor().inEventLoop()) {
+            // The request has been dispatched to the thread pool before decoding
+            processRequestOnCurrentThread(ctx, request, processStartTime, bulkhead);
+        } else if (executor instanceof VirtualThreadExecutor) {
+            processRequestOnVirtualThread(ctx, request, processStartTime, bulkhead);
+        } else {
+            processRequestOnThreadPool(ctx, request, processStartTime, bulkhead);
+        }
+    }
+
+    private void processRequestOnCurrentThread(final ChannelHandlerContext ctx, final Requestable request,
+                                               final long processStartTime, final Bulkhead bulkhead) {
+        if (bulkhead != null) {
+            bulkhead.onStart();
+        }
         try {
-            // Store request id on server side
-            RpcRequestIdHolder.setRequestId(request.getRequestId());
-            Object result;
-            try {
-                result = handler.handle(channel, request);
-            } catch (Exception e) {
-                log.error("Failed to process request " + request, e);
-                result = RpcFrameworkUtils.buildErrorResponse(request, new RpcFrameworkException("Failed to process request", e));
+            returnResponse(ctx, request, invoke(request), processStartTime);
+        } finally {
+            releaseLazyArgs(request);
+            if (bulkhead != null) {
+                bulkhead.onFinish();
             }
-            if (result instanceof Responseable) {
-                RpcFrameworkUtils.logEvent((Responseable) result, RpcConstants.TRACE_PROCESS);
+        }
+    }
+
+    private void processRequestOnThreadPool(final ChannelHandlerContext ctx, final Requestable request,
+                                            final long processStartTime, final Bulkhead bulkhead) {
+        if (readBackpressure != null) {
+            readBackpressure.beforeSubmit(ctx.channel());
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    // Step3: encode and return response on server side
+                    processRequestOnCurrentThread(ctx, request, processStartTime, bulkhead);
+                } finally {
+                    if (readBackpressure != null) {
+                        readBackpressure.afterProcess();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException rejectException) {
+            if (readBackpressure != null) {
+                readBackpressure.afterProcess();
             }
-            final RpcResponse response;
-            if (result instanceof RpcResponse) {
-                response = (RpcResponse) result;
-                response.setProtocolVersion(request.getProtocolVersion());
-            } else {
-                response = RpcResponse.of(result);
+            if (bulkhead != null) {
+                bulkhead.release();
             }
-            response.setRequestId(request.getRequestId());
-            response.setElapsedTime(System.currentTimeMillis() - processStartTime);
-
-            // Step3: encode and return response on server side
-            ChannelFuture channelFuture = returnResponse(ctx, response);
-            if (channelFuture != null) {
-                channelFuture.addListener(new ChannelFutureListener() {
-                    @Override
-                    public void operationComplete(ChannelFuture future) throws Exception {
-                        RpcFrameworkUtils.logEvent(response, RpcConstants.TRACE_SSEND, System.currentTimeMillis());
-                        response.onFinish();
+            releaseLazyArgs(request);
+            rejectRequest(ctx, request.getRequestId(), request.getProtocolVersion());
+        }
+    }
+
+    private void processRequestOnVirtualThread(final ChannelHandlerContext ctx, final Requestable request,
+                                               final long processStartTime, final Bulkhead bulkhead) {
+        if (readBackpressure != null) {
+            readBackpressure.beforeSubmit(ctx.channel());
+        }
+        try {
+            executor.execute(() -> {
+                RpcResponse response;
+                ByteBuf msg;
+                if (bulkhead != null) {
+                    bulkhead.onStart();
+                }
+                try {
+                    // The arguments and the response are (de)serialized on the virtual thread instead of the IO thread,
+                    // the serializers pooled per thread miss for the short-lived virtual threads which is cheaper than
+                    // blocking the other connections of the event loop. The frame is NOT allocated from the pooled allocator,
+                    // because it creates the thread local cache for every virtual thread.
+                    response = toResponse(request, invoke(request), processStartTime);
+                    msg = encodeResponse(response, UnpooledByteBufAllocator.DEFAULT);
+                } finally {
+                    releaseLazyArgs(request);
+                    if (bulkhead != null) {
+                        bulkhead.onFinish();
+                    }
+                    if (readBackpressure != null) {
+                        readBackpressure.afterProcess();
                     }
-                });
+                }
+                // Step3: only write the encoded response on the IO thread
+                ctx.executor().execute(() -> onSent(writeResponse(ctx, response, msg), response));
+            });
+        } catch (RejectedExecutionException rejectException) {
+            if (readBackpressure != null) {
+                readBackpressure.afterProcess();
+            }
+            if (bulkhead != null) {
+                bulkhead.release();
             }
+            releaseLazyArgs(request);
+            rejectRequest(ctx, request.getRequestId(), request.getProtocolVersion());
+        }
+    }
+
+    private Object invoke(Requestable request) {
+        try {
+            // Store request id on server side
+            RpcRequestIdHolder.setRequestId(request.getRequestId());
+            return handler.handle(channel, request);
+        } catch (Exception e) {
+            log.error("Failed to process request " + request, e);
+            return RpcFrameworkUtils.buildErrorResponse(request, new RpcFrameworkException("Failed to process request", e));
         } finally {
             RpcRequestIdHolder.destroy();
         }
     }
 
+    private void returnResponse(final ChannelHandlerContext ctx, final Requestable request, Object result, long processStartTime) {
+        RpcResponse response = toResponse(request, result, processStartTime);
+        // Step3: encode and return response on server side
+        onSent(returnResponse(ctx, response), response);
+    }
+
+    private RpcResponse toResponse(Requestable request, Object result, long processStartTime) {
+        if (result instanceof Responseable) {
+            RpcFrameworkUtils.logEvent((Responseable) result, RpcConstants.TRACE_PROCESS);
+        }
+        final RpcResponse response;
+        if (result instanceof RpcResponse) {
+            response = (RpcResponse) result;
+            response.setProtocolVersion(request.getProtocolVersion());
+        } else {
+            response = RpcResponse.of(result);
+        }
+        response.setRequestId(request.getRequestId());
+        response.setElapsedTime(System.currentTimeMillis() - processStartTime);
+        return response;
+    }
+
+    private void onSent(ChannelFuture channelFuture, RpcResponse response) {
+        if (channelFuture != null) {
+            channelFuture.addListener(new ChannelFutureListener() {
+                @Override
+                public void operationComplete(ChannelFuture future) throws Exception {
+                    RpcFrameworkUtils.logEvent(response, RpcConstants.TRACE_SSEND, System.currentTimeMillis());
+                    response.onFinish();
+                }
+            });
+        }
+    }
+
+    private void releaseLazyArgs(Requestable request) {
+        if (request.getMethodArguments() != null && request.getMethodArguments().length == 1
+                && request.getMethodArguments()[0] instanceof DeserializableArgs) {
+            // The arguments were not deserialized for some errors
+            ((DeserializableArgs) request.getMethodArguments()[0]).release();
+        }
+    }
+
     private ChannelFuture returnResponse(ChannelHandlerContext ctx, Responseable response) {
-        // Encode the response
-        byte[] msg = CodecUtils.encodeObjectToBytes(channel, codec, response);
-        response.addOption(RpcConstants.CONTENT_LENGTH, String.valueOf(msg.length));
+        return writeResponse(ctx, response, encodeResponse(response, ctx.alloc()));
+    }
+
+    private ByteBuf encodeResponse(Responseable response, ByteBufAllocator allocator) {
+        ByteBuf msg = NettyCodecUtils.encodeObjectToByteBuf(channel, codec, response, allocator, typeDictionary);
+        response.addOption(RpcConstants.CONTENT_LENGTH, String.valueOf(msg.readableBytes()));
+        return msg;
+    }
+
+    private ChannelFuture writeResponse(ChannelHandlerContext ctx, Responseable response, ByteBuf msg) {
         if (ctx.channel().isActive()) {
-            return ctx.channel().writeAndFlush(msg);
+            ChannelFuture channelFuture = NettyChunkedWriter.writeAndFlush(ctx.channel(), msg, chunkSize);
+            // Only the ID of type will be sent after the definition has been written
+            channelFuture.addListener(future -> typeDictionary.onWritten(response.getRequestId(), future.isSuccess()));
+            return channelFuture;
         }
+        typeDictionary.removePendingDefinition(response.getRequestId());
+        msg.release();
         return null;
     }
 
@@ -214,9 +420,25 @@ public class NettyServerClientHandler extends ChannelDuplexHandler {
     public void channelInactive(ChannelHandlerContext ctx) throws Exception {
         log.info("Detected inactive channel with remoteAddress [{}] and localAddress [{}]",
                 ctx.channel().remoteAddress(), ctx.channel().localAddress());
+        if (readBackpressure != null) {
+            readBackpressure.remove(ctx.channel());
+        }
         ctx.fireChannelInactive();
     }
 
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if (channel instanceof NettyServer) {
+            // Stop reading the requests of the connection until the backed up responses are flushed to the slow client,
+            // so the outbound buffer of the connection is bounded by the high water mark
+            boolean writable = ctx.channel().isWritable();
+            ctx.channel().config().setAutoRead(writable && (readBackpressure == null || !readBackpressure.isPaused(ctx.channel())));
+            log.debug("{} reading requests from remoteAddress [{}] for writability changed",
+                    writable ? "Resumed" : "Paused", ctx.channel().remoteAddress());
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
         log.error("Caught exception with remoteAddress [{}], localAddress [{}] and event [{}]",
@@ -0,0 +1,268 @@
+package com.luixtech.rpc.transport.netty4;
+
+import com.luixtech.rpc.core.exception.impl.RpcFrameworkException;
+import com.luixtech.rpc.core.url.Url;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.*;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.unix.UnixChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import static com.luixtech.rpc.core.constant.ProtocolConstants.*;
+
+/**
+ * Netty transport used by server and client, the native transports are only available on Linux with the native libraries.
+ * The epoll native library is provided by io.netty:netty-transport-native-epoll with the classifier e.g. linux-x86_64,
+ * and the io_uring transport requires io.netty.incubator:netty-incubator-transport-native-io_uring.
+ */
+@Slf4j
+public enum NettyTransport {
+    /**
+     * Java NIO transport which is available on all the platforms
+     */
+    NIO(TRANSPORT_VAL_NIO),
+    /**
+     * Linux epoll native transport
+     */
+    EPOLL(TRANSPORT_VAL_EPOLL),
+    /**
+     * Linux io_uring native transport, it is loaded by reflection to avoid the compile dependency
+     */
+    IO_URING(TRANSPORT_VAL_IO_URING);
+
+    private static final String IO_URING_PACKAGE = "io.netty.incubator.channel.uring.";
+    public final         String value;
+
+    NettyTransport(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Resolve the transport by name, 'auto' prefers epoll, and it falls back to NIO if the native transport is unavailable
+     *
+     * @param name transport name
+     * @return available transport
+     */
+    public static NettyTransport of(String name) {
+        if (TRANSPORT_VAL_AUTO.equals(name)) {
+            return EPOLL.isAvailable() ? EPOLL : NIO;
+        }
+        for (NettyTransport transport : values()) {
+            if (transport.value.equals(name)) {
+                if (transport.isAvailable()) {
+                    return transport;
+                }
+                log.warn("Netty " + name + " transport is unavailable, falling back to NIO transport", transport.getUnavailabilityCause());
+                return NIO;
+            }
+        }
+        log.warn("Found unsupported netty transport [{}], falling back to NIO transport", name);
+        return NIO;
+    }
+
+    /**
+     * Resolve the transport from the URL
+     *
+     * @param url provider url
+     * @return available transport
+     */
+    public static NettyTransport of(Url url) {
+        return of(url.getOption(TRANSPORT, TRANSPORT_VAL_DEFAULT));
+    }
+
+    public boolean isAvailable() {
+        switch (this) {
+            case EPOLL:
+                return Epoll.isAvailable();
+            case IO_URING:
+                return IoUringHolder.AVAILABLE;
+            default:
+                return true;
+        }
+    }
+
+    private Throwable getUnavailabilityCause() {
+        switch (this) {
+            case EPOLL:
+                return Epoll.unavailabilityCause();
+            case IO_URING:
+                return IoUringHolder.UNAVAILABILITY_CAUSE;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Create event loop group
+     *
+     * @param nThreads thread count, 0 means the default count of netty
+     * @return event loop group
+     */
+    public EventLoopGroup createEventLoopGroup(int nThreads) {
+        switch (this) {
+            case EPOLL:
+                return new EpollEventLoopGroup(nThreads);
+            case IO_URING:
+                return (EventLoopGroup) newIoUringInstance("IOUringEventLoopGroup", nThreads);
+            default:
+                return new NioEventLoopGroup(nThreads);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public Class<? extends ServerChannel> getServerChannelClass() {
+        switch (this) {
+            case EPOLL:
+                return EpollServerSocketChannel.class;
+            case IO_URING:
+                return (Class<? extends ServerChannel>) loadIoUringClass("IOUringServerSocketChannel");
+            default:
+                return NioServerSocketChannel.class;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public Class<? extends SocketChannel> getChannelClass() {
+        switch (this) {
+            case EPOLL:
+                return EpollSocketChannel.class;
+            case IO_URING:
+                return (Class<? extends SocketChannel>) loadIoUringClass("IOUringSocketChannel");
+            default:
+                return NioSocketChannel.class;
+        }
+    }
+
+    /**
+     * Get the unix domain socket path advertised by the provider url, the domain socket requires the epoll transport
+     *
+     * @param url provider url
+     * @return domain socket path or null if it is disabled or unsupported by the transport
+     */
+    public String getDomainSocket(Url url) {
+        String path = url.getOption(DOMAIN_SOCKET);
+        if (StringUtils.isEmpty(path)) {
+            return null;
+        }
+        if (this != EPOLL) {
+            log.warn("Unix domain socket [{}] is unsupported by netty {} transport, falling back to TCP", path, value);
+            return null;
+        }
+        return path;
+    }
+
+    public Class<? extends ServerChannel> getServerDomainChannelClass() {
+        return EpollServerDomainSocketChannel.class;
+    }
+
+    public Class<? extends Channel> getDomainChannelClass() {
+        return EpollDomainSocketChannel.class;
+    }
+
+    /**
+     * Apply the native-only socket options of server side, the options are ignored by NIO transport
+     *
+     * @param bootstrap server bootstrap
+     * @param url       provider url
+     */
+    public void applyOptions(ServerBootstrap bootstrap, Url url) {
+        if (this == NIO) {
+            return;
+        }
+        bootstrap.option(UnixChannelOption.SO_REUSEPORT, url.getBooleanOption(REUSE_PORT, REUSE_PORT_VAL_DEFAULT));
+        ChannelOption<Boolean> quickAck = getQuickAckOption();
+        if (quickAck != null) {
+            bootstrap.childOption(quickAck, url.getBooleanOption(TCP_QUICK_ACK, TCP_QUICK_ACK_VAL_DEFAULT));
+        }
+        if (this == EPOLL) {
+            EpollMode mode = getEpollMode(url);
+            bootstrap.option(EpollChannelOption.EPOLL_MODE, mode);
+            bootstrap.childOption(EpollChannelOption.EPOLL_MODE, mode);
+        }
+    }
+
+    /**
+     * Apply the native-only socket options of client side, the options are ignored by NIO transport
+     *
+     * @param bootstrap client bootstrap
+     * @param url       provider url
+     */
+    public void applyOptions(Bootstrap bootstrap, Url url) {
+        if (this == NIO) {
+            return;
+        }
+        ChannelOption<Boolean> quickAck = getQuickAckOption();
+        if (quickAck != null) {
+            bootstrap.option(quickAck, url.getBooleanOption(TCP_QUICK_ACK, TCP_QUICK_ACK_VAL_DEFAULT));
+        }
+        if (this == EPOLL) {
+            bootstrap.option(EpollChannelOption.EPOLL_MODE, getEpollMode(url));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ChannelOption<Boolean> getQuickAckOption() {
+        if (this == EPOLL) {
+            return EpollChannelOption.TCP_QUICKACK;
+        }
+        try {
+            return (ChannelOption<Boolean>) loadIoUringClass("IOUringChannelOption").getField("TCP_QUICKACK").get(null);
+        } catch (ReflectiveOperationException e) {
+            log.debug("TCP_QUICKACK is unsupported by the io_uring transport", e);
+            return null;
+        }
+    }
+
+    private static EpollMode getEpollMode(Url url) {
+        return url.getBooleanOption(EDGE_TRIGGERED, EDGE_TRIGGERED_VAL_DEFAULT) ? EpollMode.EDGE_TRIGGERED : EpollMode.LEVEL_TRIGGERED;
+    }
+
+    private static Class<?> loadIoUringClass(String simpleName) {
+        try {
+            return Class.forName(IO_URING_PACKAGE + simpleName);
+        } catch (ClassNotFoundException e) {
+            throw new RpcFrameworkException("Failed to load the io_uring transport class [" + simpleName + "]", e);
+        }
+    }
+
+    private static Object newIoUringInstance(String simpleName, int nThreads) {
+        try {
+            return loadIoUringClass(simpleName).getConstructor(int.class).newInstance(nThreads);
+        } catch (ReflectiveOperationException e) {
+            throw new RpcFrameworkException("Failed to create the io_uring transport instance [" + simpleName + "]", e);
+        }
+    }
+
+    /**
+     * Lazy holder which prevents loading the io_uring classes until the transport is used
+     */
+    private static class IoUringHolder {
+        private static final boolean   AVAILABLE;
+        private static final Throwable UNAVAILABILITY_CAUSE;
+
+        static {
+            boolean available = false;
+            Throwable cause = null;
+            try {
+                Class<?> ioUring = Class.forName(IO_URING_PACKAGE + "IOUring");
+                available = (Boolean) ioUring.getMethod("isAvailable").invoke(null);
+                if (!available) {
+                    cause = (Throwable) ioUring.getMethod("unavailabilityCause").invoke(null);
+                }
+            } catch (ReflectiveOperationException | LinkageError e) {
+                cause = e;
+            }
+            AVAILABLE = available;
+            UNAVAILABILITY_CAUSE = cause;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.luixtech.rpc.transport.netty4.client;
 
 import com.luixtech.rpc.core.client.request.Requestable;
+import com.luixtech.rpc.core.client.request.impl.RpcCheckHealthRequest;
+import com.luixtech.rpc.core.client.request.impl.RpcRequest;
 import com.luixtech.rpc.core.codec.Codec;
-import com.luixtech.rpc.core.codec.CodecUtils;
+import com.luixtech.rpc.core.codec.impl.CodecV2;
 import com.luixtech.rpc.core.constant.RpcConstants;
 import com.luixtech.rpc.core.exception.ExceptionUtils;
 import com.luixtech.rpc.core.exception.impl.RpcFrameworkException;
@@ -11,36 +13,65 @@ import com.luixtech.rpc.core.exchange.constants.ChannelState;
 import com.luixtech.rpc.core.server.response.FutureResponse;
 import com.luixtech.rpc.core.server.response.Responseable;
 import com.luixtech.rpc.core.server.response.impl.RpcFutureResponse;
+import com.luixtech.rpc.core.server.stub.MethodMeta;
 import com.luixtech.rpc.core.url.Url;
+import com.luixtech.rpc.core.utils.MethodParameterUtils;
 import com.luixtech.rpc.core.utils.RpcFrameworkUtils;
+import com.luixtech.rpc.transport.netty4.NettyChunkedWriter;
+import com.luixtech.rpc.transport.netty4.codec.NettyCodecUtils;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import com.luixtech.uidgenerator.core.id.IdGenerator;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
 
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static com.luixtech.rpc.core.constant.ProtocolConstants.CODEC;
 import static com.luixtech.rpc.core.constant.ProtocolConstants.CODEC_VAL_DEFAULT;
 import static com.luixtech.rpc.core.constant.RegistryConstants.CONNECT_TIMEOUT;
 import static com.luixtech.rpc.core.constant.RegistryConstants.CONNECT_TIMEOUT_VAL_DEFAULT;
+import static com.luixtech.rpc.core.constant.ServiceConstants.FORM;
 import static com.luixtech.rpc.core.constant.ServiceConstants.REQUEST_TIMEOUT;
 import static com.luixtech.rpc.core.constant.ServiceConstants.REQUEST_TIMEOUT_VAL_DEFAULT;
+import static com.luixtech.rpc.core.constant.ServiceConstants.VERSION;
+import static com.luixtech.rpc.core.server.stub.ProviderStub.METHOD_GET_METHOD_METAS;
 
 @Slf4j
 public class NettyChannel implements Channel {
-    private volatile ChannelState             state = ChannelState.CREATED;
-    private final    NettyClient              nettyClient;
-    private          io.netty.channel.Channel channel;
-    private final    InetSocketAddress        remoteAddress;
-    private          InetSocketAddress        localAddress;
-    private final    ReentrantLock            lock  = new ReentrantLock();
-    private final    Codec                    codec;
+    private volatile ChannelState                                   state        = ChannelState.CREATED;
+    private final    NettyClient                                    nettyClient;
+    private          io.netty.channel.Channel                       channel;
+    private final    InetSocketAddress                              remoteAddress;
+    private          InetSocketAddress                              localAddress;
+    private final    ReentrantLock                                  lock         = new ReentrantLock();
+    private final    Codec                                          codec;
+    private final    int                                            chunkSize;
+    /**
+     * Count of the requests which are waiting for the responses
+     */
+    private final    AtomicInteger                                  pendingCount = new AtomicInteger();
+    /**
+     * Interface key to method name to method parameters to method ID map,
+     * the method table of each interface is negotiated with the provider when the interface is requested first time after connected
+     */
+    private final    Map<String, Map<String, Map<String, Integer>>> methodIds    = new ConcurrentHashMap<>();
 
     public NettyChannel(NettyClient nettyClient) {
         this.nettyClient = nettyClient;
         this.remoteAddress = new InetSocketAddress(nettyClient.getProviderUrl().getHost(), nettyClient.getProviderUrl().getPort());
         codec = Codec.getInstance(nettyClient.getProviderUrl().getOption(CODEC, CODEC_VAL_DEFAULT));
+        chunkSize = NettyChunkedWriter.getChunkSize(nettyClient.getProviderUrl(), codec);
     }
 
     @Override
@@ -50,60 +81,144 @@ public class NettyChannel implements Channel {
         // All requests are handled asynchronously
         FutureResponse response = new RpcFutureResponse(request, timeout, this.nettyClient.getProviderUrl());
         this.nettyClient.registerResponse(request.getRequestId(), response);
-        byte[] msg = CodecUtils.encodeObjectToBytes(this, codec, request);
-        // Step1: encode and send request on client side
-        ChannelFuture writeFuture = this.channel.writeAndFlush(msg);
-        boolean result = writeFuture.awaitUninterruptibly(timeout, TimeUnit.MILLISECONDS);
+        ByteBuf msg;
+        try {
+            // The request may be retried on another channel, so the method ID must be reset every time
+            request.setMethodId(getMethodId(request));
+            msg = NettyCodecUtils.encodeObjectToByteBuf(this, codec, request, channel.alloc());
+        } catch (RuntimeException e) {
+            this.nettyClient.removeResponse(request.getRequestId());
+            throw e;
+        }
+
+        pendingCount.incrementAndGet();
+        response.addListener(future -> {
+            pendingCount.decrementAndGet();
+            if (future.isSuccess() ||
+                    (future.isDone() && ExceptionUtils.isBizException(future.getException()))) {
+                // 成功的调用
+                // Step5: get response on client side
+                nettyClient.resetInvocationError();
+            } else {
+                // 失败的调用
+                // Step5: get response on client side
+                nettyClient.incrErrorCount();
+            }
+        });
+        // Step1: encode and send request on client side, the caller does NOT wait for the flush,
+        // and the response future is failed by the listener if the write failed
+        NettyChunkedWriter.writeAndFlush(this.channel, msg, chunkSize).addListener((ChannelFutureListener) writeFuture -> {
+            if (writeFuture.isSuccess()) {
+                RpcFrameworkUtils.logEvent(request, RpcConstants.TRACE_CSEND, System.currentTimeMillis());
+                return;
+            }
+            FutureResponse failedResponse = nettyClient.removeResponse(request.getRequestId());
+            if (failedResponse != null) {
+                Exception e = new RpcFrameworkException("NettyChannel send request to server Error: url="
+                        + nettyClient.getProviderUrl().getUri() + " local=" + localAddress + " "
+                        + request, writeFuture.cause());
+                failedResponse.onFailure(RpcFrameworkUtils.buildErrorResponse(request, e));
+            }
+        });
+        return response;
+    }
+
+    private Integer getMethodId(Requestable request) {
+        if (!(codec instanceof CodecV2) || !CodecV2.isBinaryMetaEnabled(nettyClient.getProviderUrl())
+                || RpcCheckHealthRequest.isCheckHealthRequest(request)) {
+            return null;
+        }
+        String form = RpcFrameworkUtils.getFormFromRequest(request);
+        String version = RpcFrameworkUtils.getVersionFromRequest(request);
+        String interfaceKey = request.getInterfaceName() + ":" + form + ":" + version;
+        Map<String, Map<String, Integer>> interfaceMethodIds = methodIds.get(interfaceKey);
+        if (interfaceMethodIds == null) {
+            // Mark the negotiation as started with a placeholder which is identified by reference,
+            // the negotiation request itself is sent with full method signature
+            Map<String, Map<String, Integer>> placeholder = new HashMap<>(0);
+            if (methodIds.putIfAbsent(interfaceKey, placeholder) == null) {
+                negotiateMethodIds(interfaceKey, placeholder, request.getInterfaceName(), form, version);
+            }
+            return null;
+        }
+        Map<String, Integer> parameters2Id = interfaceMethodIds.get(request.getMethodName());
+        return parameters2Id != null ? parameters2Id.get(request.getMethodParameters()) : null;
+    }
 
-        if (result && writeFuture.isSuccess()) {
-            RpcFrameworkUtils.logEvent(request, RpcConstants.TRACE_CSEND, System.currentTimeMillis());
+    /**
+     * Fetch the method table of the interface asynchronously,
+     * the requests are sent with full method signature until the negotiation completes.
+     * The placeholder is removed if the negotiation failed, so that it will be retried by the next request,
+     * and the result is discarded if the placeholder has been cleared by reconnecting.
+     */
+    private void negotiateMethodIds(String interfaceKey, Map<String, Map<String, Integer>> placeholder,
+                                    String interfaceName, String form, String version) {
+        Url providerUrl = nettyClient.getProviderUrl();
+        RpcRequest request = new RpcRequest(IdGenerator.generateTimestampId(), providerUrl.getProtocol(),
+                interfaceName, METHOD_GET_METHOD_METAS, MethodParameterUtils.VOID, true);
+        request.addOption(FORM, form);
+        request.addOption(VERSION, version);
+        try {
+            FutureResponse response = (FutureResponse) request(request);
+            response.setReturnType(List.class);
             response.addListener(future -> {
-                if (future.isSuccess() ||
-                        (future.isDone() && ExceptionUtils.isBizException(future.getException()))) {
-                    // 成功的调用
-                    // Step5: get response on client side
-                    nettyClient.resetInvocationError();
-                } else {
-                    // 失败的调用
-                    // Step5: get response on client side
-                    nettyClient.incrErrorCount();
+                if (!future.isSuccess()) {
+                    log.warn("Failed to negotiate method IDs of [{}] for url [{}]", interfaceName, providerUrl.getUri());
+                    replacePlaceholder(interfaceKey, placeholder, null);
+                    return;
                 }
+                Object result = future.getResult();
+                if (!(result instanceof List)) {
+                    // The provider does NOT support method ID, so the full method signature is always sent
+                    log.warn("Found unexpected method metas [{}] of [{}] for url [{}]", result, interfaceName, providerUrl.getUri());
+                    replacePlaceholder(interfaceKey, placeholder, Collections.emptyMap());
+                    return;
+                }
+                Map<String, Map<String, Integer>> interfaceMethodIds = buildMethodIds((List<?>) result);
+                replacePlaceholder(interfaceKey, placeholder, interfaceMethodIds);
+                log.debug("Negotiated {} method IDs of [{}] for url [{}]", interfaceMethodIds.size(), interfaceName, providerUrl.getUri());
             });
-            return response;
+        } catch (Exception e) {
+            log.warn("Failed to negotiate method IDs of [" + interfaceName + "] for url [" + providerUrl.getUri() + "]", e);
+            replacePlaceholder(interfaceKey, placeholder, null);
         }
+    }
+
+    /**
+     * Replace the placeholder by reference, the value is discarded if the channel was reconnected during the negotiation
+     *
+     * @param interfaceKey       interface key
+     * @param placeholder        placeholder of the negotiation
+     * @param interfaceMethodIds negotiated method IDs or null if the placeholder will be removed
+     */
+    private void replacePlaceholder(String interfaceKey, Map<String, Map<String, Integer>> placeholder,
+                                    Map<String, Map<String, Integer>> interfaceMethodIds) {
+        methodIds.computeIfPresent(interfaceKey, (key, value) -> value == placeholder ? interfaceMethodIds : value);
+    }
 
-        writeFuture.cancel(true);
-        response = this.nettyClient.removeResponse(request.getRequestId());
-        if (response != null) {
-            response.cancel();
+    private Map<String, Map<String, Integer>> buildMethodIds(List<?> methodMetas) {
+        if (CollectionUtils.isEmpty(methodMetas)) {
+            return Collections.emptyMap();
         }
-        // 失败的调用
-        nettyClient.incrErrorCount();
-
-        if (writeFuture.cause() != null) {
-            throw new RpcFrameworkException("NettyChannel send request to server Error: url="
-                    + nettyClient.getProviderUrl().getUri() + " local=" + localAddress + " "
-                    + request, writeFuture.cause());
-        } else {
-            throw new RpcFrameworkException("NettyChannel send request to server Timeout: url="
-                    + nettyClient.getProviderUrl().getUri() + " local=" + localAddress + " "
-                    + request);
+        Map<String, Map<String, Integer>> result = new HashMap<>(methodMetas.size());
+        for (Object obj : methodMetas) {
+            MethodMeta methodMeta = (MethodMeta) obj;
+            // The provider of old version does NOT assign method ID
+            if (methodMeta.getMethodId() == null) {
+                continue;
+            }
+            // Method signature. e.g, invoke(java.util.List,java.lang.Long)
+            String signature = methodMeta.getMethodSignature();
+            String methodParameters = signature.substring(signature.indexOf('(') + 1, signature.length() - 1);
+            result.computeIfAbsent(methodMeta.getMethodName(), k -> new HashMap<>())
+                    .putIfAbsent(methodParameters, methodMeta.getMethodId());
         }
+        return result;
     }
 
     private int getTimeout(Requestable request) {
-        int timeout;
-        // Get method level parameter value
-        timeout = nettyClient.getProviderUrl().getMethodLevelOption(
-                request.getMethodName(),
-                request.getMethodParameters(),
-                REQUEST_TIMEOUT, REQUEST_TIMEOUT_VAL_DEFAULT);
-        if (REQUEST_TIMEOUT_VAL_DEFAULT != timeout && timeout != 0) {
-            return timeout;
-        }
-
-        timeout = request.getIntOption(REQUEST_TIMEOUT, REQUEST_TIMEOUT_VAL_DEFAULT);
-        return timeout;
+        // The channel may be shared by multiple interfaces, so the timeout is resolved by the request sender of the interface
+        return request.getIntOption(REQUEST_TIMEOUT, REQUEST_TIMEOUT_VAL_DEFAULT);
     }
 
     @Override
@@ -116,7 +231,9 @@ public class NettyChannel implements Channel {
         ChannelFuture channelFuture = null;
         try {
             long start = System.currentTimeMillis();
-            channelFuture = nettyClient.getBootstrap().connect(remoteAddress);
+            // Connect to the unix domain socket instead of the TCP port if the provider runs on the same host
+            SocketAddress connectAddress = nettyClient.getDomainSocketAddress() != null ? nettyClient.getDomainSocketAddress() : remoteAddress;
+            channelFuture = nettyClient.getBootstrap().connect(connectAddress);
             int timeout = nettyClient.getProviderUrl().getIntOption(CONNECT_TIMEOUT, CONNECT_TIMEOUT_VAL_DEFAULT);
             if (timeout <= 0) {
                 throw new RpcFrameworkException("NettyClient init Error: timeout(" + timeout + ") <= 0 is forbid.");
@@ -131,6 +248,8 @@ public class NettyChannel implements Channel {
                     localAddress = (InetSocketAddress) channel.localAddress();
                 }
                 state = ChannelState.ACTIVE;
+                // Method IDs are only valid for the current connection
+                methodIds.clear();
                 return true;
             }
             boolean connected = false;
@@ -206,6 +325,14 @@ public class NettyChannel implements Channel {
         return nettyClient.getProviderUrl();
     }
 
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    public boolean isWritable() {
+        return channel != null && channel.isWritable();
+    }
+
     public void reconnect() {
         state = ChannelState.INITIALIZED;
     }
@@ -6,75 +6,95 @@ import com.luixtech.rpc.core.exception.impl.RpcBizException;
 import com.luixtech.rpc.core.exception.impl.RpcFrameworkException;
 import com.luixtech.rpc.core.exchange.Channel;
 import com.luixtech.rpc.core.exchange.client.AbstractPooledClient;
+import com.luixtech.rpc.core.exchange.client.InFlightRequestTable;
 import com.luixtech.rpc.core.exchange.client.SharedObjectFactory;
 import com.luixtech.rpc.core.exchange.constants.ChannelState;
 import com.luixtech.rpc.core.server.response.FutureResponse;
 import com.luixtech.rpc.core.server.response.Responseable;
 import com.luixtech.rpc.core.server.response.impl.RpcResponse;
-import com.luixtech.rpc.core.thread.ScheduledThreadPool;
 import com.luixtech.rpc.core.url.Url;
 import com.luixtech.rpc.core.utils.RpcFrameworkUtils;
+import com.luixtech.rpc.serializer.DeserializableResult;
+import com.luixtech.rpc.transport.netty4.NettyChannelUtils;
 import com.luixtech.rpc.transport.netty4.NettyDecoder;
 import com.luixtech.rpc.transport.netty4.NettyEncoder;
 import com.luixtech.rpc.transport.netty4.NettyServerClientHandler;
+import com.luixtech.rpc.transport.netty4.NettyTransport;
+import com.luixtech.utilities.lang.ShutdownHook;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.unix.DomainSocketAddress;
+import io.netty.handler.flush.FlushConsolidationHandler;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static com.luixtech.rpc.core.constant.ProtocolConstants.*;
 import static com.luixtech.rpc.core.constant.RegistryConstants.CONNECT_TIMEOUT;
 import static com.luixtech.rpc.core.constant.RegistryConstants.CONNECT_TIMEOUT_VAL_DEFAULT;
-import static com.luixtech.rpc.core.thread.ScheduledThreadPool.DESTROY_NETTY_TIMEOUT_INTERVAL;
-import static com.luixtech.rpc.core.thread.ScheduledThreadPool.DESTROY_NETTY_TIMEOUT_TASK_THREAD_POOL;
 
 /**
  * toto: implements StatisticCallback
  */
 @Slf4j
 public class NettyClient extends AbstractPooledClient {
-    private static final NioEventLoopGroup         NIO_EVENT_LOOP_GROUP  = new NioEventLoopGroup();
+    private static final int                                  TIMEOUT_TICK_DURATION = 10;
+    /**
+     * Event loop groups shared by all the clients of the same transport
+     */
+    private static final Map<NettyTransport, EventLoopGroup>  EVENT_LOOP_GROUPS     = new ConcurrentHashMap<>();
+    /**
+     * Hashed wheel timer shared by all the clients to cancel the timed out requests
+     */
+    private static final HashedWheelTimer                     TIMEOUT_TIMER         = createTimeoutTimer();
     /**
      * Async response used to handle async request
      */
-    private final        Map<Long, FutureResponse> requestId2ResponseMap = new ConcurrentHashMap<>();
+    private final        InFlightRequestTable<FutureResponse> requestId2ResponseMap = new InFlightRequestTable<>(RpcConstants.NETTY_CLIENT_MAX_REQUEST);
     /**
      * Invocation error count
      */
-    private final        AtomicLong                errorCount            = new AtomicLong(0);
-    private final        ScheduledFuture<?>        timeoutFuture;
-    private final        int                       maxClientFailedConn;
-    private              Bootstrap                 bootstrap;
+    private final        AtomicLong                           errorCount            = new AtomicLong(0);
+    private final        int                                  maxClientFailedConn;
+    private              Bootstrap                            bootstrap;
+    private              DomainSocketAddress                  domainSocketAddress;
 
     public NettyClient(Url providerUrl) {
         super(providerUrl);
         maxClientFailedConn = providerUrl.getIntOption(MAX_CLIENT_FAILED_CONN, MAX_CLIENT_FAILED_CONN_VAL_DEFAULT);
-        timeoutFuture = ScheduledThreadPool.schedulePeriodicalTask(DESTROY_NETTY_TIMEOUT_TASK_THREAD_POOL,
-                DESTROY_NETTY_TIMEOUT_INTERVAL, this::recycleTimeoutTask);
     }
 
-    private void recycleTimeoutTask() {
-        long currentTime = System.currentTimeMillis();
-        for (Map.Entry<Long, FutureResponse> request2ResponseEntry : requestId2ResponseMap.entrySet()) {
-            try {
-                FutureResponse futureResponse = request2ResponseEntry.getValue();
-                if (futureResponse.getCreatedTime() + futureResponse.getTimeout() < currentTime) {
-                    // If timeout, remove response and then cancel
-                    removeResponse(request2ResponseEntry.getKey());
-                    futureResponse.cancel();
-                }
-            } catch (Exception e) {
-                log.error("Failed to recycle the request callback for uri [" + providerUrl.getUri() + "]", e);
-            }
+    private static HashedWheelTimer createTimeoutTimer() {
+        HashedWheelTimer timer = new HashedWheelTimer(new DefaultThreadFactory("luix-request-timeout", true),
+                TIMEOUT_TICK_DURATION, TimeUnit.MILLISECONDS);
+        ShutdownHook.add(timer::stop);
+        return timer;
+    }
+
+    private void cancelTimeoutResponse(long requestId) {
+        FutureResponse futureResponse = removeResponse(requestId);
+        if (futureResponse == null) {
+            // Already completed
+            return;
+        }
+        try {
+            futureResponse.cancel();
+        } catch (Exception e) {
+            log.error("Failed to cancel the timed out request for uri [" + providerUrl.getUri() + "]", e);
         }
     }
 
@@ -84,6 +104,16 @@ public class NettyClient extends AbstractPooledClient {
         return new NettyChannelFactory(this);
     }
 
+    @Override
+    protected int getPendingRequestCount(Channel channel) {
+        return ((NettyChannel) channel).getPendingCount();
+    }
+
+    @Override
+    protected boolean isWritable(Channel channel) {
+        return ((NettyChannel) channel).isWritable();
+    }
+
     @Override
     public Responseable request(Requestable request) {
         if (!isActive()) {
@@ -137,17 +167,33 @@ public class NettyClient extends AbstractPooledClient {
 
         int timeout = getProviderUrl().getIntOption(CONNECT_TIMEOUT, CONNECT_TIMEOUT_VAL_DEFAULT);
         int maxContentLength = providerUrl.getIntOption(MAX_CONTENT_LENGTH, MAX_CONTENT_LENGTH_VAL_DEFAULT);
+        int flushConsolidation = providerUrl.getIntOption(FLUSH_CONSOLIDATION, FLUSH_CONSOLIDATION_VAL_DEFAULT);
+
+        NettyTransport transport = NettyTransport.of(providerUrl);
+
+        domainSocketAddress = resolveDomainSocketAddress(transport);
 
         bootstrap = new Bootstrap();
         bootstrap.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeout);
-        bootstrap.option(ChannelOption.TCP_NODELAY, true);
-        bootstrap.option(ChannelOption.SO_KEEPALIVE, true);
-        bootstrap.group(NIO_EVENT_LOOP_GROUP)
-                .channel(NioSocketChannel.class)
-                .handler(new ChannelInitializer<SocketChannel>() {
+        bootstrap.option(ChannelOption.WRITE_BUFFER_WATER_MARK, NettyChannelUtils.getWriteBufferWaterMark(providerUrl));
+        if (domainSocketAddress != null) {
+            bootstrap.channel(transport.getDomainChannelClass());
+            log.info("Connecting to the provider on the same host by unix domain socket [{}]", domainSocketAddress.path());
+        } else {
+            bootstrap.option(ChannelOption.TCP_NODELAY, true);
+            bootstrap.option(ChannelOption.SO_KEEPALIVE, true);
+            transport.applyOptions(bootstrap, providerUrl);
+            bootstrap.channel(transport.getChannelClass());
+        }
+        bootstrap.group(EVENT_LOOP_GROUPS.computeIfAbsent(transport, t -> t.createEventLoopGroup(0)))
+                .handler(new ChannelInitializer<io.netty.channel.Channel>() {
                     @Override
-                    protected void initChannel(SocketChannel ch) {
+                    protected void initChannel(io.netty.channel.Channel ch) {
                         ChannelPipeline pipeline = ch.pipeline();
+                        if (flushConsolidation > 0) {
+                            // Batch the requests written by the caller threads into one flush
+                            pipeline.addLast(NettyServerClientHandler.FLUSH_CONSOLIDATION, new FlushConsolidationHandler(flushConsolidation, true));
+                        }
                         pipeline.addLast(NettyEncoder.ENCODER, new NettyEncoder());
                         pipeline.addLast(NettyDecoder.DECODER, new NettyDecoder(codec, NettyClient.this, maxContentLength));
                         pipeline.addLast(NettyServerClientHandler.HANDLER, createServerClientHandler());
@@ -160,12 +206,40 @@ public class NettyClient extends AbstractPooledClient {
         return true;
     }
 
+    /**
+     * Resolve the unix domain socket advertised by the provider which runs on the same host,
+     * it falls back to TCP if the provider is on another host or the socket file is invisible to the consumer
+     *
+     * @param transport netty transport
+     * @return domain socket address or null if TCP is used
+     */
+    private DomainSocketAddress resolveDomainSocketAddress(NettyTransport transport) {
+        String domainSocket = transport.getDomainSocket(providerUrl);
+        if (domainSocket == null || !isLocalHost(providerUrl.getHost()) || !Files.exists(Paths.get(domainSocket))) {
+            return null;
+        }
+        return new DomainSocketAddress(domainSocket);
+    }
+
+    private static boolean isLocalHost(String host) {
+        try {
+            InetAddress address = InetAddress.getByName(host);
+            return address.isLoopbackAddress() || address.isAnyLocalAddress() || NetworkInterface.getByInetAddress(address) != null;
+        } catch (IOException e) {
+            log.warn("Failed to resolve the host [{}]", host, e);
+            return false;
+        }
+    }
+
     private NettyServerClientHandler createServerClientHandler() {
         return new NettyServerClientHandler(NettyClient.this, (channel, message) -> {
             Responseable response = (Responseable) message;
             FutureResponse futureResponse = NettyClient.this.removeResponse(response.getRequestId());
             if (futureResponse == null) {
                 log.warn("No response found with request ID: [{}]", response.getRequestId());
+                if (response.getResult() instanceof DeserializableResult) {
+                    ((DeserializableResult) response.getResult()).release();
+                }
                 return null;
             }
             if (response.getException() != null) {
@@ -201,9 +275,7 @@ public class NettyClient extends AbstractPooledClient {
     }
 
     public void cleanup() {
-        // Cancel recycle timeout tasks
-        timeoutFuture.cancel(true);
-        // Clear request -> response map
+        // Clear request -> response map, the pending timeouts will find nothing to cancel
         requestId2ResponseMap.clear();
         // Close all channels
         closeAllChannels();
@@ -235,6 +307,15 @@ public class NettyClient extends AbstractPooledClient {
         return bootstrap;
     }
 
+    /**
+     * Get the unix domain socket address of the provider
+     *
+     * @return domain socket address or null if the provider is connected by TCP
+     */
+    public DomainSocketAddress getDomainSocketAddress() {
+        return domainSocketAddress;
+    }
+
     public FutureResponse removeResponse(long requestId) {
         return requestId2ResponseMap.remove(requestId);
     }
@@ -292,11 +373,16 @@ public class NettyClient extends AbstractPooledClient {
      * @param futureResponse response future
      */
     public void registerResponse(long requestId, FutureResponse futureResponse) {
-        if (this.requestId2ResponseMap.size() >= RpcConstants.NETTY_CLIENT_MAX_REQUEST) {
+        if (!this.requestId2ResponseMap.tryPut(requestId, futureResponse)) {
             throw new RpcFrameworkException("Discarded the request [" + requestId + "] " +
                     "and url [" + providerUrl.getUri() + "] for exceeding max request limit!");
         }
-        this.requestId2ResponseMap.put(requestId, futureResponse);
+        if (futureResponse.getTimeout() > 0) {
+            // Schedule the timeout in O(1) and cancel it once the response completes
+            Timeout timeout = TIMEOUT_TIMER.newTimeout(t -> cancelTimeoutResponse(requestId),
+                    futureResponse.getTimeout(), TimeUnit.MILLISECONDS);
+            futureResponse.addListener(future -> timeout.cancel());
+        }
     }
 
     @Override
@@ -311,6 +397,7 @@ public class NettyClient extends AbstractPooledClient {
 
     @Override
     public String toString() {
-        return NettyClient.class.getSimpleName().concat(":").concat(getProviderUrl().getPath());
+        // The path of the shared client is empty, so the address identifies it
+        return NettyClient.class.getSimpleName().concat(":").concat(getProviderUrl().getUri());
     }
 }
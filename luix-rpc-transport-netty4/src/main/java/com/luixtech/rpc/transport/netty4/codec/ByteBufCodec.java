@@ -0,0 +1,64 @@
+package com.luixtech.rpc.transport.netty4.codec;
+
+import com.luixtech.rpc.core.codec.Codec;
+import com.luixtech.rpc.core.codec.impl.TypeDictionary;
+import com.luixtech.rpc.core.exchange.Channel;
+import com.luixtech.rpc.core.exchange.Exchangable;
+import io.netty.buffer.ByteBuf;
+
+import java.io.IOException;
+
+/**
+ * Codec which encodes the message into netty {@link ByteBuf} and decodes the message from it directly,
+ * so no intermediate byte array is allocated.
+ */
+public interface ByteBufCodec extends Codec {
+
+    /**
+     * Encode the input object to the buffer
+     *
+     * @param channel     channel
+     * @param inputObject input object
+     * @param out         output buffer
+     * @throws IOException if IOException thrown
+     */
+    default void encode(Channel channel, Exchangable inputObject, ByteBuf out) throws IOException {
+        encode(channel, inputObject, out, null);
+    }
+
+    /**
+     * Encode the input object to the buffer with the per-connection type dictionary
+     *
+     * @param channel     channel
+     * @param inputObject input object
+     * @param out         output buffer
+     * @param dictionary  type dictionary of the connection, it may be null
+     * @throws IOException if IOException thrown
+     */
+    void encode(Channel channel, Exchangable inputObject, ByteBuf out, TypeDictionary dictionary) throws IOException;
+
+    /**
+     * Decode the input buffer to origin object
+     *
+     * @param channel  channel
+     * @param remoteIp remote IP
+     * @param in       input buffer which contains a whole frame
+     * @return output object
+     * @throws IOException if IOException thrown
+     */
+    default Object decode(Channel channel, String remoteIp, ByteBuf in) throws IOException, ClassNotFoundException {
+        return decode(channel, remoteIp, in, null);
+    }
+
+    /**
+     * Decode the input buffer to origin object with the per-connection type dictionary
+     *
+     * @param channel    channel
+     * @param remoteIp   remote IP
+     * @param in         input buffer which contains a whole frame
+     * @param dictionary type dictionary of the connection, it may be null
+     * @return output object
+     * @throws IOException if IOException thrown
+     */
+    Object decode(Channel channel, String remoteIp, ByteBuf in, TypeDictionary dictionary) throws IOException, ClassNotFoundException;
+}
@@ -0,0 +1,142 @@
+package com.luixtech.rpc.transport.netty4.codec;
+
+import com.luixtech.rpc.core.codec.impl.CodecHeader;
+import com.luixtech.rpc.core.codec.impl.CodecV2;
+import com.luixtech.rpc.core.codec.impl.GrowableByteBuffer;
+import com.luixtech.rpc.core.codec.impl.TypeDictionary;
+import com.luixtech.rpc.core.constant.ProtocolConstants;
+import com.luixtech.rpc.core.exception.ExceptionUtils;
+import com.luixtech.rpc.core.exception.impl.RpcFrameworkException;
+import com.luixtech.rpc.core.exchange.Channel;
+import com.luixtech.rpc.core.exchange.Exchangable;
+import com.luixtech.rpc.core.utils.SerializerHolder;
+import com.luixtech.rpc.serializer.DeserializableArgs;
+import com.luixtech.rpc.serializer.DeserializableResult;
+import com.luixtech.rpc.serializer.Serializer;
+import com.luixtech.utilities.serviceloader.annotation.SpiName;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Codec which has the same wire format as {@link CodecV2},
+ * but it writes the message into the pooled netty buffer and reads the message from it directly.
+ * The body is serialized into the frame directly unless it will be compressed, and the compressed body is still copied to be decompressed.
+ */
+@Slf4j
+@SpiName(ProtocolConstants.CODEC_VAL_V3)
+public class CodecV3 extends CodecV2 implements ByteBufCodec {
+    private static final int                             META_BUFFER_SIZE     = 512;
+    private static final int                             META_BUFFER_MAX_SIZE = 64 * 1024;
+    private static final ThreadLocal<GrowableByteBuffer> META_BUFFER          =
+            ThreadLocal.withInitial(() -> new GrowableByteBuffer(META_BUFFER_SIZE));
+
+    @Override
+    public void encode(Channel channel, Exchangable input, ByteBuf out, TypeDictionary dictionary) throws IOException {
+        int start = out.writerIndex();
+        GrowableByteBuffer metaBuf = META_BUFFER.get();
+        try {
+            CodecHeader header = new CodecHeader();
+            metaBuf.clear();
+            Serializer serializer = encodeMeta(channel, input, header, metaBuf, dictionary);
+            String compressor = getCompressor(channel, input, header);
+            byte[] body = null;
+            if (compressor != null) {
+                // The body has to be serialized to bytes in order to be compressed
+                body = compress(compressor, channel, input, header, metaBuf, serializeBody(serializer, input));
+            }
+
+            // Leave room for header which will be filled at last
+            out.writeZero(CodecHeader.HEADER_SIZE);
+            // Meta
+            out.writeInt(metaBuf.position());
+            out.writeBytes(metaBuf.array(), 0, metaBuf.position());
+            // Body represents arguments bytes for request or results bytes for response
+            if (compressor == null) {
+                // Serialize the body into the frame directly
+                int bodySizeIndex = out.writerIndex();
+                out.writeInt(0);
+                serializeBody(serializer, input, new ByteBufOutputStream(out));
+                out.setInt(bodySizeIndex, out.writerIndex() - bodySizeIndex - 4);
+            } else if (body != null && body.length > 0) {
+                out.writeInt(body.length);
+                out.writeBytes(body);
+            } else {
+                out.writeInt(0);
+            }
+            // Header
+            out.setBytes(start, header.toBytes());
+        } catch (Exception e) {
+            out.writerIndex(start);
+            if (dictionary != null) {
+                // The type definition was NOT sent
+                dictionary.removePendingDefinition(input.getRequestId());
+            }
+            if (ExceptionUtils.isRpcException(e)) {
+                throw (RuntimeException) e;
+            } else {
+                throw new RpcFrameworkException("Failed to encode input object: " + input, e);
+            }
+        } finally {
+            if (metaBuf.capacity() > META_BUFFER_MAX_SIZE) {
+                // Do not hold the large buffer on the thread
+                META_BUFFER.remove();
+            }
+        }
+    }
+
+    /**
+     * The body is NOT copied, a retained slice of the input buffer is held by {@link DeserializableArgs}
+     * or {@link DeserializableResult} and it will be released once the body has been deserialized,
+     * so the caller can release the input buffer after decoding.
+     */
+    @Override
+    public Object decode(Channel channel, String remoteIp, ByteBuf in, TypeDictionary dictionary) throws IOException, ClassNotFoundException {
+        int index = in.readerIndex();
+        CodecHeader header = CodecHeader.buildHeader(in.nioBuffer(index, CodecHeader.HEADER_SIZE));
+        index += CodecHeader.HEADER_SIZE;
+        int metaSize = in.getInt(index);
+        index += 4;
+        Map<String, String> metaMap = new HashMap<>();
+        if (metaSize > 0) {
+            metaMap = decodeMeta(header, in.nioBuffer(index, metaSize));
+            index += metaSize;
+        }
+        int bodySize = in.getInt(index);
+        index += 4;
+        if (header.isCheckHealth()) {
+            in.readerIndex(index + bodySize);
+            return createCheckHealthMessage(header);
+        }
+        if (header.isGzip()) {
+            // The compressed body has to be copied in order to be decompressed
+            byte[] body = bodySize > 0 ? ByteBufUtil.getBytes(in, index, bodySize) : null;
+            in.readerIndex(index + bodySize);
+            return decode(channel, header, metaMap, body, dictionary);
+        }
+        Class<?> returnType = header.isRequest() ? null : getReturnType(metaMap, dictionary);
+        Object obj = null;
+        if (bodySize > 0) {
+            Serializer serializer = SerializerHolder.getSerializerById(header.getSerializerId());
+            if (header.isRequest()) {
+                obj = new DeserializableArgs(serializer, createInputStream(in, index, bodySize));
+            } else {
+                obj = new DeserializableResult(serializer, createInputStream(in, index, bodySize), returnType);
+            }
+            index += bodySize;
+        }
+        in.readerIndex(index);
+        return createMessage(header, metaMap, obj);
+    }
+
+    private InputStream createInputStream(ByteBuf in, int index, int length) {
+        return new ByteBufInputStream(in.retainedSlice(index, length), true);
+    }
+}
@@ -0,0 +1,88 @@
+package com.luixtech.rpc.transport.netty4.codec;
+
+import com.luixtech.rpc.core.client.request.Requestable;
+import com.luixtech.rpc.core.codec.Codec;
+import com.luixtech.rpc.core.codec.CodecUtils;
+import com.luixtech.rpc.core.codec.impl.TypeDictionary;
+import com.luixtech.rpc.core.constant.RpcConstants;
+import com.luixtech.rpc.core.exception.impl.RpcFrameworkException;
+import com.luixtech.rpc.core.exchange.Channel;
+import com.luixtech.rpc.core.exchange.Exchangable;
+import com.luixtech.rpc.core.server.response.Responseable;
+import com.luixtech.rpc.core.utils.RpcFrameworkUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+
+@Slf4j
+public class NettyCodecUtils {
+    /**
+     * Encode the message to the buffer which can be written to netty channel directly.
+     * The buffer is allocated from the allocator if the codec is a {@link ByteBufCodec},
+     * otherwise the encoded byte array is wrapped without copying.
+     *
+     * @param channel   channel
+     * @param codec     codec
+     * @param msg       message
+     * @param allocator buffer allocator of netty channel
+     * @return encoded buffer
+     */
+    public static ByteBuf encodeObjectToByteBuf(Channel channel, Codec codec, Exchangable msg, ByteBufAllocator allocator) {
+        return encodeObjectToByteBuf(channel, codec, msg, allocator, null);
+    }
+
+    /**
+     * Encode the message to the buffer with the per-connection type dictionary
+     *
+     * @param channel    channel
+     * @param codec      codec
+     * @param msg        message
+     * @param allocator  buffer allocator of netty channel
+     * @param dictionary type dictionary of the connection, it is used by {@link ByteBufCodec} only and it may be null
+     * @return encoded buffer
+     */
+    public static ByteBuf encodeObjectToByteBuf(Channel channel, Codec codec, Exchangable msg, ByteBufAllocator allocator,
+                                                TypeDictionary dictionary) {
+        if (!(codec instanceof ByteBufCodec)) {
+            return Unpooled.wrappedBuffer(CodecUtils.encodeObjectToBytes(channel, codec, msg));
+        }
+        ByteBuf buf = allocator.ioBuffer();
+        boolean success = false;
+        try {
+            encodeMessage(channel, (ByteBufCodec) codec, msg, buf, dictionary);
+            success = true;
+            return buf;
+        } catch (IOException e) {
+            throw new RpcFrameworkException("Failed to encode object " + msg.toString(), e);
+        } finally {
+            if (!success) {
+                buf.release();
+            }
+        }
+    }
+
+    private static void encodeMessage(Channel channel, ByteBufCodec codec, Exchangable msg, ByteBuf buf,
+                                      TypeDictionary dictionary) throws IOException {
+        if (msg instanceof Responseable) {
+            try {
+                codec.encode(channel, msg, buf, dictionary);
+            } catch (Exception e) {
+                log.error("NettyEncoder encode error, identity=" + channel.getProviderUrl().getIdentity(), e);
+                Responseable oriResponse = (Responseable) msg;
+                Responseable response = RpcFrameworkUtils.buildErrorResponse(oriResponse.getRequestId(), oriResponse.getProtocolVersion(), e);
+                buf.clear();
+                codec.encode(channel, response, buf, dictionary);
+            }
+        } else {
+            codec.encode(channel, msg, buf);
+        }
+        if (msg instanceof Requestable) {
+            RpcFrameworkUtils.logEvent((Requestable) msg, RpcConstants.TRACE_CENCODE);
+        } else if (msg instanceof Responseable) {
+            RpcFrameworkUtils.logEvent((Responseable) msg, RpcConstants.TRACE_SENCODE);
+        }
+    }
+}
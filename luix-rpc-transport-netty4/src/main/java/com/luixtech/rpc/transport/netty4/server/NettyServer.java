@@ -9,19 +9,28 @@ import com.luixtech.rpc.core.exchange.server.AbstractServer;
 import com.luixtech.rpc.core.server.handler.InvocationHandleable;
 import com.luixtech.rpc.core.server.response.Responseable;
 import com.luixtech.rpc.core.url.Url;
+import com.luixtech.rpc.transport.netty4.NettyChannelUtils;
 import com.luixtech.rpc.transport.netty4.NettyDecoder;
 import com.luixtech.rpc.transport.netty4.NettyEncoder;
 import com.luixtech.rpc.transport.netty4.NettyServerClientHandler;
+import com.luixtech.rpc.transport.netty4.NettyTransport;
 import com.luixtech.utilities.thread.pool.NetworkThreadPoolExecutor;
+import io.netty.bootstrap.Bootstrap;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 
+import java.io.IOException;
+import java.net.ConnectException;
 import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.luixtech.rpc.core.constant.ProtocolConstants.*;
@@ -32,7 +41,10 @@ public class NettyServer extends AbstractServer implements StatisticCallback {
     private       EventLoopGroup            bossGroup;
     private       EventLoopGroup            workerGroup;
     private       Channel                   serverChannel;
+    private       Channel                   domainServerChannel;
     private       NetworkThreadPoolExecutor networkThreadPoolExecutor;
+    private       VirtualThreadExecutor     virtualThreadExecutor;
+    private       ReadBackpressure          readBackpressure;
     private final InvocationHandleable      handler;
     private final AtomicInteger             rejectCounter = new AtomicInteger(0);
 
@@ -61,9 +73,10 @@ public class NettyServer extends AbstractServer implements StatisticCallback {
             log.warn("Netty server channel already be opened for url [{}]", providerUrl);
             return state.isActive();
         }
+        NettyTransport transport = NettyTransport.of(providerUrl);
         if (bossGroup == null) {
-            bossGroup = new NioEventLoopGroup(1);
-            workerGroup = new NioEventLoopGroup();
+            bossGroup = transport.createEventLoopGroup(1);
+            workerGroup = transport.createEventLoopGroup(0);
         }
 
         log.info("Opening netty server channel for url [{}]" + providerUrl);
@@ -71,33 +84,119 @@ public class NettyServer extends AbstractServer implements StatisticCallback {
 
         int maxServerConn = providerUrl.getIntOption(MAX_SERVER_CONN, MAX_SERVER_CONN_VAL_DEFAULT);
         int maxContentLength = providerUrl.getIntOption(MAX_CONTENT_LENGTH, MAX_CONTENT_LENGTH_VAL_DEFAULT);
+        int flushConsolidation = providerUrl.getIntOption(FLUSH_CONSOLIDATION, FLUSH_CONSOLIDATION_VAL_DEFAULT);
         channelManager = new NettyServerChannelManager(maxServerConn);
+        ChannelInitializer<Channel> channelInitializer = new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(Channel ch) {
+                ChannelPipeline pipeline = ch.pipeline();
+                if (flushConsolidation > 0) {
+                    // Batch the responses written by the worker threads into one flush
+                    pipeline.addLast(NettyServerClientHandler.FLUSH_CONSOLIDATION, new FlushConsolidationHandler(flushConsolidation, true));
+                }
+                pipeline.addLast(NettyEncoder.ENCODER, new NettyEncoder());
+                pipeline.addLast(NettyDecoder.DECODER, new NettyDecoder(codec, NettyServer.this, maxContentLength));
+                pipeline.addLast(NettyServerClientHandler.HANDLER, createServerClientHandler());
+                pipeline.addLast(NettyServerChannelManager.CHANNEL_MANAGER, channelManager);
+            }
+        };
         ServerBootstrap serverBootstrap = new ServerBootstrap();
         serverBootstrap.group(bossGroup, workerGroup)
-                .channel(NioServerSocketChannel.class)
-                .childHandler(new ChannelInitializer<SocketChannel>() {
-                    @Override
-                    protected void initChannel(SocketChannel ch) {
-                        ChannelPipeline pipeline = ch.pipeline();
-                        pipeline.addLast(NettyEncoder.ENCODER, new NettyEncoder());
-                        pipeline.addLast(NettyDecoder.DECODER, new NettyDecoder(codec, NettyServer.this, maxContentLength));
-                        pipeline.addLast(NettyServerClientHandler.HANDLER, createServerClientHandler());
-                        pipeline.addLast(NettyServerChannelManager.CHANNEL_MANAGER, channelManager);
-                    }
-                });
+                .channel(transport.getServerChannelClass())
+                .childHandler(channelInitializer);
         serverBootstrap.childOption(ChannelOption.TCP_NODELAY, true);
         serverBootstrap.childOption(ChannelOption.SO_KEEPALIVE, true);
+        serverBootstrap.childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, NettyChannelUtils.getWriteBufferWaterMark(providerUrl));
+        transport.applyOptions(serverBootstrap, providerUrl);
         ChannelFuture channelFuture = serverBootstrap.bind(new InetSocketAddress(providerUrl.getPort()));
         channelFuture.syncUninterruptibly();
         serverChannel = channelFuture.channel();
+        String domainSocket = transport.getDomainSocket(providerUrl);
+        if (domainSocket != null) {
+            bindDomainSocket(transport, domainSocket, channelInitializer);
+        }
         state = ChannelState.ACTIVE;
 //        StatsUtils.registryStatisticCallback(this);
         log.info("Opened netty server channel for url [{}]" + providerUrl);
-        log.info("Started netty server with port [{}]", providerUrl.getPort());
+        log.info("Started netty server with port [{}] and {} transport", providerUrl.getPort(), transport.value);
         return state.isActive();
     }
 
+    /**
+     * Listen on the unix domain socket besides the TCP port, so the consumers on the same host bypass the TCP loopback stack
+     *
+     * @param transport          epoll transport
+     * @param domainSocket       domain socket path
+     * @param channelInitializer channel initializer shared with the TCP server channel
+     */
+    private void bindDomainSocket(NettyTransport transport, String domainSocket, ChannelInitializer<Channel> channelInitializer) {
+        try {
+            Path path = Paths.get(domainSocket);
+            if (Files.exists(path) && !Files.isRegularFile(path) && !Files.isDirectory(path)) {
+                if (isListening(transport, domainSocket)) {
+                    throw new RpcFrameworkException("Unix domain socket [" + domainSocket + "] is in use by another server");
+                }
+                // Remove the socket file left by the previous process
+                Files.delete(path);
+            }
+        } catch (IOException e) {
+            throw new RpcFrameworkException("Failed to remove the stale unix domain socket [" + domainSocket + "]", e);
+        }
+        ServerBootstrap domainBootstrap = new ServerBootstrap();
+        domainBootstrap.group(bossGroup, workerGroup)
+                .channel(transport.getServerDomainChannelClass())
+                .childHandler(channelInitializer);
+        domainBootstrap.childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, NettyChannelUtils.getWriteBufferWaterMark(providerUrl));
+        ChannelFuture channelFuture = domainBootstrap.bind(new DomainSocketAddress(domainSocket));
+        channelFuture.syncUninterruptibly();
+        domainServerChannel = channelFuture.channel();
+        log.info("Started netty server with unix domain socket [{}]", domainSocket);
+    }
+
+    /**
+     * Check whether a server is listening on the unix domain socket by connecting to it
+     *
+     * @param transport    epoll transport
+     * @param domainSocket domain socket path
+     * @return {@code true} if connected and {@code false} if the connection is refused
+     */
+    private boolean isListening(NettyTransport transport, String domainSocket) {
+        ChannelFuture connectFuture = new Bootstrap().group(workerGroup)
+                .channel(transport.getDomainChannelClass())
+                .handler(new ChannelInboundHandlerAdapter())
+                .connect(new DomainSocketAddress(domainSocket))
+                .awaitUninterruptibly();
+        if (connectFuture.isSuccess()) {
+            connectFuture.channel().close().syncUninterruptibly();
+            return true;
+        }
+        if (connectFuture.cause() instanceof ConnectException) {
+            // Nobody accepts the connection on the socket file left by the previous process
+            return false;
+        }
+        throw new RpcFrameworkException("Failed to check unix domain socket [" + domainSocket + "]", connectFuture.cause());
+    }
+
     private void createThreadPool() {
+        String overloadPolicy = providerUrl.getOption(OVERLOAD_POLICY, OVERLOAD_POLICY_VAL_DEFAULT);
+        boolean backpressure = OVERLOAD_POLICY_VAL_BACKPRESSURE.equals(overloadPolicy);
+        if (EXECUTOR_VAL_VIRTUAL.equals(providerUrl.getOption(EXECUTOR, EXECUTOR_VAL_DEFAULT))) {
+            if (virtualThreadExecutor == null || virtualThreadExecutor.isShutdown()) {
+                ThreadFactory threadFactory = VirtualThreadExecutor.createThreadFactory(NettyServer.class.getSimpleName() + "-virtual-");
+                if (threadFactory != null) {
+                    int maxVirtualThread = providerUrl.getIntOption(MAX_VIRTUAL_THREAD, MAX_VIRTUAL_THREAD_VAL_DEFAULT);
+                    virtualThreadExecutor = new VirtualThreadExecutor(threadFactory, maxVirtualThread);
+                } else {
+                    log.warn("Virtual thread is NOT supported by JDK {}, fell back to the platform thread pool for url [{}]",
+                            System.getProperty("java.version"), providerUrl.getUri());
+                }
+            }
+            if (virtualThreadExecutor != null) {
+                readBackpressure = backpressure ? new ReadBackpressure(virtualThreadExecutor.getMaxConcurrency()) : null;
+                return;
+            }
+        }
+
         boolean sharedChannel = providerUrl.getBooleanOption(SHARED_SERVER, SHARED_SERVER_VAL_DEFAULT);
         int workQueueSize = providerUrl.getIntOption(WORK_QUEUE_SIZE, WORK_QUEUE_SIZE_VAL_DEFAULT);
         int corePoolSize;
@@ -117,10 +216,12 @@ public class NettyServer extends AbstractServer implements StatisticCallback {
                 new BasicThreadFactory.Builder().namingPattern(NettyServer.class.getSimpleName() + "-%d").daemon(true).build());
         // Immediately initialize corePoolSize number of threads when the thread pool is created
         networkThreadPoolExecutor.prestartAllCoreThreads();
+        readBackpressure = backpressure ? new ReadBackpressure(networkThreadPoolExecutor.getMaxSubmittedTasksCount()) : null;
     }
 
     private NettyServerClientHandler createServerClientHandler() {
-        return new NettyServerClientHandler(NettyServer.this, NettyServer.this.handler, networkThreadPoolExecutor);
+        Executor executor = virtualThreadExecutor != null ? virtualThreadExecutor : networkThreadPoolExecutor;
+        return new NettyServerClientHandler(NettyServer.this, NettyServer.this.handler, executor, readBackpressure);
     }
 
     @Override
@@ -159,6 +260,10 @@ public class NettyServer extends AbstractServer implements StatisticCallback {
         if (serverChannel != null) {
             serverChannel.close();
         }
+        if (domainServerChannel != null) {
+            // Wait for the socket file to be deleted by the closed channel
+            domainServerChannel.close().syncUninterruptibly();
+        }
         if (bossGroup != null) {
             bossGroup.shutdownGracefully();
             bossGroup = null;
@@ -175,6 +280,9 @@ public class NettyServer extends AbstractServer implements StatisticCallback {
         if (networkThreadPoolExecutor != null) {
             networkThreadPoolExecutor.shutdownNow();
         }
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdown();
+        }
         // 取消统计回调的注册
 //        StatsUtil.unRegistryStatisticCallback(this);
     }
@@ -196,6 +304,11 @@ public class NettyServer extends AbstractServer implements StatisticCallback {
 
     @Override
     public String statisticCallback() {
+        if (virtualThreadExecutor != null) {
+            return String.format("identity: %s connectionCount: %s activeCount: %s maxVirtualThreadCount: %s executorRejectCount: %s",
+                    providerUrl.getIdentity(), channelManager.getChannels().size(), virtualThreadExecutor.getActiveCount(),
+                    virtualThreadExecutor.getMaxConcurrency(), rejectCounter.getAndSet(0));
+        }
         return String.format("identity: %s connectionCount: %s taskCount: %s queueCount: %s maxThreadCount: %s maxTaskCount: %s executorRejectCount: %s",
                 providerUrl.getIdentity(), channelManager.getChannels().size(), networkThreadPoolExecutor.getSubmittedTasksCount(),
                 networkThreadPoolExecutor.getQueue().size(), networkThreadPoolExecutor.getMaximumPoolSize(),
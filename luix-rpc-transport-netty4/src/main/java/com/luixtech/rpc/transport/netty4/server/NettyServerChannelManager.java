@@ -4,6 +4,7 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.unix.DomainSocketChannel;
 import lombok.extern.slf4j.Slf4j;
 
 import java.net.InetSocketAddress;
@@ -32,8 +33,7 @@ public class NettyServerChannelManager extends ChannelInboundHandlerAdapter {
             log.warn("NettyServerChannelManage channelConnected channel size out of limit: limit={} current={}", maxChannel, channels.size());
             channel.close();
         } else {
-            String channelKey = getChannelKey((InetSocketAddress) channel.localAddress(), (InetSocketAddress) channel.remoteAddress());
-            channels.put(channelKey, channel);
+            channels.put(getChannelKey(channel), channel);
             ctx.fireChannelRegistered();
         }
     }
@@ -41,8 +41,7 @@ public class NettyServerChannelManager extends ChannelInboundHandlerAdapter {
     @Override
     public void channelUnregistered(ChannelHandlerContext ctx) throws Exception {
         Channel channel = ctx.channel();
-        String channelKey = getChannelKey((InetSocketAddress) channel.localAddress(), (InetSocketAddress) channel.remoteAddress());
-        channels.remove(channelKey);
+        channels.remove(getChannelKey(channel));
         ctx.fireChannelUnregistered();
     }
 
@@ -66,6 +65,14 @@ public class NettyServerChannelManager extends ChannelInboundHandlerAdapter {
         }
     }
 
+    private String getChannelKey(Channel channel) {
+        if (channel instanceof DomainSocketChannel) {
+            // The peers of unix domain socket have no distinguishable addresses
+            return channel.localAddress() + "-" + channel.id().asShortText();
+        }
+        return getChannelKey((InetSocketAddress) channel.localAddress(), (InetSocketAddress) channel.remoteAddress());
+    }
+
     /**
      * remote address + local address 作为连接的唯一标示
      *
@@ -0,0 +1,92 @@
+package com.luixtech.rpc.transport.netty4.server;
+
+import io.netty.channel.Channel;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read side backpressure of the server used by the 'backpressure' overload policy.
+ * The connections which keep sending requests stop being read when the pending requests of the executor exceed the high water mark,
+ * and they are read again after the pending requests drop below the low water mark,
+ * so the clients are pushed back by TCP flow control instead of receiving the rejection responses.
+ */
+@Slf4j
+@ThreadSafe
+public class ReadBackpressure {
+    private final int           highWaterMark;
+    private final int           lowWaterMark;
+    /**
+     * Count of the submitted requests which are NOT processed yet
+     */
+    private final AtomicInteger pendingTasks   = new AtomicInteger();
+    private final Set<Channel>  pausedChannels = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param maxPendingTasks maximum pending requests of the executor, the subsequent requests are rejected by the executor
+     */
+    public ReadBackpressure(int maxPendingTasks) {
+        highWaterMark = Math.max(1, maxPendingTasks * 3 / 4);
+        lowWaterMark = maxPendingTasks / 2;
+    }
+
+    /**
+     * Called on the IO thread before the request of the connection is submitted to the thread pool
+     *
+     * @param channel netty channel
+     */
+    public void beforeSubmit(Channel channel) {
+        int pending = pendingTasks.incrementAndGet();
+        if (pending < highWaterMark) {
+            return;
+        }
+        if (pausedChannels.add(channel)) {
+            channel.config().setAutoRead(false);
+            log.debug("Paused reading requests from remoteAddress [{}] for {} pending tasks", channel.remoteAddress(), pending);
+            // The thread pool may have drained before the connection was paused
+            resumeIfDrained(pendingTasks.get());
+        }
+    }
+
+    /**
+     * Called after the submitted request has been processed or rejected
+     */
+    public void afterProcess() {
+        resumeIfDrained(pendingTasks.decrementAndGet());
+    }
+
+    private void resumeIfDrained(int pending) {
+        if (pending > lowWaterMark || pausedChannels.isEmpty()) {
+            return;
+        }
+        for (Channel channel : pausedChannels) {
+            if (pausedChannels.remove(channel) && channel.isWritable()) {
+                // The unwritable connection is resumed by itself once the responses are flushed
+                channel.config().setAutoRead(true);
+                log.debug("Resumed reading requests from remoteAddress [{}]", channel.remoteAddress());
+            }
+        }
+    }
+
+    /**
+     * Check whether the connection is paused by the backpressure
+     *
+     * @param channel netty channel
+     * @return {@code true} if it was paused and {@code false} otherwise
+     */
+    public boolean isPaused(Channel channel) {
+        return pausedChannels.contains(channel);
+    }
+
+    /**
+     * Called after the connection was closed
+     *
+     * @param channel netty channel
+     */
+    public void remove(Channel channel) {
+        pausedChannels.remove(channel);
+    }
+}
@@ -0,0 +1,103 @@
+package com.luixtech.rpc.transport.netty4.server;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Executor used by the 'virtual' executor mode which runs each request on a new virtual thread.
+ * The concurrent requests are limited by a semaphore instead of a work queue, and the request is rejected
+ * once the permits are exhausted as the bounded thread pool does.
+ * The virtual threads are created by reflection, because the module is compiled against JDK 11.
+ */
+@Slf4j
+@ThreadSafe
+public class VirtualThreadExecutor implements Executor {
+    private final    ThreadFactory threadFactory;
+    private final    int           maxConcurrency;
+    private final    Semaphore     permits;
+    private volatile boolean       shutdown;
+
+    public VirtualThreadExecutor(ThreadFactory threadFactory, int maxConcurrency) {
+        this.threadFactory = threadFactory;
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency);
+    }
+
+    /**
+     * Create the factory of the virtual threads
+     *
+     * @param namePrefix thread name prefix
+     * @return thread factory or null if the virtual thread is NOT supported by the JVM
+     */
+    public static ThreadFactory createThreadFactory(String namePrefix) {
+        try {
+            // Thread.ofVirtual().name(namePrefix, 0).factory() on JDK 21+
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (Exception e) {
+            // The method does NOT exist before JDK 19 and it is a preview API on JDK 19 and 20
+            log.debug("Virtual thread is NOT supported by the JVM", e);
+            return null;
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+        if (!permits.tryAcquire()) {
+            throw new RejectedExecutionException("Exceeded the maximum concurrency " + maxConcurrency);
+        }
+        Thread thread;
+        try {
+            thread = threadFactory.newThread(() -> {
+                try {
+                    command.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        thread.start();
+    }
+
+    /**
+     * Get the count of the requests which are being processed
+     *
+     * @return active count
+     */
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Reject the subsequent requests, the running virtual threads are NOT interrupted
+     */
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public String toString() {
+        return "active: " + getActiveCount() + ", maxConcurrency: " + maxConcurrency;
+    }
+}
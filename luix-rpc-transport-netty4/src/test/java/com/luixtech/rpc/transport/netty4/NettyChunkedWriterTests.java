@@ -0,0 +1,101 @@
+package com.luixtech.rpc.transport.netty4;
+
+import com.luixtech.rpc.core.codec.Codec;
+import com.luixtech.rpc.core.codec.impl.CodecHeader;
+import com.luixtech.rpc.core.constant.ProtocolConstants;
+import com.luixtech.rpc.core.exception.impl.RpcFrameworkException;
+import com.luixtech.rpc.core.url.Url;
+import com.luixtech.rpc.transport.netty4.server.NettyServer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class NettyChunkedWriterTests {
+
+    @Test
+    public void testWriteChunks() {
+        byte[] frame = createFrame(10_000);
+        EmbeddedChannel sender = new EmbeddedChannel();
+        ChannelFuture future = NettyChunkedWriter.writeAndFlush(sender, Unpooled.wrappedBuffer(frame), 1024);
+        while (!future.isDone()) {
+            sender.runPendingTasks();
+        }
+        assertThat(future.isSuccess()).isTrue();
+
+        EmbeddedChannel receiver = new EmbeddedChannel(new NettyDecoder(Codec.getInstance(ProtocolConstants.CODEC_VAL_V3), null, 2048));
+        int chunks = 0;
+        for (ByteBuf chunk = sender.readOutbound(); chunk != null; chunk = sender.readOutbound()) {
+            assertThat(chunk.readableBytes()).isLessThanOrEqualTo(NettyChunkedWriter.CHUNK_HEADER_SIZE + 1024);
+            // Nothing is decoded until the last chunk arrives
+            assertThat((Object) receiver.readInbound()).isNull();
+            receiver.writeInbound(chunk);
+            chunks++;
+        }
+        assertThat(chunks).isEqualTo(10);
+
+        NettyMessage message = receiver.readInbound();
+        assertThat(message.getRequestId()).isEqualTo(1L);
+        assertThat(message.isRequest()).isTrue();
+        assertThat(ByteBufUtil.getBytes(message.getFrame())).isEqualTo(frame);
+        message.release();
+        assertThat(receiver.finish()).isFalse();
+    }
+
+    @Test
+    public void testCloseIfReassembledChunksOverLimit() {
+        // The decoder encodes the error response of the remaining bytes with the provider url after closing
+        Url url = Url.providerUrl(ProtocolConstants.PROTOCOL_VAL_LUIX, "127.0.0.1", 26994, "com.luixtech.TestService");
+        NettyServer server = new NettyServer(url, (channel, message) -> null);
+        EmbeddedChannel receiver = new EmbeddedChannel(new NettyDecoder(Codec.getInstance(ProtocolConstants.CODEC_VAL_V3), server, 2048, 4096));
+        List<ByteBuf> chunks = new ArrayList<>();
+        for (long requestId = 1; requestId <= 3; requestId++) {
+            EmbeddedChannel sender = new EmbeddedChannel();
+            ChannelFuture future = NettyChunkedWriter.writeAndFlush(sender, Unpooled.wrappedBuffer(createFrame(requestId, 3000)), 1024);
+            while (!future.isDone()) {
+                sender.runPendingTasks();
+            }
+            // Keep the frame partial by dropping its last chunk
+            for (ByteBuf chunk = sender.readOutbound(); chunk != null; chunk = sender.readOutbound()) {
+                chunks.add(chunk);
+            }
+            chunks.remove(chunks.size() - 1).release();
+        }
+        // Each partial frame stays below the limit, but they exceed it in total
+        for (int i = 0; i < 4; i++) {
+            receiver.writeInbound(chunks.get(i));
+        }
+        assertThat(receiver.isOpen()).isTrue();
+        assertThatThrownBy(() -> receiver.writeInbound(chunks.get(4))).hasCauseInstanceOf(RpcFrameworkException.class);
+        assertThat((Object) receiver.readInbound()).isNull();
+        assertThat(receiver.isOpen()).isFalse();
+        chunks.subList(5, chunks.size()).forEach(ByteBuf::release);
+    }
+
+    private byte[] createFrame(int bodySize) {
+        return createFrame(1L, bodySize);
+    }
+
+    private byte[] createFrame(long requestId, int bodySize) {
+        ByteBuf buf = Unpooled.buffer();
+        CodecHeader header = new CodecHeader();
+        header.setVersion(CodecHeader.VERSION_BINARY_META);
+        header.setRequestId(requestId);
+        buf.writeBytes(header.toBytes());
+        buf.writeInt(0);
+        byte[] body = new byte[bodySize];
+        new Random().nextBytes(body);
+        buf.writeInt(bodySize);
+        buf.writeBytes(body);
+        return ByteBufUtil.getBytes(buf);
+    }
+}
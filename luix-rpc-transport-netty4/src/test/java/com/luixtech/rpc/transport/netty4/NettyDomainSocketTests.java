@@ -0,0 +1,106 @@
+package com.luixtech.rpc.transport.netty4;
+
+import com.luixtech.rpc.core.client.request.impl.RpcRequest;
+import com.luixtech.rpc.core.constant.ProtocolConstants;
+import com.luixtech.rpc.core.exception.impl.RpcFrameworkException;
+import com.luixtech.rpc.core.server.response.Responseable;
+import com.luixtech.rpc.core.url.Url;
+import com.luixtech.rpc.core.utils.SerializerHolder;
+import com.luixtech.rpc.serializer.DeserializableResult;
+import com.luixtech.rpc.transport.netty4.client.NettyChannelTests;
+import com.luixtech.rpc.transport.netty4.client.NettyClient;
+import com.luixtech.rpc.transport.netty4.server.NettyServer;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.unix.DomainSocketAddress;
+import io.netty.channel.unix.Socket;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class NettyDomainSocketTests {
+
+    @Test
+    public void testConnectByDomainSocket(@TempDir Path tempDir) throws IOException {
+        assumeTrue(Epoll.isAvailable(), "Epoll transport is NOT available");
+        SerializerHolder.init();
+        Path domainSocket = tempDir.resolve("luix.sock");
+        Url url = createUrl(domainSocket);
+        NettyServer server = new NettyServer(url, (channel, message) -> "pong");
+        server.open();
+        assertThat(Files.exists(domainSocket)).isTrue();
+
+        NettyClient client = new NettyClient(url);
+        client.open();
+        assertThat(client.getDomainSocketAddress()).isNotNull();
+        RpcRequest request = new RpcRequest(1L, ProtocolConstants.PROTOCOL_VAL_LUIX, "com.luixtech.TestService",
+                "find", "java.lang.String", false);
+        request.setMethodArguments(new Object[]{"luix"});
+        request.addOption(ProtocolConstants.SERIALIZER, ProtocolConstants.SERIALIZER_VAL_DEFAULT);
+        assertThat(deserialize(client.request(request))).isEqualTo("pong");
+
+        // Fall back to TCP if the socket file is invisible to the consumer
+        Url remoteUrl = url.copy();
+        remoteUrl.addOption(ProtocolConstants.DOMAIN_SOCKET, tempDir.resolve("absent.sock").toString());
+        NettyClient tcpClient = new NettyClient(remoteUrl);
+        tcpClient.open();
+        assertThat(tcpClient.getDomainSocketAddress()).isNull();
+        assertThat(deserialize(tcpClient.request(request))).isEqualTo("pong");
+
+        tcpClient.close();
+        client.close();
+        server.close();
+        assertThat(Files.exists(domainSocket)).isFalse();
+    }
+
+    @Test
+    public void testRefuseDomainSocketInUse(@TempDir Path tempDir) throws IOException {
+        assumeTrue(Epoll.isAvailable(), "Epoll transport is NOT available");
+        Path domainSocket = tempDir.resolve("luix.sock");
+        NettyServer server = new NettyServer(createUrl(domainSocket), (channel, message) -> "pong");
+        server.open();
+
+        NettyServer another = new NettyServer(createUrl(domainSocket), (channel, message) -> "pong");
+        try {
+            assertThatThrownBy(another::open).isInstanceOf(RpcFrameworkException.class).hasMessageContaining("is in use");
+        } finally {
+            another.close();
+        }
+        // The socket file of the running server is kept
+        assertThat(Files.exists(domainSocket)).isTrue();
+        server.close();
+    }
+
+    @Test
+    public void testReplaceStaleDomainSocket(@TempDir Path tempDir) throws IOException {
+        assumeTrue(Epoll.isAvailable(), "Epoll transport is NOT available");
+        Path domainSocket = tempDir.resolve("luix.sock");
+        // Simulate the socket file left by a crashed process
+        Socket socket = Socket.newSocketDomain();
+        socket.bind(new DomainSocketAddress(domainSocket.toString()));
+        socket.close();
+        assertThat(Files.exists(domainSocket)).isTrue();
+
+        NettyServer server = new NettyServer(createUrl(domainSocket), (channel, message) -> "pong");
+        server.open();
+        assertThat(server.isActive()).isTrue();
+        server.close();
+    }
+
+    private Url createUrl(Path domainSocket) throws IOException {
+        Url url = Url.providerUrl(ProtocolConstants.PROTOCOL_VAL_LUIX, "127.0.0.1", NettyChannelTests.findFreePort(), "com.luixtech.TestService");
+        url.addOption(ProtocolConstants.TRANSPORT, ProtocolConstants.TRANSPORT_VAL_EPOLL);
+        url.addOption(ProtocolConstants.DOMAIN_SOCKET, domainSocket.toString());
+        return url;
+    }
+
+    private Object deserialize(Responseable response) throws IOException {
+        return ((DeserializableResult) response.getResult()).deserialize();
+    }
+}
@@ -0,0 +1,61 @@
+package com.luixtech.rpc.transport.netty4;
+
+import com.luixtech.rpc.core.constant.ProtocolConstants;
+import com.luixtech.rpc.core.exchange.client.Client;
+import com.luixtech.rpc.core.url.Url;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NettyNetworkTransmissionFactoryTests {
+
+    @Test
+    public void testSharedClient() {
+        NettyNetworkTransmissionFactory factory = new NettyNetworkTransmissionFactory();
+        Url url1 = Url.providerUrl(ProtocolConstants.PROTOCOL_VAL_LUIX, "127.0.0.1", 26990, "com.luixtech.TestService1");
+        Url url2 = Url.providerUrl(ProtocolConstants.PROTOCOL_VAL_LUIX, "127.0.0.1", 26990, "com.luixtech.TestService2");
+        Url url3 = Url.providerUrl(ProtocolConstants.PROTOCOL_VAL_LUIX, "127.0.0.1", 26990, "com.luixtech.TestService3");
+        url3.addOption(ProtocolConstants.CODEC, ProtocolConstants.CODEC_VAL_V1);
+        Url url4 = Url.providerUrl(ProtocolConstants.PROTOCOL_VAL_LUIX, "127.0.0.1", 26990, "com.luixtech.TestService4");
+        url4.addOption(ProtocolConstants.SHARED_CLIENT, Boolean.FALSE.toString());
+        Url url7 = Url.providerUrl(ProtocolConstants.PROTOCOL_VAL_LUIX, "127.0.0.1", 26990, "com.luixtech.TestService7");
+        url7.addOption(ProtocolConstants.COMPRESSOR, ProtocolConstants.COMPRESSOR_VAL_GZIP);
+        Url url8 = Url.providerUrl(ProtocolConstants.PROTOCOL_VAL_LUIX, "127.0.0.1", 26990, "com.luixtech.TestService8");
+        url8.addOption(ProtocolConstants.WRITE_BUFFER_HIGH_WATER_MARK, "1048576");
+
+        Client client1 = factory.createClient(url1);
+        Client client2 = factory.createClient(url2);
+        Client client3 = factory.createClient(url3);
+        Client client4 = factory.createClient(url4);
+        Client client7 = factory.createClient(url7);
+        Client client8 = factory.createClient(url8);
+        assertThat(client2).isSameAs(client1);
+        // Incompatible codec
+        assertThat(client3).isNotSameAs(client1);
+        // Exclusive client
+        assertThat(client4).isNotSameAs(client1);
+        // Incompatible codec option
+        assertThat(client7).isNotSameAs(client1);
+        // Incompatible channel option
+        assertThat(client8).isNotSameAs(client1).isNotSameAs(client7);
+        assertThat(client1.getProviderUrl().getPath()).isEmpty();
+        // Identified by the address
+        assertThat(client1.toString()).contains("127.0.0.1:26990");
+
+        factory.destroyClient(client1, url1);
+        // Still referenced by the client of url2
+        Client client5 = factory.createClient(url1);
+        assertThat(client5).isSameAs(client2);
+        factory.destroyClient(client2, url2);
+        factory.destroyClient(client5, url1);
+        // Released by all the interfaces
+        Client client6 = factory.createClient(url1);
+        assertThat(client6).isNotSameAs(client1);
+
+        factory.destroyClient(client3, url3);
+        factory.destroyClient(client4, url4);
+        factory.destroyClient(client7, url7);
+        factory.destroyClient(client8, url8);
+        factory.destroyClient(client6, url1);
+    }
+}
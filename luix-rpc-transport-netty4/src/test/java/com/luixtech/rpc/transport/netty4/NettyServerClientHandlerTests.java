@@ -0,0 +1,187 @@
+package com.luixtech.rpc.transport.netty4;
+
+import com.luixtech.rpc.core.client.request.Requestable;
+import com.luixtech.rpc.core.client.request.impl.RpcRequest;
+import com.luixtech.rpc.core.client.request.impl.RpcCheckHealthRequest;
+import com.luixtech.rpc.core.codec.Codec;
+import com.luixtech.rpc.core.constant.ProtocolConstants;
+import com.luixtech.rpc.core.server.handler.InvocationHandleable;
+import com.luixtech.rpc.core.server.handler.impl.DefaultCheckHealthHandlerWrapper;
+import com.luixtech.rpc.core.server.handler.impl.ServerInvocationHandler;
+import com.luixtech.rpc.core.server.response.Responseable;
+import com.luixtech.rpc.core.server.stub.ProviderStub;
+import com.luixtech.rpc.core.url.Url;
+import com.luixtech.rpc.core.utils.SerializerHolder;
+import com.luixtech.rpc.serializer.DeserializableArgs;
+import com.luixtech.rpc.serializer.DeserializableResult;
+import com.luixtech.rpc.transport.netty4.codec.ByteBufCodec;
+import com.luixtech.rpc.transport.netty4.codec.NettyCodecUtils;
+import com.luixtech.rpc.transport.netty4.server.NettyServer;
+import com.luixtech.rpc.transport.netty4.server.VirtualThreadExecutor;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class NettyServerClientHandlerTests {
+
+    @Test
+    public void testPauseReadingWhenUnwritable() {
+        Url url = Url.providerUrl(ProtocolConstants.PROTOCOL_VAL_LUIX, "127.0.0.1", 26991, "com.luixtech.TestService");
+        InvocationHandleable handler = (channel, message) -> null;
+        NettyServer server = new NettyServer(url, handler);
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyServerClientHandler(server, handler));
+        channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(8, 16));
+
+        // The response is NOT flushed to the slow client
+        channel.write(Unpooled.wrappedBuffer(new byte[32]));
+        assertThat(channel.isWritable()).isFalse();
+        assertThat(channel.config().isAutoRead()).isFalse();
+
+        channel.flush();
+        assertThat(channel.isWritable()).isTrue();
+        assertThat(channel.config().isAutoRead()).isTrue();
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testAnswerCheckHealthOnIoThread() {
+        Url url = Url.providerUrl(ProtocolConstants.PROTOCOL_VAL_LUIX, "127.0.0.1", 26992, "com.luixtech.TestService");
+        // Check health request is sent as header-only frame
+        url.addOption(ProtocolConstants.BINARY_META, "true");
+        InvocationHandleable handler = new DefaultCheckHealthHandlerWrapper((channel, message) -> null);
+        NettyServer server = new NettyServer(url, handler);
+        Codec codec = Codec.getInstance(url.getOption(ProtocolConstants.CODEC, ProtocolConstants.CODEC_VAL_DEFAULT));
+        // The saturated thread pool rejects all the requests
+        Executor executor = command -> {
+            throw new RejectedExecutionException("Saturated");
+        };
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyDecoder(codec, server, 0),
+                new NettyServerClientHandler(server, handler, executor));
+
+        ByteBuf request = NettyCodecUtils.encodeObjectToByteBuf(server, codec, new RpcCheckHealthRequest(1L), ByteBufAllocator.DEFAULT);
+        channel.writeInbound(request);
+        ByteBuf response = channel.readOutbound();
+        assertThat(response).isNotNull();
+        assertThat(server.getRejectCounter().get()).isZero();
+        response.release();
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testAnswerCheckHealthOnIoThreadByDefault() throws Exception {
+        SerializerHolder.init();
+        // Default codec settings which use text meta
+        Url url = Url.providerUrl(ProtocolConstants.PROTOCOL_VAL_LUIX, "127.0.0.1", 26995, "com.luixtech.TestService");
+        InvocationHandleable handler = new DefaultCheckHealthHandlerWrapper((channel, message) -> null);
+        NettyServer server = new NettyServer(url, handler);
+        Codec codec = Codec.getInstance(ProtocolConstants.CODEC_VAL_DEFAULT);
+        // The saturated thread pool rejects all the requests
+        Executor executor = command -> {
+            throw new RejectedExecutionException("Saturated");
+        };
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyDecoder(codec, server, 0),
+                new NettyServerClientHandler(server, handler, executor));
+
+        // Header-only frame
+        channel.writeInbound(NettyCodecUtils.encodeObjectToByteBuf(server, codec, new RpcCheckHealthRequest(1L), ByteBufAllocator.DEFAULT));
+        // Full frame sent by the consumer of old version
+        RpcRequest request = new RpcRequest(2L, ProtocolConstants.PROTOCOL_VAL_LUIX, RpcCheckHealthRequest.CHECK_HEALTH_INTERFACE_NAME,
+                RpcCheckHealthRequest.CHECK_HEALTH_METHOD_NAME, RpcCheckHealthRequest.CHECK_HEALTH_METHOD_PARAM, true);
+        request.addOption(ProtocolConstants.SERIALIZER, ProtocolConstants.SERIALIZER_VAL_DEFAULT);
+        channel.writeInbound(NettyCodecUtils.encodeObjectToByteBuf(server, codec, request, ByteBufAllocator.DEFAULT));
+        for (long requestId = 1L; requestId <= 2L; requestId++) {
+            ByteBuf response = channel.readOutbound();
+            assertThat(response).isNotNull();
+            Responseable decoded = (Responseable) ((ByteBufCodec) Codec.getInstance(ProtocolConstants.CODEC_VAL_V3))
+                    .decode(server, "127.0.0.1", response);
+            assertThat(decoded.getRequestId()).isEqualTo(requestId);
+            assertThat(decoded.getException()).isNull();
+            response.release();
+        }
+        assertThat(server.getRejectCounter().get()).isZero();
+
+        // The other requests are still rejected
+        request = new RpcRequest(3L, ProtocolConstants.PROTOCOL_VAL_LUIX, "com.luixtech.TestService", "find", "void", false);
+        request.addOption(ProtocolConstants.SERIALIZER, ProtocolConstants.SERIALIZER_VAL_DEFAULT);
+        channel.writeInbound(NettyCodecUtils.encodeObjectToByteBuf(server, codec, request, ByteBufAllocator.DEFAULT));
+        ByteBuf response = channel.readOutbound();
+        assertThat(response).isNotNull();
+        assertThat(server.getRejectCounter().get()).isEqualTo(1);
+        response.release();
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testProcessRequestOnVirtualThread() throws Exception {
+        ThreadFactory threadFactory = VirtualThreadExecutor.createThreadFactory("test-virtual-");
+        assumeTrue(threadFactory != null, "Virtual thread is NOT supported");
+        SerializerHolder.init();
+        ProviderStub<EchoService> providerStub = new ProviderStub<>();
+        providerStub.setInterfaceClass(EchoService.class);
+        providerStub.setInterfaceName(EchoService.class.getName());
+        providerStub.setInstance(value -> value);
+        providerStub.init();
+
+        Url url = Url.providerUrl(ProtocolConstants.PROTOCOL_VAL_LUIX, "127.0.0.1", 26993, EchoService.class.getName());
+        Method method = EchoService.class.getMethod("echo", String.class);
+        AtomicReference<Object[]> args = new AtomicReference<>();
+        AtomicReference<String> threadName = new AtomicReference<>();
+        CountDownLatch invoked = new CountDownLatch(1);
+        InvocationHandleable handler = (channel, message) -> {
+            // The lazy arguments are NOT deserialized on IO thread
+            assertThat(((Requestable) message).getMethodArguments()[0]).isInstanceOf(DeserializableArgs.class);
+            ServerInvocationHandler.deserializeLazyArgs((Requestable) message, method);
+            args.set(((Requestable) message).getMethodArguments());
+            threadName.set(Thread.currentThread().getName());
+            invoked.countDown();
+            return "luix";
+        };
+        NettyServer server = new NettyServer(url, handler);
+        Codec codec = Codec.getInstance(url.getOption(ProtocolConstants.CODEC, ProtocolConstants.CODEC_VAL_DEFAULT));
+        VirtualThreadExecutor executor = new VirtualThreadExecutor(threadFactory, 10);
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyDecoder(codec, server, 0),
+                new NettyServerClientHandler(server, handler, executor));
+
+        RpcRequest request = new RpcRequest(1L, ProtocolConstants.PROTOCOL_VAL_LUIX, EchoService.class.getName(),
+                "echo", String.class.getName(), false);
+        request.setMethodArguments(new Object[]{"luix"});
+        request.addOption(ProtocolConstants.SERIALIZER, ProtocolConstants.SERIALIZER_VAL_DEFAULT);
+        channel.writeInbound(NettyCodecUtils.encodeObjectToByteBuf(server, codec, request, ByteBufAllocator.DEFAULT));
+        assertThat(invoked.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(args.get()).containsExactly("luix");
+        assertThat(threadName.get()).startsWith("test-virtual-");
+
+        // The response encoded on virtual thread is written on IO thread
+        ByteBuf response = null;
+        for (long deadline = System.currentTimeMillis() + 5000; response == null && System.currentTimeMillis() < deadline; ) {
+            channel.runPendingTasks();
+            response = channel.readOutbound();
+        }
+        assertThat(response).isNotNull();
+        byte[] bytes = new byte[response.readableBytes()];
+        response.readBytes(bytes);
+        response.release();
+        Object decoded = codec.decode(server, "127.0.0.1", bytes);
+        assertThat(((DeserializableResult) ((Responseable) decoded).getResult()).deserialize()).isEqualTo("luix");
+        executor.shutdown();
+        channel.finishAndReleaseAll();
+    }
+
+    public interface EchoService {
+        String echo(String value);
+    }
+}
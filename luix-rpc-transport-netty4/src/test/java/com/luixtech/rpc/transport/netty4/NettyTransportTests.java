@@ -0,0 +1,22 @@
+package com.luixtech.rpc.transport.netty4;
+
+import com.luixtech.rpc.core.constant.ProtocolConstants;
+import io.netty.channel.epoll.Epoll;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NettyTransportTests {
+
+    @Test
+    public void testFallbackToNio() {
+        assertThat(NettyTransport.of(ProtocolConstants.TRANSPORT_VAL_NIO)).isEqualTo(NettyTransport.NIO);
+        assertThat(NettyTransport.of("unknown")).isEqualTo(NettyTransport.NIO);
+        assertThat(NettyTransport.of(ProtocolConstants.TRANSPORT_VAL_AUTO))
+                .isEqualTo(Epoll.isAvailable() ? NettyTransport.EPOLL : NettyTransport.NIO);
+        assertThat(NettyTransport.of(ProtocolConstants.TRANSPORT_VAL_EPOLL))
+                .isEqualTo(Epoll.isAvailable() ? NettyTransport.EPOLL : NettyTransport.NIO);
+        // The io_uring transport is NOT on the classpath
+        assertThat(NettyTransport.of(ProtocolConstants.TRANSPORT_VAL_IO_URING)).isEqualTo(NettyTransport.NIO);
+    }
+}
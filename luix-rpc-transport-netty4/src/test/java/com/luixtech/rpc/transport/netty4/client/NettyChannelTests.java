@@ -0,0 +1,224 @@
+package com.luixtech.rpc.transport.netty4.client;
+
+import com.luixtech.rpc.core.client.request.Requestable;
+import com.luixtech.rpc.core.client.request.impl.RpcRequest;
+import com.luixtech.rpc.core.constant.ProtocolConstants;
+import com.luixtech.rpc.core.constant.ServiceConstants;
+import com.luixtech.rpc.core.exception.impl.RpcConfigException;
+import com.luixtech.rpc.core.exception.impl.RpcFrameworkException;
+import com.luixtech.rpc.core.server.handler.InvocationHandleable;
+import com.luixtech.rpc.core.server.response.FutureResponse;
+import com.luixtech.rpc.core.server.response.Responseable;
+import com.luixtech.rpc.core.server.stub.MethodMeta;
+import com.luixtech.rpc.core.url.Url;
+import com.luixtech.rpc.core.utils.SerializerHolder;
+import com.luixtech.rpc.serializer.DeserializableResult;
+import com.luixtech.rpc.transport.netty4.server.NettyServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.luixtech.rpc.core.server.stub.ProviderStub.METHOD_GET_METHOD_METAS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class NettyChannelTests {
+    private static final String        RETRY_SERVICE  = "com.luixtech.RetryService";
+    private static final String        LEGACY_SERVICE = "com.luixtech.LegacyService";
+    private static final AtomicLong    REQUEST_ID     = new AtomicLong();
+    private final        AtomicInteger negotiations   = new AtomicInteger();
+    private              NettyServer   server;
+    private              NettyClient   client;
+
+    @BeforeAll
+    public static void init() {
+        SerializerHolder.init();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    public void testRetryNegotiationAfterFailure() throws Exception {
+        Url url = openServer((channel, message) -> {
+            Requestable request = (Requestable) message;
+            if (!METHOD_GET_METHOD_METAS.equals(request.getMethodName())) {
+                return String.valueOf(request.getMethodId());
+            }
+            if (negotiations.incrementAndGet() == 1) {
+                throw new IllegalStateException("Negotiation failed");
+            }
+            MethodMeta methodMeta = new MethodMeta();
+            methodMeta.setMethodName("find");
+            methodMeta.setMethodSignature("find(java.lang.String)");
+            methodMeta.setMethodId(5);
+            return Collections.singletonList(methodMeta);
+        });
+        client = new NettyClient(url);
+        client.open();
+
+        // The requests are sent with full method signature until the method ID is negotiated
+        assertThat(requestUntil(RETRY_SERVICE, "5")).isEqualTo("5");
+        assertThat(negotiations.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFallBackToMethodSignature() throws Exception {
+        Url url = openServer((channel, message) -> {
+            if (METHOD_GET_METHOD_METAS.equals(((Requestable) message).getMethodName())) {
+                negotiations.incrementAndGet();
+            }
+            // The provider does NOT support method ID
+            return "pong";
+        });
+        client = new NettyClient(url);
+        client.open();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(request(LEGACY_SERVICE)).isEqualTo("pong");
+            Thread.sleep(20);
+        }
+        // It is negotiated only once
+        assertThat(negotiations.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testFailResponseIfWriteFailed() throws Exception {
+        client = new NettyClient(openServer((channel, message) -> "pong"));
+        client.open();
+        NettyChannel nettyChannel = openChannel();
+        nettyChannel.close();
+
+        // The caller gets the response future and the write failure is reported by the listener
+        RpcRequest request = createRequest(RETRY_SERVICE, ProtocolConstants.SERIALIZER_VAL_DEFAULT);
+        FutureResponse response = (FutureResponse) nettyChannel.request(request);
+        awaitDone(response);
+        assertThat(response.getException()).isInstanceOf(RpcFrameworkException.class)
+                .hasMessageContaining("send request to server Error");
+        assertThat(client.removeResponse(request.getRequestId())).isNull();
+        assertThat(nettyChannel.getPendingCount()).isZero();
+    }
+
+    @Test
+    public void testRemoveResponseIfEncodeFailed() throws Exception {
+        client = new NettyClient(openServer((channel, message) -> "pong"));
+        client.open();
+        NettyChannel nettyChannel = openChannel();
+
+        // The request can NOT be encoded without serializer
+        RpcRequest request = createRequest(RETRY_SERVICE, "absent");
+        assertThatThrownBy(() -> nettyChannel.request(request)).isInstanceOf(RpcConfigException.class);
+        assertThat(client.removeResponse(request.getRequestId())).isNull();
+        nettyChannel.close();
+    }
+
+    @Test
+    public void testCancelResponseByTimer() throws Exception {
+        client = new NettyClient(openServer((channel, message) -> {
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "pong";
+        }));
+        client.open();
+        NettyChannel nettyChannel = openChannel();
+
+        RpcRequest request = createRequest(RETRY_SERVICE, ProtocolConstants.SERIALIZER_VAL_DEFAULT);
+        request.addOption(ServiceConstants.REQUEST_TIMEOUT, "50");
+        FutureResponse response = (FutureResponse) nettyChannel.request(request);
+        // Nobody waits for the result, so the future is completed by the timer only
+        awaitDone(response);
+        assertThat(response.isCancelled()).isTrue();
+        assertThat(response.getException()).isInstanceOf(RpcFrameworkException.class);
+        assertThat(client.removeResponse(request.getRequestId())).isNull();
+        nettyChannel.close();
+    }
+
+    @Test
+    public void testCancelTimerIfResponded() throws Exception {
+        client = new NettyClient(openServer((channel, message) -> "pong"));
+        client.open();
+        NettyChannel nettyChannel = openChannel();
+
+        RpcRequest request = createRequest(RETRY_SERVICE, ProtocolConstants.SERIALIZER_VAL_DEFAULT);
+        request.addOption(ServiceConstants.REQUEST_TIMEOUT, "1000");
+        FutureResponse response = (FutureResponse) nettyChannel.request(request);
+        awaitDone(response);
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(client.removeResponse(request.getRequestId())).isNull();
+
+        // The timeout does NOT fire on the completed response
+        Thread.sleep(1200);
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.isCancelled()).isFalse();
+        assertThat(response.getException()).isNull();
+        nettyChannel.close();
+    }
+
+    private NettyChannel openChannel() {
+        NettyChannel nettyChannel = new NettyChannel(client);
+        assertThat(nettyChannel.open()).isTrue();
+        return nettyChannel;
+    }
+
+    private void awaitDone(FutureResponse response) throws InterruptedException {
+        for (int i = 0; i < 300 && !response.isDone() && !response.isCancelled(); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(response.isDone() || response.isCancelled()).isTrue();
+    }
+
+    private Url openServer(InvocationHandleable handler) throws IOException {
+        Url url = Url.providerUrl(ProtocolConstants.PROTOCOL_VAL_LUIX, "127.0.0.1", findFreePort(), RETRY_SERVICE);
+        url.addOption(ProtocolConstants.BINARY_META, "true");
+        // Method IDs are negotiated per channel
+        url.addOption(ProtocolConstants.MIN_CLIENT_CONN, "1");
+        url.addOption(ProtocolConstants.MAX_CLIENT_CONN, "1");
+        server = new NettyServer(url, handler);
+        server.open();
+        return url;
+    }
+
+    private Object requestUntil(String interfaceName, Object expected) throws Exception {
+        Object result = null;
+        for (int i = 0; i < 100 && !expected.equals(result); i++) {
+            result = request(interfaceName);
+            Thread.sleep(20);
+        }
+        return result;
+    }
+
+    private Object request(String interfaceName) throws IOException {
+        Responseable response = client.request(createRequest(interfaceName, ProtocolConstants.SERIALIZER_VAL_DEFAULT));
+        return ((DeserializableResult) response.getResult()).deserialize();
+    }
+
+    private RpcRequest createRequest(String interfaceName, String serializer) {
+        RpcRequest request = new RpcRequest(REQUEST_ID.incrementAndGet(), ProtocolConstants.PROTOCOL_VAL_LUIX,
+                interfaceName, "find", "java.lang.String", false);
+        request.setMethodArguments(new Object[]{"luix"});
+        request.addOption(ProtocolConstants.SERIALIZER, serializer);
+        return request;
+    }
+
+    public static int findFreePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.luixtech.rpc.transport.netty4.codec;
+
+import com.luixtech.rpc.core.client.request.Requestable;
+import com.luixtech.rpc.core.client.request.impl.RpcCheckHealthRequest;
+import com.luixtech.rpc.core.client.request.impl.RpcRequest;
+import com.luixtech.rpc.core.codec.Codec;
+import com.luixtech.rpc.core.codec.impl.CodecHeader;
+import com.luixtech.rpc.core.codec.impl.TypeDictionary;
+import com.luixtech.rpc.core.constant.ProtocolConstants;
+import com.luixtech.rpc.core.exchange.Channel;
+import com.luixtech.rpc.core.exchange.constants.ChannelState;
+import com.luixtech.rpc.core.protocol.constants.ProtocolVersion;
+import com.luixtech.rpc.core.server.response.Responseable;
+import com.luixtech.rpc.core.server.response.impl.RpcCheckHealthResponse;
+import com.luixtech.rpc.core.server.response.impl.RpcResponse;
+import com.luixtech.rpc.core.url.Url;
+import com.luixtech.rpc.core.utils.SerializerHolder;
+import com.luixtech.rpc.serializer.DeserializableArgs;
+import com.luixtech.rpc.serializer.DeserializableResult;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CodecV3Tests {
+    private static final Channel CHANNEL             = new TestChannel(false);
+    private static final Channel BINARY_META_CHANNEL = new TestChannel(true);
+
+    @BeforeAll
+    public static void init() {
+        SerializerHolder.init();
+    }
+
+    @Test
+    public void testEncodeRequest() throws Exception {
+        ByteBufCodec codec = (ByteBufCodec) Codec.getInstance(ProtocolConstants.CODEC_VAL_V3);
+        RpcRequest request = new RpcRequest(1L, ProtocolConstants.PROTOCOL_VAL_LUIX, "com.luixtech.TestService",
+                "find", "java.lang.String,java.lang.Long", false);
+        request.setMethodArguments(new Object[]{"luix", 100L});
+        request.addOption(ProtocolConstants.SERIALIZER, ProtocolConstants.SERIALIZER_VAL_DEFAULT);
+
+        ByteBuf buf = ByteBufAllocator.DEFAULT.ioBuffer();
+        try {
+            codec.encode(CHANNEL, request, buf);
+            byte[] bytes = new byte[buf.readableBytes()];
+            buf.getBytes(buf.readerIndex(), bytes);
+            // Wire format is identical with v2
+            assertThat(bytes).isEqualTo(Codec.getInstance(ProtocolConstants.CODEC_VAL_V2).encode(CHANNEL, request));
+            // Request is sent with text meta unless the provider enables binary meta
+            assertThat(CodecHeader.buildHeader(bytes).getVersion()).isEqualTo(CodecHeader.VERSION_TEXT_META);
+
+            RpcRequest decoded = (RpcRequest) codec.decode(CHANNEL, "127.0.0.1", buf);
+            assertThat(buf.isReadable()).isFalse();
+            assertThat(decoded.getRequestId()).isEqualTo(1L);
+            assertThat(decoded.getInterfaceName()).isEqualTo(request.getInterfaceName());
+            assertThat(decoded.getMethodName()).isEqualTo(request.getMethodName());
+            assertThat(decoded.getMethodParameters()).isEqualTo(request.getMethodParameters());
+            assertThat(decoded.getOption(ProtocolConstants.SERIALIZER)).isEqualTo(ProtocolConstants.SERIALIZER_VAL_DEFAULT);
+            Object[] args = ((DeserializableArgs) decoded.getMethodArguments()[0]).deserialize(new Class[]{String.class, Long.class});
+            assertThat(Arrays.asList(args)).containsExactly("luix", 100L);
+            // Retained body slice has been released after deserialization
+            assertThat(buf.refCnt()).isEqualTo(1);
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    public void testEncodeRequestWithMethodId() throws Exception {
+        ByteBufCodec codec = (ByteBufCodec) Codec.getInstance(ProtocolConstants.CODEC_VAL_V3);
+        RpcRequest request = new RpcRequest(3L, ProtocolConstants.PROTOCOL_VAL_LUIX, "com.luixtech.TestService",
+                "find", "java.lang.String,java.lang.Long", false);
+        request.addOption(ProtocolConstants.SERIALIZER, ProtocolConstants.SERIALIZER_VAL_DEFAULT);
+        int sizeWithSignature = Codec.getInstance(ProtocolConstants.CODEC_VAL_V2).encode(BINARY_META_CHANNEL, request).length;
+        request.setMethodId(7);
+
+        ByteBuf buf = ByteBufAllocator.DEFAULT.ioBuffer();
+        try {
+            codec.encode(BINARY_META_CHANNEL, request, buf);
+            assertThat(buf.readableBytes()).isLessThan(sizeWithSignature);
+
+            RpcRequest decoded = (RpcRequest) codec.decode(CHANNEL, "127.0.0.1", buf);
+            assertThat(decoded.getMethodId()).isEqualTo(7);
+            assertThat(decoded.getInterfaceName()).isNull();
+            assertThat(decoded.getMethodName()).isNull();
+            assertThat(decoded.getOption(ProtocolConstants.SERIALIZER)).isEqualTo(ProtocolConstants.SERIALIZER_VAL_DEFAULT);
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    public void testDecodeResponse() throws Exception {
+        ByteBufCodec codec = (ByteBufCodec) Codec.getInstance(ProtocolConstants.CODEC_VAL_V3);
+        RpcResponse response = new RpcResponse();
+        response.setRequestId(2L);
+        response.setElapsedTime(5L);
+        response.setResult("result");
+
+        byte[] bytes = Codec.getInstance(ProtocolConstants.CODEC_VAL_V2).encode(CHANNEL, response);
+        RpcResponse decoded = (RpcResponse) codec.decode(CHANNEL, "127.0.0.1", Unpooled.wrappedBuffer(bytes));
+        assertThat(decoded.getRequestId()).isEqualTo(2L);
+        assertThat(decoded.getElapsedTime()).isEqualTo(5L);
+        assertThat(((DeserializableResult) decoded.getResult()).deserialize()).isEqualTo("result");
+    }
+
+    @Test
+    public void testDecodeCompressedResponse() throws Exception {
+        ByteBufCodec codec = (ByteBufCodec) Codec.getInstance(ProtocolConstants.CODEC_VAL_V3);
+        RpcResponse response = new RpcResponse();
+        response.setRequestId(4L);
+        response.setProtocolVersion(ProtocolVersion.VERSION_2_BINARY_META.getVersion());
+        response.addOption(ProtocolConstants.COMPRESSOR, ProtocolConstants.COMPRESSOR_VAL_GZIP);
+        response.setResult(String.join(",", Collections.nCopies(1000, "luix")));
+
+        ByteBuf buf = ByteBufAllocator.DEFAULT.ioBuffer();
+        try {
+            codec.encode(CHANNEL, response, buf);
+            assertThat(buf.readableBytes()).isLessThan(1000);
+
+            RpcResponse decoded = (RpcResponse) codec.decode(CHANNEL, "127.0.0.1", buf);
+            assertThat(((DeserializableResult) decoded.getResult()).deserialize()).isEqualTo(response.getResult());
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    public void testCompressWithTextMeta() throws Exception {
+        // The provider enables compression without binary meta
+        Channel channel = new TestChannel(false, ProtocolConstants.COMPRESSOR_VAL_GZIP);
+        String value = String.join(",", Collections.nCopies(1000, "luix"));
+        RpcRequest request = new RpcRequest(9L, ProtocolConstants.PROTOCOL_VAL_LUIX, "com.luixtech.TestService",
+                "find", "java.lang.String", false);
+        request.setMethodArguments(new Object[]{value});
+        request.addOption(ProtocolConstants.SERIALIZER, ProtocolConstants.SERIALIZER_VAL_DEFAULT);
+
+        for (String codecName : Arrays.asList(ProtocolConstants.CODEC_VAL_V2, ProtocolConstants.CODEC_VAL_V3)) {
+            Codec codec = Codec.getInstance(codecName);
+            byte[] bytes = codec.encode(channel, request);
+            CodecHeader header = CodecHeader.buildHeader(bytes);
+            assertThat(header.getVersion()).isEqualTo(CodecHeader.VERSION_TEXT_META);
+            assertThat(header.isGzip()).isTrue();
+            assertThat(bytes.length).isLessThan(1000);
+
+            RpcRequest decoded = (RpcRequest) codec.decode(CHANNEL, "127.0.0.1", bytes);
+            // The compressor entry is appended to the text meta
+            assertThat(decoded.getOption(ProtocolConstants.COMPRESSOR)).isEqualTo(ProtocolConstants.COMPRESSOR_VAL_GZIP);
+            assertThat(decoded.getOption(ProtocolConstants.SERIALIZER)).isEqualTo(ProtocolConstants.SERIALIZER_VAL_DEFAULT);
+            assertThat(decoded.getMethodName()).isEqualTo(request.getMethodName());
+            Object[] args = ((DeserializableArgs) decoded.getMethodArguments()[0]).deserialize(new Class[]{String.class});
+            assertThat(args).containsExactly(value);
+        }
+
+        // The response is compressed with the compressor copied from the request options
+        RpcResponse response = new RpcResponse();
+        response.setRequestId(9L);
+        response.addOption(ProtocolConstants.COMPRESSOR, ProtocolConstants.COMPRESSOR_VAL_GZIP);
+        response.setResult(value);
+        byte[] bytes = Codec.getInstance(ProtocolConstants.CODEC_VAL_V2).encode(CHANNEL, response);
+        assertThat(CodecHeader.buildHeader(bytes).isGzip()).isTrue();
+        RpcResponse decoded = (RpcResponse) ((ByteBufCodec) Codec.getInstance(ProtocolConstants.CODEC_VAL_V3))
+                .decode(CHANNEL, "127.0.0.1", Unpooled.wrappedBuffer(bytes));
+        assertThat(((DeserializableResult) decoded.getResult()).deserialize()).isEqualTo(value);
+    }
+
+    @Test
+    public void testEncodeResponseWithTypeDictionary() throws Exception {
+        ByteBufCodec codec = (ByteBufCodec) Codec.getInstance(ProtocolConstants.CODEC_VAL_V3);
+        TypeDictionary senderDictionary = new TypeDictionary();
+        TypeDictionary receiverDictionary = new TypeDictionary();
+
+        ByteBuf buf = ByteBufAllocator.DEFAULT.ioBuffer();
+        try {
+            // The first response defines the type
+            codec.encode(CHANNEL, createBinaryMetaResponse(5L), buf, senderDictionary);
+            int sizeWithTypeName = buf.readableBytes();
+            // The type name is still sent before the definition has been written
+            codec.encode(CHANNEL, createBinaryMetaResponse(6L), buf, senderDictionary);
+            assertThat(buf.readableBytes()).isEqualTo(sizeWithTypeName * 2);
+            senderDictionary.onWritten(5L, true);
+            senderDictionary.onWritten(6L, true);
+            codec.encode(CHANNEL, createBinaryMetaResponse(7L), buf, senderDictionary);
+            assertThat(buf.readableBytes() - sizeWithTypeName * 2).isLessThan(sizeWithTypeName);
+
+            for (long requestId = 5L; requestId <= 7L; requestId++) {
+                RpcResponse decoded = (RpcResponse) codec.decode(CHANNEL, "127.0.0.1", buf, receiverDictionary);
+                assertThat(decoded.getRequestId()).isEqualTo(requestId);
+                assertThat(((DeserializableResult) decoded.getResult()).deserialize()).isEqualTo("result");
+            }
+            assertThat(buf.isReadable()).isFalse();
+            assertThat(receiverDictionary.getType(0)).isEqualTo(String.class);
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    public void testEncodeCheckHealthFrames() throws Exception {
+        ByteBufCodec codec = (ByteBufCodec) Codec.getInstance(ProtocolConstants.CODEC_VAL_V3);
+        ByteBuf buf = ByteBufAllocator.DEFAULT.ioBuffer();
+        try {
+            // Header-only frame is sent regardless of the meta format
+            codec.encode(CHANNEL, new RpcCheckHealthRequest(7L), buf);
+            assertThat(buf.readableBytes()).isEqualTo(CodecHeader.HEADER_SIZE + 8);
+            Requestable textMetaRequest = (Requestable) codec.decode(CHANNEL, "127.0.0.1", buf);
+            assertThat(textMetaRequest).isInstanceOf(RpcCheckHealthRequest.class);
+            assertThat(textMetaRequest.getRequestId()).isEqualTo(7L);
+            assertThat(textMetaRequest.getProtocolVersion()).isEqualTo(ProtocolVersion.VERSION_2.getVersion());
+
+            codec.encode(BINARY_META_CHANNEL, new RpcCheckHealthRequest(8L), buf);
+            assertThat(buf.readableBytes()).isEqualTo(CodecHeader.HEADER_SIZE + 8);
+            Requestable request = (Requestable) codec.decode(CHANNEL, "127.0.0.1", buf);
+            assertThat(request).isInstanceOf(RpcCheckHealthRequest.class);
+            assertThat(request.getRequestId()).isEqualTo(8L);
+
+            RpcCheckHealthResponse response = RpcCheckHealthResponse.of(8L);
+            response.setProtocolVersion(request.getProtocolVersion());
+            codec.encode(CHANNEL, response, buf);
+            assertThat(buf.readableBytes()).isEqualTo(CodecHeader.HEADER_SIZE + 8);
+            Responseable decoded = (Responseable) codec.decode(CHANNEL, "127.0.0.1", buf);
+            assertThat(decoded.getRequestId()).isEqualTo(8L);
+            assertThat(decoded.getResult()).isEqualTo(RpcCheckHealthResponse.STATUS_OK);
+            assertThat(buf.isReadable()).isFalse();
+        } finally {
+            buf.release();
+        }
+    }
+
+    private RpcResponse createBinaryMetaResponse(long requestId) {
+        RpcResponse response = new RpcResponse();
+        response.setRequestId(requestId);
+        response.setProtocolVersion(ProtocolVersion.VERSION_2_BINARY_META.getVersion());
+        response.setResult("result");
+        return response;
+    }
+
+    private static class TestChannel implements Channel {
+        private final Url providerUrl = Url.providerUrl(ProtocolConstants.PROTOCOL_VAL_LUIX, "127.0.0.1", 16010, "com.luixtech.TestService");
+
+        private TestChannel(boolean binaryMeta) {
+            providerUrl.addOption(ProtocolConstants.BINARY_META, String.valueOf(binaryMeta));
+        }
+
+        private TestChannel(boolean binaryMeta, String compressor) {
+            this(binaryMeta);
+            providerUrl.addOption(ProtocolConstants.COMPRESSOR, compressor);
+        }
+
+        @Override
+        public Responseable request(Requestable request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean open() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void close(int timeout) {
+        }
+
+        @Override
+        public InetSocketAddress getLocalAddress() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return null;
+        }
+
+        @Override
+        public ChannelState getState() {
+            return ChannelState.ACTIVE;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return false;
+        }
+
+        @Override
+        public boolean isActive() {
+            return true;
+        }
+
+        @Override
+        public Url getProviderUrl() {
+            return providerUrl;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.luixtech.rpc.transport.netty4.server;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReadBackpressureTests {
+
+    @Test
+    public void testPauseAndResume() {
+        // Maximum 4 pending tasks, so the high water mark is 3 and the low water mark is 2
+        ReadBackpressure readBackpressure = new ReadBackpressure(4);
+        EmbeddedChannel channel = new EmbeddedChannel();
+
+        readBackpressure.beforeSubmit(channel);
+        readBackpressure.beforeSubmit(channel);
+        assertThat(channel.config().isAutoRead()).isTrue();
+        readBackpressure.beforeSubmit(channel);
+        assertThat(channel.config().isAutoRead()).isFalse();
+        assertThat(readBackpressure.isPaused(channel)).isTrue();
+
+        readBackpressure.afterProcess();
+        assertThat(channel.config().isAutoRead()).isTrue();
+        assertThat(readBackpressure.isPaused(channel)).isFalse();
+    }
+}
@@ -0,0 +1,48 @@
+package com.luixtech.rpc.transport.netty4.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class VirtualThreadExecutorTests {
+
+    @Test
+    public void testExecute() throws InterruptedException {
+        ThreadFactory threadFactory = VirtualThreadExecutor.createThreadFactory("test-virtual-");
+        assumeTrue(threadFactory != null, "Virtual thread is NOT supported");
+        VirtualThreadExecutor executor = new VirtualThreadExecutor(threadFactory, 1);
+        CountDownLatch blocking = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicBoolean virtual = new AtomicBoolean();
+
+        executor.execute(() -> {
+            virtual.set(Thread.currentThread().getName().startsWith("test-virtual-"));
+            try {
+                blocking.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            finished.countDown();
+        });
+        assertThat(executor.getActiveCount()).isEqualTo(1);
+        // Exceeded the maximum concurrency
+        assertThatThrownBy(() -> executor.execute(() -> {
+        })).isInstanceOf(RejectedExecutionException.class);
+
+        blocking.countDown();
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(virtual.get()).isTrue();
+
+        executor.shutdown();
+        assertThatThrownBy(() -> executor.execute(() -> {
+        })).isInstanceOf(RejectedExecutionException.class);
+    }
+}